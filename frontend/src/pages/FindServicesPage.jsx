@@ -20,11 +20,13 @@ const FindServicesPage = () => {
   // State for the modal
   const [isModalOpen, setIsModalOpen] = useState(false);
   const [selectedRecycler, setSelectedRecycler] = useState(null);
-  const [bookingDetails, setBookingDetails] = useState({ wasteType: '', notes: '' });
+  const [bookingDetails, setBookingDetails] = useState({ wasteType: '', quantityKg: '', notes: '' });
   const [bookingStatus, setBookingStatus] = useState({ message: '', error: false });
 
   // NEW: State to prevent double clicks
   const [isSubmitting, setIsSubmitting] = useState(false);
+  // One key per booking attempt, so a retried submit can't create a second booking
+  const [idempotencyKey, setIdempotencyKey] = useState('');
 
   const userRole = localStorage.getItem('user_role');
 
@@ -84,7 +86,8 @@ const FindServicesPage = () => {
     setIsModalOpen(true);
     setBookingStatus({ message: '', error: false }); 
     setIsSubmitting(false); // Reset submission state when opening modal
-    setBookingDetails({ wasteType: '', notes: '' });
+    setBookingDetails({ wasteType: '', quantityKg: '', notes: '' });
+    setIdempotencyKey(crypto.randomUUID());
   };
 
   const handleBookingSubmit = async (e) => {
@@ -98,9 +101,12 @@ const FindServicesPage = () => {
     try {
       const payload = {
         ...bookingDetails,
+        quantityKg: bookingDetails.quantityKg ? Number(bookingDetails.quantityKg) : null,
         ngoId: selectedRecycler.id
       };
-      const response = await api.post('/bookings', payload);
+      const response = await api.post('/bookings', payload, {
+        headers: { 'Idempotency-Key': idempotencyKey }
+      });
       setBookingStatus({ message: `Success! Booking ID: ${response.data.id}`, error: false });
       
       // Close modal after a short delay
@@ -110,7 +116,8 @@ const FindServicesPage = () => {
         // and handleBookClick resets it next time.
       }, 2000);
     } catch (error) {
-      setBookingStatus({ message: 'Booking failed. Please try again.', error: true });
+      // Throttled (429) and validation errors carry a message worth showing
+      setBookingStatus({ message: error.response?.data?.message || 'Booking failed. Please try again.', error: true });
       console.error("Booking failed:", error);
       setIsSubmitting(false); // Unlock button only on error so they can retry
     }
@@ -216,6 +223,22 @@ const FindServicesPage = () => {
                 </div>
             </div>
 
+            <div>
+                <label htmlFor="quantityKg" className="flex items-center gap-2 text-sm font-semibold text-gray-700 mb-2">
+                    <FaRecycle className="text-green-600"/> Approx. Quantity (kg, optional)
+                </label>
+                <input
+                    id="quantityKg"
+                    type="number"
+                    min="0.1"
+                    step="0.1"
+                    value={bookingDetails.quantityKg}
+                    onChange={(e) => setBookingDetails({ ...bookingDetails, quantityKg: e.target.value })}
+                    className="block w-full p-3 border border-gray-300 bg-gray-50 rounded-lg focus:outline-none focus:ring-2 focus:ring-green-500 focus:bg-white transition-colors"
+                    placeholder="e.g., 5"
+                />
+            </div>
+
             <div>
                 <label htmlFor="notes" className="flex items-center gap-2 text-sm font-semibold text-gray-700 mb-2">
                     <FaStickyNote className="text-yellow-500"/> Additional Instructions
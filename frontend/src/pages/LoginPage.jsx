@@ -36,6 +36,7 @@ const LoginPage = () => {
         // Store the token and role in localStorage
         localStorage.setItem("user_token", response.data.token);
         localStorage.setItem("user_role", response.data.role);
+        localStorage.setItem("user_refresh_token", response.data.refreshToken);
         toast.success('Login Successful!');
         // Redirect to the dashboard
         navigate("/dashboard");
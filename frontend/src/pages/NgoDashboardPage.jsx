@@ -9,6 +9,8 @@ import OtpVerificationForm from '../components/OtpVerificationForm';
 
 const NgoDashboardPage = () => {
   const [requests, setRequests] = useState([]);
+  // Cursor for the next page of requests (null when everything is loaded)
+  const [nextCursor, setNextCursor] = useState(null);
   const [loading, setLoading] = useState(true);
   const [isSubmitting, setIsSubmitting] = useState(null);
 
@@ -36,6 +38,7 @@ const NgoDashboardPage = () => {
     try {
       const response = await api.get('/ngo/bookings/requests');
       setRequests(response.data);
+      setNextCursor(response.headers['x-next-cursor'] || null);
     } catch (error) {
       toast.error('Failed to fetch booking requests.');
       console.error(error);
@@ -48,6 +51,17 @@ const NgoDashboardPage = () => {
     fetchRequests();
   }, []);
 
+  const loadMoreRequests = async () => {
+    try {
+      const response = await api.get('/ngo/bookings/requests', { params: { cursor: nextCursor } });
+      setRequests((prev) => [...prev, ...response.data]);
+      setNextCursor(response.headers['x-next-cursor'] || null);
+    } catch (error) {
+      toast.error('Failed to load more booking requests.');
+      console.error(error);
+    }
+  };
+
   const handleAccept = async (bookingId) => {
     setIsSubmitting(bookingId); // Disable the button for this specific booking
     try {
@@ -198,6 +212,16 @@ const NgoDashboardPage = () => {
                   </li>
                 );
               })}
+              {nextCursor && (
+                <li className="text-center">
+                  <button
+                    onClick={loadMoreRequests}
+                    className="text-sm font-semibold text-green-600 hover:text-green-700"
+                  >
+                    Load more
+                  </button>
+                </li>
+              )}
             </ul>
           ) : (
             <p>No new booking requests.</p>
@@ -9,11 +9,16 @@ const OAuth2RedirectHandler = () => {
   useEffect(() => {
     const token = searchParams.get('token');
     const role = searchParams.get('role');
+    // Sent in the URL fragment so it never reaches a server log
+    const refreshToken = new URLSearchParams(window.location.hash.slice(1)).get('refreshToken');
 
     if (token && role) {
       // Store the token and role received from the backend
       localStorage.setItem('user_token', token);
       localStorage.setItem('user_role', role);
+      if (refreshToken) {
+        localStorage.setItem('user_refresh_token', refreshToken);
+      }
 
       toast.success('Successfully logged in with Google!');
       // Redirect to the dashboard
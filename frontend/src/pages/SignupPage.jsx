@@ -40,6 +40,7 @@ const SignupPage = () => {
         // Automatically log the user in upon successful signup
         localStorage.setItem('user_token', response.data.token);
         localStorage.setItem('user_role', response.data.role);
+        localStorage.setItem('user_refresh_token', response.data.refreshToken);
         toast.success('Signup Successful!');
         // Redirect to the dashboard
         navigate('/dashboard');
@@ -20,6 +20,8 @@ const StatCard = ({ icon, title, value, color }) => (
 const UserDashboardPage = () => {
   const [userData, setUserData] = useState(null);
   const [bookings, setBookings] = useState([]);
+  // Cursor for the next page of bookings (null when everything is loaded)
+  const [nextCursor, setNextCursor] = useState(null);
   const [leaderboard, setLeaderboard] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
@@ -38,6 +40,7 @@ const UserDashboardPage = () => {
       ]);
       setUserData(userResponse.data);
       setBookings(bookingsResponse.data);
+      setNextCursor(bookingsResponse.headers['x-next-cursor'] || null);
     } catch (err) {
       setError('Could not fetch dashboard data.');
       console.error(err);
@@ -63,6 +66,17 @@ const UserDashboardPage = () => {
       fetchData();
   }, [fetchData]);
 
+  const loadMoreBookings = async () => {
+    try {
+      const response = await api.get('/bookings/my-bookings', { params: { cursor: nextCursor } });
+      setBookings((prev) => [...prev, ...response.data]);
+      setNextCursor(response.headers['x-next-cursor'] || null);
+    } catch (err) {
+      toast.error('Could not load more bookings.');
+      console.error(err);
+    }
+  };
+
   const handleReviewClick = (booking) => {
     setSelectedBooking(booking);
     setIsReviewModalOpen(true);
@@ -110,7 +124,8 @@ const UserDashboardPage = () => {
           <StatCard
             icon={<FaCheckCircle className="text-blue-500" />}
             title="Pickups Completed"
-            value={bookings.filter((b) => b.status === "COMPLETED").length}
+            // Counted by the server: the bookings list below is only the first page
+            value={userData.completedPickups ?? 0}
             color="bg-blue-100"
           />
           <StatCard
@@ -228,6 +243,8 @@ const UserDashboardPage = () => {
                                 ? "bg-blue-500"
                                 : booking.status === "COMPLETED"
                                 ? "bg-green-500"
+                                : booking.status === "EXPIRED"
+                                ? "bg-gray-500"
                                 : "bg-red-500"
                             }`}
                           >
@@ -237,6 +254,16 @@ const UserDashboardPage = () => {
                       </div>
                     </li>
                   ))}
+                  {nextCursor && (
+                    <li className="text-center">
+                      <button
+                        onClick={loadMoreBookings}
+                        className="text-sm font-semibold text-green-600 hover:text-green-700"
+                      >
+                        Load more
+                      </button>
+                    </li>
+                  )}
                 </ul>
               ) : (
                 <p className="text-gray-500">
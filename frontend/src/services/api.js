@@ -1,4 +1,5 @@
 import axios from 'axios';
+import authService from './authService';
 
 // Access the environment variable
 const BASE_URL = import.meta.env.VITE_API_BASE_URL || 'http://localhost:8080';
@@ -20,4 +21,35 @@ api.interceptors.request.use(
   }
 );
 
+// Access tokens are short-lived: on a 401, swap the refresh token for new tokens once and retry.
+// Concurrent 401s share a single refresh, since each refresh token can only be used once.
+let refreshing = null;
+
+api.interceptors.response.use(
+  (response) => response,
+  async (error) => {
+    const original = error.config;
+    if (error.response?.status !== 401 || original._retried || !localStorage.getItem('user_refresh_token')) {
+      return Promise.reject(error);
+    }
+    original._retried = true;
+    try {
+      if (!refreshing) {
+        refreshing = authService.refresh().finally(() => {
+          refreshing = null;
+        });
+      }
+      const { data } = await refreshing;
+      localStorage.setItem('user_token', data.token);
+      localStorage.setItem('user_role', data.role);
+      localStorage.setItem('user_refresh_token', data.refreshToken);
+      return api(original);
+    } catch (refreshError) {
+      authService.logout();
+      window.location.href = '/login';
+      return Promise.reject(refreshError);
+    }
+  }
+);
+
 export default api;
\ No newline at end of file
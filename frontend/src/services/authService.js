@@ -12,9 +12,22 @@ const login = (email, password) => {
   return axios.post(API_URL + 'login', { email, password });
 };
 
+// Trades the stored refresh token for a new access token and a new refresh token
+const refresh = () => {
+  return axios.post(API_URL + 'refresh', { refreshToken: localStorage.getItem('user_refresh_token') });
+};
+
 const logout = () => {
+  const refreshToken = localStorage.getItem('user_refresh_token');
+  const token = localStorage.getItem('user_token');
+  if (refreshToken) {
+    // Revoke this login on the server too; the local sign-out doesn't wait for it
+    axios.post(API_URL + 'logout', { refreshToken }, token ? { headers: { Authorization: `Bearer ${token}` } } : {})
+      .catch(() => {});
+  }
   localStorage.removeItem('user_token');
   localStorage.removeItem('user_role');
+  localStorage.removeItem('user_refresh_token');
 };
 
 const forgotPassword = (email) => {
@@ -28,6 +41,7 @@ const resetPassword = (token, newPassword) => {
 const authService = {
   signup,
   login,
+  refresh,
   logout,
   forgotPassword,
   resetPassword,
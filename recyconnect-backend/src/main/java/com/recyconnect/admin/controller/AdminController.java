@@ -1,15 +1,24 @@
 package com.recyconnect.admin.controller;
 
+import com.recyconnect.auth.password.PasswordHashingExecutor;
+import com.recyconnect.auth.throttle.LoginThrottle;
+import com.recyconnect.booking.throttle.BookingIntakeLimiter;
 import com.recyconnect.ngo.dto.PendingNgoDto;
 import com.recyconnect.ngo.model.Ngo;
 import com.recyconnect.ngo.service.NgoAdminService;
 import com.recyconnect.ngo.dto.NgoResponseDto;
+import com.recyconnect.points.dto.PointsRuleDto;
+import com.recyconnect.points.service.PointsRuleService;
+import com.recyconnect.points.service.PointsService;
+import com.recyconnect.stats.service.NgoStatsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -18,6 +27,12 @@ import java.util.List;
 public class AdminController {
 
     private final NgoAdminService ngoAdminService;
+    private final NgoStatsService ngoStatsService;
+    private final PointsService pointsService;
+    private final PointsRuleService pointsRuleService;
+    private final BookingIntakeLimiter bookingIntakeLimiter;
+    private final LoginThrottle loginThrottle;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
     @GetMapping("/ngos/pending")
     public ResponseEntity<List<PendingNgoDto>> getPendingNgos() {
@@ -30,4 +45,59 @@ public class AdminController {
         NgoResponseDto approvedNgo = ngoAdminService.approveNgo(ngoId);
         return ResponseEntity.ok(approvedNgo);
     }
-}
\ No newline at end of file
+
+    // Bookings per day the NGO will take; omit dailyBookings to go back to the default
+    @PutMapping("/ngos/{ngoId}/capacity")
+    public ResponseEntity<Void> setNgoCapacity(@PathVariable Long ngoId, @RequestParam(required = false) Integer dailyBookings) {
+        ngoAdminService.setDailyBookingCapacity(ngoId, dailyBookings);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Accepted vs throttled booking requests on this node since it started
+    @GetMapping("/bookings/intake-metrics")
+    public ResponseEntity<Map<String, Long>> getBookingIntakeMetrics() {
+        return ResponseEntity.ok(bookingIntakeLimiter.metrics());
+    }
+
+    // Failed and throttled logins, and the password-hashing pool's load, on this node
+    @GetMapping("/auth/login-metrics")
+    public ResponseEntity<Map<String, Long>> getLoginMetrics() {
+        Map<String, Long> metrics = new HashMap<>(loginThrottle.metrics());
+        metrics.putAll(passwordHashingExecutor.metrics());
+        return ResponseEntity.ok(metrics);
+    }
+
+    // Recomputes ngo_stats from the bookings and reviews tables; returns the number of NGOs rebuilt
+    @PostMapping("/stats/rebuild")
+    public ResponseEntity<Integer> rebuildNgoStats() {
+        return ResponseEntity.ok(ngoStatsService.rebuild());
+    }
+
+    // Recomputes every user's EcoPoints balance from the points ledger; returns the number of users updated
+    @PostMapping("/points/rebuild")
+    public ResponseEntity<Integer> rebuildPointsBalances() {
+        return ResponseEntity.ok(pointsService.rebuildBalances());
+    }
+
+    // Points rules (multipliers and bonuses on top of each waste type's base points); changes apply within seconds
+    @GetMapping("/points/rules")
+    public ResponseEntity<List<PointsRuleDto>> getPointsRules() {
+        return ResponseEntity.ok(pointsRuleService.getRules());
+    }
+
+    @PostMapping("/points/rules")
+    public ResponseEntity<PointsRuleDto> createPointsRule(@RequestBody PointsRuleDto request) {
+        return ResponseEntity.ok(pointsRuleService.createRule(request));
+    }
+
+    @PutMapping("/points/rules/{ruleId}")
+    public ResponseEntity<PointsRuleDto> updatePointsRule(@PathVariable Long ruleId, @RequestBody PointsRuleDto request) {
+        return ResponseEntity.ok(pointsRuleService.updateRule(ruleId, request));
+    }
+
+    @DeleteMapping("/points/rules/{ruleId}")
+    public ResponseEntity<Void> deletePointsRule(@PathVariable Long ruleId) {
+        pointsRuleService.deleteRule(ruleId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -3,6 +3,7 @@ package com.recyconnect.auth.config;
 import com.recyconnect.auth.repository.UserRepository;
 import com.recyconnect.auth.service.UserPasswordDetailsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -25,6 +26,10 @@ public class ApplicationConfig {
     private final UserRepository userRepository;
     private final UserPasswordDetailsService userPasswordDetailsService;
 
+    // BCrypt cost factor for new hashes; older hashes are upgraded on the user's next login
+    @Value("${app.security.bcrypt-strength:10}")
+    private int bcryptStrength = 10;
+
     // 1. BEAN FOR JWT VALIDATION (Requests)
     // Looks up user by ID because the JWT 'sub' contains the ID.
     @Bean
@@ -48,13 +53,14 @@ public class ApplicationConfig {
     public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userPasswordDetailsService);
+        authProvider.setUserDetailsPasswordService(userPasswordDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
         return new ProviderManager(Collections.singletonList(authProvider));
     }
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
@@ -1,6 +1,9 @@
 package com.recyconnect.auth.config;
 
 import com.recyconnect.auth.service.JwtService;
+import com.recyconnect.auth.service.PrincipalCache;
+import com.recyconnect.auth.token.TokenRevocationIndex;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,7 +13,6 @@ import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -22,7 +24,8 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationIndex revocationIndex;
 
     @Override
     protected void doFilterInternal(
@@ -31,17 +34,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userId;
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
-        jwt = authHeader.substring(7);
-        userId = jwtService.extractUsername(jwt);
-        if (userId  != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userId);
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+        // One verification (signature + expiry) per request, usually a cache hit. Access tokens are
+        // short-lived, so an expired or revoked one is routine: the request simply goes on unauthenticated
+        // and gets a 401, which tells the client to use its refresh token.
+        final JwtService.VerifiedToken token;
+        try {
+            token = jwtService.verify(authHeader.substring(7));
+        } catch (JwtException e) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        final String userId = token.subject();
+        if (userId  != null && SecurityContextHolder.getContext().getAuthentication() == null
+                && !revocationIndex.isRevoked(token)) {
+            // Usually served from memory; the users table is only read on a miss
+            UserDetails userDetails = principalCache.resolve(userId);
+            if (userId.equals(userDetails.getUsername())) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -4,6 +4,7 @@ import com.recyconnect.auth.model.Role;
 import com.recyconnect.auth.model.User;
 import com.recyconnect.auth.repository.UserRepository;
 import com.recyconnect.auth.service.JwtService;
+import com.recyconnect.auth.token.RefreshTokenService;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -24,6 +25,7 @@ public class OAuth2SuccessHandler extends SimpleUrlAuthenticationSuccessHandler
 
     private final JwtService jwtService;
     private final UserRepository userRepository;
+    private final RefreshTokenService refreshTokenService;
 
     @Value("${app.frontend-url}")
     private String frontendUrl;
@@ -53,6 +55,8 @@ public class OAuth2SuccessHandler extends SimpleUrlAuthenticationSuccessHandler
         String targetUrl = UriComponentsBuilder.fromUriString(frontendUrl + "/login/oauth2/success")
                 .queryParam("token", token)
                 .queryParam("role", user.getRole().name())
+                // The long-lived refresh token goes in the fragment, which browsers never send to a server
+                .fragment("refreshToken=" + refreshTokenService.issue(user.getId()))
                 .build().toUriString();
 
         getRedirectStrategy().sendRedirect(request, response, targetUrl);
@@ -2,16 +2,20 @@ package com.recyconnect.auth.controller;
 
 import com.recyconnect.auth.dto.JwtAuthResponse;
 import com.recyconnect.auth.dto.LoginRequest;
+import com.recyconnect.auth.dto.RefreshTokenRequest;
 import com.recyconnect.auth.dto.SignUpRequest;
 import com.recyconnect.auth.service.AuthService;
 import com.recyconnect.ngo.dto.NgoRegistrationRequestDto;
 import com.recyconnect.ngo.service.NgoService;
+import com.recyconnect.ratelimit.RateLimitExceededException;
 import lombok.RequiredArgsConstructor;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -31,14 +35,27 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<JwtAuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        return ResponseEntity.ok(authService.login(request));
+    public ResponseEntity<JwtAuthResponse> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        return ResponseEntity.ok(authService.login(request, httpRequest.getRemoteAddr()));
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<JwtAuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(authService.refresh(request.getRefreshToken()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequest request,
+                                       @RequestHeader(value = "Authorization", required = false) String authorization) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        authService.logout(request.getRefreshToken(), accessToken);
+        return ResponseEntity.noContent().build();
     }
 
     @PostMapping("/forgot-password")
-    public ResponseEntity<String> forgotPassword(@RequestParam String email) {
+    public ResponseEntity<String> forgotPassword(@RequestParam String email, HttpServletRequest httpRequest) {
         try {
-            authService.handleForgotPassword(email);
+            authService.handleForgotPassword(email, httpRequest.getRemoteAddr());
             return ResponseEntity.ok("A password reset link has been sent to your email address.");
         } catch (UsernameNotFoundException e) {
             // Return a generic success message even if the user is not found
@@ -52,6 +69,9 @@ public class AuthController {
         try {
             authService.resetPassword(request);
             return ResponseEntity.ok("Your password has been reset successfully.");
+        } catch (RateLimitExceededException e) {
+            // Hashing pool saturated: a 429 with Retry-After from GlobalExceptionHandler, not a bad token
+            throw e;
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -3,21 +3,30 @@ package com.recyconnect.auth.controller;
 import com.recyconnect.auth.dto.UserDto;
 import com.recyconnect.auth.model.User;
 import com.recyconnect.auth.repository.UserRepository;
+import com.recyconnect.booking.model.BookingStatus;
+import com.recyconnect.booking.repository.BookingRepository;
+import com.recyconnect.points.dto.PointsLedgerEntryDto;
+import com.recyconnect.points.service.PointsService;
 import com.recyconnect.stats.service.GamificationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
 public class UserController {
 
     private final UserRepository userRepository;
+    private final BookingRepository bookingRepository;
     private final GamificationService gamificationService;
+    private final PointsService pointsService;
 
     @GetMapping("/me")
     public ResponseEntity<UserDto> getCurrentUser() {
@@ -37,8 +46,16 @@ public class UserController {
                 .role(user.getRole().name())
                 .ecoPoints(user.getEcoPoints())
                 .rank(rank)
+                .completedPickups(bookingRepository.countByUserIdAndStatus(user.getId(), BookingStatus.COMPLETED))
                 .build();
 
         return ResponseEntity.ok(userDto);
     }
-}
\ No newline at end of file
+
+    // The current user's EcoPoints ledger, newest first
+    @GetMapping("/me/points/history")
+    public ResponseEntity<List<PointsLedgerEntryDto>> getPointsHistory(@RequestParam(defaultValue = "20") int limit) {
+        Integer currentUserId = Integer.parseInt(SecurityContextHolder.getContext().getAuthentication().getName());
+        return ResponseEntity.ok(pointsService.getHistory(currentUserId, limit));
+    }
+}
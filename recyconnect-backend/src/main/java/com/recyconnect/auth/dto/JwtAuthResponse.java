@@ -12,4 +12,6 @@ import lombok.NoArgsConstructor;
 public class JwtAuthResponse {
     private String token;
     private String role;
+    // Single use: /auth/refresh swaps it for a new access token and a new refresh token
+    private String refreshToken;
 }
\ No newline at end of file
@@ -16,4 +16,5 @@ public class UserDto {
     private String role;
     private Integer ecoPoints;
     private Long rank;
+    private Long completedPickups;
 }
\ No newline at end of file
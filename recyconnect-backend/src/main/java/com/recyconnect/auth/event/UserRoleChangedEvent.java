@@ -0,0 +1,5 @@
+package com.recyconnect.auth.event;
+
+// Published whenever a user's role changes, so cached principals are dropped once the change commits
+public record UserRoleChangedEvent(Integer userId) {
+}
@@ -0,0 +1,99 @@
+package com.recyconnect.auth.password;
+
+import com.recyconnect.ratelimit.RateLimitExceededException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Runs BCrypt work (login checks, new hashes) on a small dedicated pool with a bounded queue, so a burst
+// of logins can use at most that many cores and never ties up the request threads bookings need.
+// When the queue is full the caller is turned away at once instead of waiting in line.
+@Component
+public class PasswordHashingExecutor {
+
+    // 0 means one thread per core
+    @Value("${app.security.hashing-threads:0}")
+    private int threads = 0;
+
+    @Value("${app.security.hashing-queue:64}")
+    private int queueCapacity = 64;
+
+    @Value("${app.security.hashing-timeout-ms:10000}")
+    private long timeoutMs = 10000;
+
+    private final LongAdder rejected = new LongAdder();
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Exceptions thrown by the task (e.g. BadCredentialsException) reach the caller unchanged
+    public <T> T run(Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task::get);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw busy();
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        }
+    }
+
+    public Map<String, Long> metrics() {
+        return Map.of(
+                "hashingActive", (long) executor.getActiveCount(),
+                "hashingQueued", (long) executor.getQueue().size(),
+                "hashingRejected", rejected.sum());
+    }
+
+    private static RateLimitExceededException busy() {
+        return new RateLimitExceededException("Sign-in is busy right now. Please try again in a moment.", 1);
+    }
+}
@@ -6,31 +6,31 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.util.Date;
-import java.util.UUID;
+import java.time.LocalDateTime;
 
+// At most one per user (a new request replaces it). Only a SHA-256 of the emailed token is stored, so the
+// table alone can't be used to reset anyone's password; see PasswordResetTokenService.
 @Getter
 @Setter
 @NoArgsConstructor
 @Entity
+@Table(name = "password_reset_token", indexes = {
+        @Index(name = "ux_password_reset_token_hash", columnList = "token_hash", unique = true),
+        @Index(name = "idx_password_reset_token_expiry", columnList = "expiry_date")
+})
 public class PasswordResetToken {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    private String token;
+    @Column(name = "token_hash", length = 64)
+    private String tokenHash;
 
     @OneToOne(targetEntity = User.class, fetch = FetchType.EAGER)
     @JoinColumn(nullable = false, name = "user_id")
     private User user;
 
-    private Date expiryDate;
-
-    public PasswordResetToken(User user) {
-        this.user = user;
-        this.token = UUID.randomUUID().toString();
-        // Token will be valid for 1 hour
-        this.expiryDate = new Date(System.currentTimeMillis() + 3600000);
-    }
-}
\ No newline at end of file
+    @Column(name = "expiry_date")
+    private LocalDateTime expiryDate;
+}
@@ -1,8 +1,35 @@
 package com.recyconnect.auth.password;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
-    Optional<PasswordResetToken> findByToken(String token);
-}
\ No newline at end of file
+
+    Optional<PasswordResetToken> findByTokenHash(String tokenHash);
+
+    // One row per user: a new request overwrites the previous token, which stops working immediately
+    @Modifying
+    @Query(value = "INSERT INTO password_reset_token (user_id, token_hash, expiry_date) " +
+            "VALUES (:userId, :tokenHash, :expiryDate) " +
+            "ON CONFLICT (user_id) DO UPDATE SET token_hash = EXCLUDED.token_hash, expiry_date = EXCLUDED.expiry_date",
+            nativeQuery = true)
+    int upsert(@Param("userId") Integer userId, @Param("tokenHash") String tokenHash,
+               @Param("expiryDate") LocalDateTime expiryDate);
+
+    // Single use: only one of two concurrent resets with the same token gets 1
+    @Modifying
+    @Query("DELETE FROM PasswordResetToken t WHERE t.id = :id AND t.tokenHash = :tokenHash AND t.expiryDate > :now")
+    int consume(@Param("id") Long id, @Param("tokenHash") String tokenHash, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM password_reset_token WHERE id IN (SELECT id FROM password_reset_token " +
+            "WHERE expiry_date <= :now LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+}
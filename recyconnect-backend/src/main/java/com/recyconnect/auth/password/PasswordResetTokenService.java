@@ -0,0 +1,88 @@
+package com.recyconnect.auth.password;
+
+import com.recyconnect.auth.model.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+
+// Issues and redeems password reset tokens. The raw token only ever exists in the email; lookups go
+// through its SHA-256 on a unique index, and expired rows are purged in batches.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PasswordResetTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final PasswordResetTokenRepository tokenRepository;
+    private final SecureRandom random = new SecureRandom();
+
+    @Value("${app.password-reset.ttl-minutes:60}")
+    private long ttlMinutes = 60;
+
+    @Value("${app.password-reset.purge-batch-size:500}")
+    private int purgeBatchSize = 500;
+
+    // Returns the raw token to email; any earlier token of this user stops working
+    @Transactional
+    public String issue(User user) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        tokenRepository.upsert(user.getId(), hash(token), LocalDateTime.now().plusMinutes(ttlMinutes));
+        return token;
+    }
+
+    // Uses the token up and returns its user; runs in the caller's transaction, so a failed reset keeps it
+    @Transactional
+    public User redeem(String token) {
+        String tokenHash = hash(token);
+        PasswordResetToken stored = tokenRepository.findByTokenHash(tokenHash)
+                .orElseThrow(() -> new RuntimeException("Invalid password reset token."));
+        LocalDateTime now = LocalDateTime.now();
+        if (!stored.getExpiryDate().isAfter(now)) {
+            // The row itself is left to purgeExpired
+            throw new RuntimeException("Password reset token has expired.");
+        }
+        if (tokenRepository.consume(stored.getId(), tokenHash, now) == 0) {
+            // Used by a concurrent request, or replaced by a newer one, since we read it
+            throw new RuntimeException("Invalid password reset token.");
+        }
+        return stored.getUser();
+    }
+
+    @Scheduled(fixedDelayString = "${app.password-reset.purge-ms:3600000}",
+            initialDelayString = "${app.password-reset.purge-ms:3600000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = tokenRepository.deleteExpiredBatch(now, purgeBatchSize);
+            total += deleted;
+        } while (deleted == purgeBatchSize);
+        if (total > 0) {
+            log.info("Purged {} expired password reset tokens", total);
+        }
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+}
@@ -3,8 +3,10 @@ package com.recyconnect.auth.repository;
 import com.recyconnect.auth.model.Role;
 import com.recyconnect.auth.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,6 +17,17 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 
     List<User> findTop10ByRoleOrderByEcoPointsDesc(Role role);
 
+    // Atomic balance change for PointsService; never read-modify-write eco_points
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.ecoPoints = u.ecoPoints + :points WHERE u.id = :userId")
+    int addEcoPoints(@Param("userId") Integer userId, @Param("points") int points);
+
+    // Targeted so a password rehash never overwrites columns changed concurrently (e.g. eco_points)
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :userId")
+    int updatePassword(@Param("userId") Integer userId, @Param("password") String password);
+
     // We added "WHERE role != 'ROLE_ADMIN'" inside the subquery so Admins don't take up rank spots.
     @Query(value = "SELECT rank FROM (SELECT id, RANK() OVER (ORDER BY eco_points DESC) as rank FROM users WHERE role != 'ROLE_ADMIN') as ranked_users WHERE id = :userId", nativeQuery = true)
     Optional<Long> findRankByUserId(@Param("userId") Integer userId);
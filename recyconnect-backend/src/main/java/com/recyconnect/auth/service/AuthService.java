@@ -5,19 +5,26 @@ import com.recyconnect.auth.dto.LoginRequest;
 import com.recyconnect.auth.dto.SignUpRequest;
 import com.recyconnect.auth.model.Role;
 import com.recyconnect.auth.model.User;
-import com.recyconnect.auth.password.PasswordResetToken;
-import com.recyconnect.auth.password.PasswordResetTokenRepository;
+import com.recyconnect.auth.password.PasswordHashingExecutor;
+import com.recyconnect.auth.password.PasswordResetTokenService;
 import com.recyconnect.auth.repository.UserRepository;
+import com.recyconnect.auth.throttle.LoginThrottle;
+import com.recyconnect.auth.throttle.PasswordResetThrottle;
+import com.recyconnect.auth.token.InvalidRefreshTokenException;
+import com.recyconnect.auth.token.RefreshTokenService;
+import com.recyconnect.auth.token.TokenRevocationIndex;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import com.recyconnect.auth.password.PasswordResetRequestDto;
-import java.util.Date;
 
 @Service
 @RequiredArgsConstructor
@@ -27,16 +34,23 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
-    private final PasswordResetTokenRepository tokenRepository;
+    private final PasswordResetTokenService passwordResetTokenService;
     private final EmailService emailService;
     private final UserPasswordDetailsService userPasswordDetailsService;
+    private final PasswordHashingExecutor passwordHashing;
+    private final LoginThrottle loginThrottle;
+    private final PasswordResetThrottle passwordResetThrottle;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationIndex revocationIndex;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
+    // Not @Transactional: hashing can queue behind other logins and must not hold a DB connection meanwhile
     public JwtAuthResponse signup(SignUpRequest request) {
+        String passwordHash = passwordHashing.run(() -> passwordEncoder.encode(request.getPassword()));
         var user = User.builder()
                 .name(request.getName())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHash)
                 .role(Role.ROLE_USER) // Default role
                 .ecoPoints(0)
                 .build();
@@ -46,18 +60,27 @@ public class AuthService {
         return JwtAuthResponse.builder()
                 .token(jwtToken)
                 .role(user.getRole().name())
+                .refreshToken(refreshTokenService.issue(user.getId()))
                 .build();
     }
 
-    @Transactional
-    public JwtAuthResponse login(LoginRequest request) {
+    public JwtAuthResponse login(LoginRequest request, String clientIp) {
+        // Accounts and addresses with too many recent failures are refused before any hashing
+        loginThrottle.check(request.getEmail(), clientIp);
+
         // This will now use the correct provider to find the user by EMAIL
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getEmail(),
-                        request.getPassword()
-                )
-        );
+        try {
+            passwordHashing.run(() -> authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            request.getEmail(),
+                            request.getPassword()
+                    )
+            ));
+        } catch (AuthenticationException e) {
+            loginThrottle.recordFailure(request.getEmail(), clientIp);
+            throw e;
+        }
+        loginThrottle.recordSuccess(request.getEmail());
 
         // If authentication succeeds, we generate a token
         var user = userRepository.findByEmail(request.getEmail())
@@ -67,42 +90,66 @@ public class AuthService {
         return JwtAuthResponse.builder()
                 .token(jwtToken)
                 .role(user.getRole().name())
+                .refreshToken(refreshTokenService.issue(user.getId()))
+                .build();
+    }
+
+    // Swaps a refresh token for a new access token and a new refresh token (the old one is used up)
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public JwtAuthResponse refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        User user = userRepository.findById(rotation.userId())
+                .orElseThrow(() -> new InvalidRefreshTokenException("Unknown refresh token"));
+        return JwtAuthResponse.builder()
+                .token(jwtService.generateToken(user))
+                .role(user.getRole().name())
+                .refreshToken(rotation.refreshToken())
                 .build();
     }
 
+    // Ends this login: its refresh token family and, if given, the access token in use
+    @Transactional
+    public void logout(String refreshToken, String accessToken) {
+        refreshTokenService.revoke(refreshToken);
+        if (accessToken != null) {
+            try {
+                revocationIndex.revokeToken(jwtService.verify(accessToken));
+            } catch (JwtException e) {
+                // Already expired or not ours; nothing left to revoke
+            }
+        }
+    }
+
     @Transactional
-    public void handleForgotPassword(String email) {
+    public void handleForgotPassword(String email, String clientIp) {
+        // Counted before the lookup, so unknown addresses are limited exactly like real ones
+        passwordResetThrottle.acquire(email, clientIp);
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("No user found with email: " + email));
 
-        // Create and save a new token
-        PasswordResetToken token = new PasswordResetToken(user);
-        tokenRepository.save(token);
+        // Create a new token, replacing any earlier one
+        String token = passwordResetTokenService.issue(user);
 
         // Send the email
-        emailService.sendPasswordResetEmail(user.getEmail(), token.getToken());
+        emailService.sendPasswordResetEmail(user.getEmail(), token);
     }
 
-    @Transactional
+    // Not @Transactional: the new password is hashed first, and only the database work below runs in a transaction
     public void resetPassword(PasswordResetRequestDto request) {
-        // 1. Find the token in the database
-        PasswordResetToken token = tokenRepository.findByToken(request.getToken())
-                .orElseThrow(() -> new RuntimeException("Invalid password reset token."));
-
-        // 2. Check if the token has expired
-        if (token.getExpiryDate().before(new Date())) {
-            tokenRepository.delete(token); // Clean up expired token
-            throw new RuntimeException("Password reset token has expired.");
-        }
+        // 1. Encode the new password; this can queue behind logins, so no DB connection is held yet
+        String passwordHash = passwordHashing.run(() -> passwordEncoder.encode(request.getNewPassword()));
 
-        // 3. Get the user associated with the token
-        User user = token.getUser();
+        transactionTemplate.executeWithoutResult(status -> {
+            // 2. Check the token (unknown, expired or already used all fail) and use it up
+            User user = passwordResetTokenService.redeem(request.getToken());
 
-        // 4. Set the new, encoded password
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
-        userRepository.save(user);
+            // 3. Set the new password
+            userRepository.updatePassword(user.getId(), passwordHash);
 
-        // 5. Delete the token so it cannot be used again
-        tokenRepository.delete(token);
+            // 4. Sign out every existing session: refresh tokens can no longer be used and
+            //    access tokens issued before now are rejected on every node
+            refreshTokenService.revokeAllForUser(user.getId());
+            revocationIndex.revokeUser(user.getId());
+        });
     }
 }
\ No newline at end of file
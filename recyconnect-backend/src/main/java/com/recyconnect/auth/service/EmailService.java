@@ -1,16 +1,15 @@
 package com.recyconnect.auth.service;
 
+import com.recyconnect.outbox.service.OutboxService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private final OutboxService outboxService;
     // Hardcoded for now based on our DataSeeder
     private static final String ADMIN_EMAIL = "recyconnecta@gmail.com";
 
@@ -25,7 +24,8 @@ public class EmailService {
                 + resetUrl + "\n\n"
                 + "If you did not request this, please ignore this email.";
 
-        sendEmail(to, subject, body);
+        // The link alone resets the password, so it must not stay in the outbox after delivery
+        outboxService.enqueueSensitiveEmail(to, subject, body);
     }
 
     // UPDATED: Now takes User Name and Waste Type for better context
@@ -57,7 +57,8 @@ public class EmailService {
             Thank you for making the planet greener with RecyConnect!
             """, userName, ngoName, wasteType, otp);
 
-        sendEmail(to, subject, body);
+        // Only the hash of the OTP is stored, so the outbox must not keep the plaintext either
+        outboxService.enqueueSensitiveEmail(to, subject, body);
     }
 
     // NEW: Admin Alert Logic
@@ -79,12 +80,8 @@ public class EmailService {
         sendEmail(ADMIN_EMAIL, subject, body);
     }
 
+    // Queued in the caller's transaction; OutboxDispatcher does the SMTP work after commit
     private void sendEmail(String to, String subject, String body) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(to);
-        message.setSubject(subject);
-        message.setText(body);
-        message.setFrom("noreply@recyconnect.com");
-        mailSender.send(message);
+        outboxService.enqueueEmail(to, subject, body);
     }
 }
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.recyconnect.auth.service;
+
+import com.recyconnect.auth.event.UserRoleChangedEvent;
+import com.recyconnect.auth.model.User;
+import com.recyconnect.auth.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Principals for JwtAuthenticationFilter. The token's signature already proves who the caller is,
+// so the users row is read at most once per TTL per user instead of on every request.
+// A role change on this node drops the entry right away; other nodes pick it up within the TTL.
+@Service
+@RequiredArgsConstructor
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+
+    @Value("${app.security.principal-cache-size:10000}")
+    private int cacheSize = 10000;
+
+    @Value("${app.security.principal-ttl-seconds:300}")
+    private long ttlSeconds = 300;
+
+    private record Cached(User user, Instant expiresAt) {}
+
+    private Map<Integer, Cached> principals;
+
+    // Bumped on every invalidation, so a load that raced with one is not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        int maxEntries = cacheSize;
+        principals = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Cached> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    public User resolve(String userId) {
+        Integer id = Integer.parseInt(userId);
+        Cached cached = principals.get(id);
+        Instant now = Instant.now();
+        if (cached != null && cached.expiresAt().isAfter(now)) {
+            return cached.user();
+        }
+
+        long generation = invalidations.get();
+        User user = userRepository.findById(id)
+                .map(PrincipalCache::snapshot)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with ID: " + userId));
+        if (invalidations.get() == generation) {
+            principals.put(id, new Cached(user, now.plus(Duration.ofSeconds(ttlSeconds))));
+        }
+        return user;
+    }
+
+    public void invalidate(Integer userId) {
+        invalidations.incrementAndGet();
+        principals.remove(userId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoleChanged(UserRoleChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    // A detached copy without the password hash: it is shared across requests and threads
+    private static User snapshot(User user) {
+        return User.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .role(user.getRole())
+                .ecoPoints(user.getEcoPoints())
+                .build();
+    }
+}
@@ -1,15 +1,17 @@
 package com.recyconnect.auth.service;
 
+import com.recyconnect.auth.model.User;
 import com.recyconnect.auth.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
-public class UserPasswordDetailsService implements UserDetailsService {
+public class UserPasswordDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -18,4 +20,14 @@ public class UserPasswordDetailsService implements UserDetailsService {
         return userRepository.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + username));
     }
+
+    // Called by the login provider after a successful check when the stored hash uses a lower BCrypt cost
+    // than app.security.bcrypt-strength, so existing accounts move to the new cost as they sign in
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = (User) userDetails;
+        userRepository.updatePassword(user.getId(), newPassword);
+        user.setPassword(newPassword);
+        return user;
+    }
 }
\ No newline at end of file
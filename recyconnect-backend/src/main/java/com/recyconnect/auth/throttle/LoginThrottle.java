@@ -0,0 +1,95 @@
+package com.recyconnect.auth.throttle;
+
+import com.recyconnect.ratelimit.RateLimitExceededException;
+import com.recyconnect.ratelimit.SlidingWindowCounter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counts failed logins per account and per client IP over a sliding window and refuses further attempts
+// once either is over its limit, before any password is hashed. Counts are per node and in memory.
+@Slf4j
+@Component
+public class LoginThrottle {
+
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder throttledByAccount = new LongAdder();
+    private final LongAdder throttledByIp = new LongAdder();
+
+    @Value("${app.security.login.account-failures:5}")
+    private int accountFailures = 5;
+
+    @Value("${app.security.login.ip-failures:50}")
+    private int ipFailures = 50;
+
+    private final SlidingWindowCounter<String> byAccount;
+    private final SlidingWindowCounter<String> byIp;
+
+    @Autowired
+    public LoginThrottle(@Value("${app.security.login.window-minutes:15}") long windowMinutes) {
+        this.byAccount = new SlidingWindowCounter<>(Duration.ofMinutes(windowMinutes));
+        this.byIp = new SlidingWindowCounter<>(Duration.ofMinutes(windowMinutes));
+    }
+
+    LoginThrottle(SlidingWindowCounter<String> byAccount, SlidingWindowCounter<String> byIp) {
+        this.byAccount = byAccount;
+        this.byIp = byIp;
+    }
+
+    public void check(String email, String clientIp) {
+        long accountWait = byAccount.waitNanos(accountKey(email), accountFailures);
+        if (accountWait > 0) {
+            throttledByAccount.increment();
+            throw new RateLimitExceededException("Too many failed sign-in attempts for this account. Please try again later.",
+                    seconds(accountWait));
+        }
+        long ipWait = byIp.waitNanos(clientIp, ipFailures);
+        if (ipWait > 0) {
+            throttledByIp.increment();
+            throw new RateLimitExceededException("Too many failed sign-in attempts. Please try again later.", seconds(ipWait));
+        }
+    }
+
+    public void recordFailure(String email, String clientIp) {
+        failures.increment();
+        byAccount.record(accountKey(email));
+        byIp.record(clientIp);
+    }
+
+    // A successful login clears the account's failures, but not the IP's: one good password
+    // shouldn't license a stuffing run against other accounts from the same address
+    public void recordSuccess(String email) {
+        byAccount.reset(accountKey(email));
+    }
+
+    public Map<String, Long> metrics() {
+        return Map.of(
+                "failedLogins", failures.sum(),
+                "throttledByAccount", throttledByAccount.sum(),
+                "throttledByIp", throttledByIp.sum(),
+                "trackedAccounts", (long) byAccount.size(),
+                "trackedIps", (long) byIp.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.login.evict-ms:300000}", initialDelayString = "${app.security.login.evict-ms:300000}")
+    public void evictIdle() {
+        int evicted = byAccount.evictIdle() + byIp.evictIdle();
+        log.debug("Login throttle dropped {} idle counters", evicted);
+    }
+
+    private static String accountKey(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long seconds(long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos) + 1);
+    }
+}
@@ -0,0 +1,56 @@
+package com.recyconnect.auth.throttle;
+
+import com.recyconnect.ratelimit.RateLimitExceededException;
+import com.recyconnect.ratelimit.SlidingWindowCounter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Caps "forgot password" requests per email address and per client IP over a sliding hour, so the
+// endpoint can't be used to flood someone's inbox or our SMTP relay. Every request counts, whether or
+// not the address has an account, so the limit says nothing about which emails are registered.
+@Component
+public class PasswordResetThrottle {
+
+    private static final Duration WINDOW = Duration.ofHours(1);
+
+    private final SlidingWindowCounter<String> byEmail;
+    private final SlidingWindowCounter<String> byIp;
+
+    @Value("${app.password-reset.email-per-hour:3}")
+    private int emailPerHour = 3;
+
+    @Value("${app.password-reset.ip-per-hour:20}")
+    private int ipPerHour = 20;
+
+    public PasswordResetThrottle() {
+        this(new SlidingWindowCounter<>(WINDOW), new SlidingWindowCounter<>(WINDOW));
+    }
+
+    PasswordResetThrottle(SlidingWindowCounter<String> byEmail, SlidingWindowCounter<String> byIp) {
+        this.byEmail = byEmail;
+        this.byIp = byIp;
+    }
+
+    public void acquire(String email, String clientIp) {
+        String emailKey = email.trim().toLowerCase(Locale.ROOT);
+        long wait = Math.max(byEmail.waitNanos(emailKey, emailPerHour), byIp.waitNanos(clientIp, ipPerHour));
+        if (wait > 0) {
+            throw new RateLimitExceededException("Too many password reset requests. Please try again later.",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait) + 1));
+        }
+        byEmail.record(emailKey);
+        byIp.record(clientIp);
+    }
+
+    @Scheduled(fixedDelayString = "${app.password-reset.evict-ms:300000}",
+            initialDelayString = "${app.password-reset.evict-ms:300000}")
+    public void evictIdle() {
+        byEmail.evictIdle();
+        byIp.evictIdle();
+    }
+}
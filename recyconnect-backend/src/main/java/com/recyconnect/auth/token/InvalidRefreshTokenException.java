@@ -0,0 +1,9 @@
+package com.recyconnect.auth.token;
+
+// Unknown, expired or already-used refresh token; mapped to 401 so the client signs in again
+public class InvalidRefreshTokenException extends RuntimeException {
+
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,131 @@
+package com.recyconnect.auth.token;
+
+import com.recyconnect.auth.service.JwtService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Answers "has this access token been revoked?" for every authenticated request. Revocations live in
+// revoked_tokens; each node mirrors their keys in a Bloom filter, so the usual answer ("no") costs a few
+// hash probes and only a filter hit (a real revocation or a rare false positive) goes to the table.
+// Other nodes' revocations are picked up every sync interval.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationIndex {
+
+    static final String TOKEN_PREFIX = "jti:";
+    static final String USER_PREFIX = "user:";
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+    // Sync looks back this much further than strictly needed, to cover clock skew between nodes
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${app.jwt.revocation-bloom-capacity:100000}")
+    private int bloomCapacity = 100000;
+
+    // How long a user-wide revocation must be kept: the longest an access token issued before it can live
+    @Value("${app.jwt-expiration-milliseconds}")
+    private long accessTokenTtlMs;
+
+    private volatile BloomFilter filter;
+    // Before the first rebuild, sync loads everything
+    private volatile LocalDateTime syncedUpTo = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder tableLookups = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        filter = new BloomFilter(bloomCapacity, FALSE_POSITIVE_RATE);
+    }
+
+    public boolean isRevoked(JwtService.VerifiedToken token) {
+        checks.increment();
+        BloomFilter current = filter;
+        boolean tokenHit = token.tokenId() != null && current.mightContain(TOKEN_PREFIX + token.tokenId());
+        boolean userHit = current.mightContain(USER_PREFIX + token.subject());
+        if (!tokenHit && !userHit) {
+            return false;
+        }
+        tableLookups.increment();
+        if (tokenHit && revokedTokenRepository.existsById(TOKEN_PREFIX + token.tokenId())) {
+            return true;
+        }
+        if (userHit) {
+            LocalDateTime issuedAt = LocalDateTime.ofInstant(token.issuedAt(), ZoneId.systemDefault());
+            return revokedTokenRepository.findById(USER_PREFIX + token.subject())
+                    .map(revoked -> issuedAt.isBefore(revoked.getRevokedAt()))
+                    .orElse(false);
+        }
+        return false;
+    }
+
+    // Logout: just this access token, until it would have expired anyway
+    public void revokeToken(JwtService.VerifiedToken token) {
+        if (token.tokenId() == null) {
+            return;
+        }
+        record(TOKEN_PREFIX + token.tokenId(), LocalDateTime.ofInstant(token.expiresAt(), ZoneId.systemDefault()));
+    }
+
+    // Password reset and the like: every access token the user holds right now
+    public void revokeUser(Integer userId) {
+        record(USER_PREFIX + userId, LocalDateTime.now().plus(Duration.ofMillis(accessTokenTtlMs)));
+    }
+
+    private void record(String key, LocalDateTime expiresAt) {
+        // save() upserts, so a second reset moves the user's cut-off forward. Millisecond precision, the same
+        // as a token's issue time, so a token issued right after the cut-off is never taken for an older one.
+        revokedTokenRepository.save(RevokedToken.builder()
+                .revocationKey(key)
+                .revokedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS))
+                .expiresAt(expiresAt)
+                .build());
+        // A rolled-back revocation leaves a stray key behind, which only costs a table lookup
+        filter.add(key);
+    }
+
+    // Starts from an empty filter so expired revocations stop costing lookups; sized for what is live now
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.jwt.revocation-rebuild-ms:3600000}",
+            initialDelayString = "${app.jwt.revocation-rebuild-ms:3600000}")
+    public synchronized void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.deleteExpired(now);
+        List<String> keys = revokedTokenRepository.findLiveKeys(now);
+        BloomFilter rebuilt = new BloomFilter(Math.max(bloomCapacity, keys.size() * 2), FALSE_POSITIVE_RATE);
+        keys.forEach(rebuilt::add);
+        filter = rebuilt;
+        syncedUpTo = now;
+        log.info("Token revocation index rebuilt with {} live revocations", keys.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation-sync-ms:5000}",
+            initialDelayString = "${app.jwt.revocation-sync-ms:5000}")
+    public synchronized void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> keys = revokedTokenRepository.findKeysRevokedSince(syncedUpTo.minus(SYNC_OVERLAP), now);
+        BloomFilter current = filter;
+        keys.forEach(current::add);
+        syncedUpTo = now;
+    }
+
+    public Map<String, Long> metrics() {
+        return Map.of("revocationChecks", checks.sum(), "revocationTableLookups", tableLookups.sum());
+    }
+}
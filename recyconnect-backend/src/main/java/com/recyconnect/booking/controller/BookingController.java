@@ -2,7 +2,9 @@ package com.recyconnect.booking.controller;
 
 import com.recyconnect.booking.dto.BookingRequestDto;
 import com.recyconnect.booking.dto.BookingResponseDto;
+import com.recyconnect.booking.pagination.CursorPage;
 import com.recyconnect.booking.service.BookingService;
+import com.recyconnect.idempotency.service.IdempotencyService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -16,22 +18,37 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final IdempotencyService idempotencyService;
 
+    // Send an Idempotency-Key header to make retries safe: a repeat returns the first response instead of a new booking
     @PostMapping
-    public ResponseEntity<BookingResponseDto> createBooking(@RequestBody BookingRequestDto bookingRequest) {
-        BookingResponseDto newBooking = bookingService.createBooking(bookingRequest);
-        return ResponseEntity.ok(newBooking);
+    public ResponseEntity<BookingResponseDto> createBooking(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestBody BookingRequestDto bookingRequest) {
+        return idempotencyService.execute(idempotencyKey, "POST /api/bookings", bookingRequest,
+                BookingResponseDto.class, () -> bookingService.createBooking(bookingRequest)).toResponseEntity();
     }
 
+    // Newest first, one page at a time; pass the X-Next-Cursor response header back as ?cursor= for the next page
     @GetMapping("/my-bookings")
     @PreAuthorize("hasRole('USER')") // Only regular users can access this
-    public ResponseEntity<List<BookingResponseDto>> getMyBookings() {
-        return ResponseEntity.ok(bookingService.getBookingsForCurrentUser());
+    public ResponseEntity<List<BookingResponseDto>> getMyBookings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        CursorPage<BookingResponseDto> page = bookingService.getBookingsForCurrentUser(cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(CursorPage.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
     }
 
     @PostMapping("/{bookingId}/cancel")
-    public ResponseEntity<BookingResponseDto> cancelBooking(@PathVariable Long bookingId) {
-        BookingResponseDto response = bookingService.cancelBooking(bookingId);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<BookingResponseDto> cancelBooking(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @PathVariable Long bookingId) {
+        return idempotencyService.execute(idempotencyKey, "POST /api/bookings/{id}/cancel", bookingId,
+                BookingResponseDto.class, () -> bookingService.cancelBooking(bookingId)).toResponseEntity();
     }
 }
\ No newline at end of file
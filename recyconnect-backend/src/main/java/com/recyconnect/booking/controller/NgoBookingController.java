@@ -1,7 +1,10 @@
 package com.recyconnect.booking.controller;
 
 import com.recyconnect.booking.dto.BookingResponseDto;
+import com.recyconnect.booking.dto.PickupRouteDto;
+import com.recyconnect.booking.pagination.CursorPage;
 import com.recyconnect.booking.service.NgoBookingService;
+import com.recyconnect.idempotency.service.IdempotencyService;
 import lombok.Data;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -18,17 +21,44 @@ import java.util.List;
 public class NgoBookingController {
 
     private final NgoBookingService ngoBookingService;
+    private final IdempotencyService idempotencyService;
 
+    // Oldest first, one page at a time; pass the X-Next-Cursor response header back as ?cursor= for the next page
     @GetMapping("/requests")
-    public ResponseEntity<List<BookingResponseDto>> getBookingRequests() {
-        List<BookingResponseDto> requests = ngoBookingService.getActiveBookingsForCurrentNgo(); // 👈 Call the renamed method
-        return ResponseEntity.ok(requests);
+    public ResponseEntity<List<BookingResponseDto>> getBookingRequests(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        CursorPage<BookingResponseDto> page = ngoBookingService.getActiveBookingsForCurrentNgo(cursor, size); // 👈 Call the renamed method
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(CursorPage.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
     }
 
+    // Open pickup requests near the NGO that it could take on, nearest first
+    @GetMapping("/nearby")
+    public ResponseEntity<List<BookingResponseDto>> getNearbyRequests(
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(ngoBookingService.getNearbyOpenBookings(radiusKm, limit));
+    }
+
+    // Suggested visiting order for the NGO's accepted pickups
+    @GetMapping("/route")
+    public ResponseEntity<PickupRouteDto> getPickupRoute() {
+        return ResponseEntity.ok(ngoBookingService.planPickupRoute());
+    }
+
+    // accept, complete and reject honour an optional Idempotency-Key header, like booking creation
     @PostMapping("/{bookingId}/accept")
-    public ResponseEntity<BookingResponseDto> acceptBooking(@PathVariable Long bookingId) {
-        BookingResponseDto updatedBooking = ngoBookingService.acceptBooking(bookingId);
-        return ResponseEntity.ok(updatedBooking);
+    public ResponseEntity<BookingResponseDto> acceptBooking(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @PathVariable Long bookingId) {
+        return idempotencyService.execute(idempotencyKey, "POST /api/ngo/bookings/{id}/accept", bookingId,
+                BookingResponseDto.class, () -> ngoBookingService.acceptBooking(bookingId)).toResponseEntity();
     }
 
     // NEW ENDPOINT: Resend OTP
@@ -40,15 +70,18 @@ public class NgoBookingController {
 
     @PostMapping("/{bookingId}/complete")
     public ResponseEntity<BookingResponseDto> completeBooking(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @PathVariable Long bookingId,
             @Valid @RequestBody OtpVerificationRequestDto request) {
-        BookingResponseDto completedBooking = ngoBookingService.completeBookingWithOtp(bookingId, request);
-        return ResponseEntity.ok(completedBooking);
+        return idempotencyService.execute(idempotencyKey, "POST /api/ngo/bookings/{id}/complete", List.of(bookingId, request),
+                BookingResponseDto.class, () -> ngoBookingService.completeBookingWithOtp(bookingId, request)).toResponseEntity();
     }
 
     @PostMapping("/{bookingId}/reject")
-    public ResponseEntity<BookingResponseDto> rejectBooking(@PathVariable Long bookingId) {
-        BookingResponseDto response = ngoBookingService.rejectBooking(bookingId);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<BookingResponseDto> rejectBooking(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @PathVariable Long bookingId) {
+        return idempotencyService.execute(idempotencyKey, "POST /api/ngo/bookings/{id}/reject", bookingId,
+                BookingResponseDto.class, () -> ngoBookingService.rejectBooking(bookingId)).toResponseEntity();
     }
 }
\ No newline at end of file
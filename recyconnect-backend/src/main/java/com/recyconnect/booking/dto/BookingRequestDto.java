@@ -4,8 +4,18 @@ import lombok.Data;
 
 @Data
 public class BookingRequestDto {
+    // Leave empty to broadcast the request to every eligible NGO near the pickup location
     private Long ngoId;
+    // Let the server pick the best NGO near the pickup location instead (ngoId must then be empty)
+    private boolean autoAssign;
     private String wasteType;
     private String notes;
+    // Optional estimated weight, used by quantity-based points rules
+    private Double quantityKg;
+    // Optional pickup location, used for NGO route planning
+    private Double pickupLatitude;
+    private Double pickupLongitude;
+    // Broadcast only; defaults to BookingService.DEFAULT_BROADCAST_RADIUS_KM
+    private Double broadcastRadiusKm;
     // We don't need userId here because we'll get it from the logged-in user's token.
 }
\ No newline at end of file
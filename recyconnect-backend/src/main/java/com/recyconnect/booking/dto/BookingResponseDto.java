@@ -1,12 +1,16 @@
 package com.recyconnect.booking.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor // Jackson reads it back when replaying idempotent responses
 public class BookingResponseDto {
     private Long id;
     private String wasteType;
@@ -17,6 +21,11 @@ public class BookingResponseDto {
     private Long ngoId;
     private Long userId;
     private String notes;
+    private Double quantityKg;
+    private Double pickupLatitude;
+    private Double pickupLongitude;
+    // Set only on "nearby" results: distance from the NGO to the pickup point
+    private Double distanceKm;
     private Integer pointsAwarded;
     private boolean reviewed;
 }
\ No newline at end of file
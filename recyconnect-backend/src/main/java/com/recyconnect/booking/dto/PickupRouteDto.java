@@ -0,0 +1,19 @@
+package com.recyconnect.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class PickupRouteDto {
+    // Accepted bookings with pickup coordinates, in the suggested visiting order
+    private List<BookingResponseDto> stops;
+    // Accepted bookings without coordinates; they can't be placed on the route
+    private List<BookingResponseDto> unroutedStops;
+    // Route length from the NGO's address through every stop (no return leg)
+    private double totalDistanceKm;
+    // The same stops visited in booking-date order, for comparison
+    private double dateOrderDistanceKm;
+}
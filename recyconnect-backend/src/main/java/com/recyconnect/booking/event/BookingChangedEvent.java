@@ -0,0 +1,7 @@
+package com.recyconnect.booking.event;
+
+import com.recyconnect.booking.model.Booking;
+
+// Published whenever a booking is created or changes status, so in-memory indexes can refresh
+public record BookingChangedEvent(Booking booking) {
+}
@@ -0,0 +1,51 @@
+package com.recyconnect.booking.expiry;
+
+import com.recyconnect.booking.state.BookingTransition;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+// Moves bookings nobody acted on to EXPIRED, so the NGO queues, open-booking index and load
+// tracker only ever hold live work. Each chunk commits on its own; a crash mid-run loses nothing.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingExpiryJob {
+
+    private final BookingExpiryService expiryService;
+
+    // PENDING: never accepted within this many days of being booked
+    @Value("${app.booking.pending-expiry-days:7}")
+    private int pendingExpiryDays = 7;
+
+    // ACCEPTED: booked this long ago and the pickup OTP is no longer valid
+    @Value("${app.booking.accepted-expiry-days:14}")
+    private int acceptedExpiryDays = 14;
+
+    @Value("${app.booking.expiry-chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Scheduled(fixedDelayString = "${app.booking.expiry-ms:300000}", initialDelayString = "${app.booking.expiry-ms:300000}")
+    public void expireStaleBookings() {
+        LocalDateTime now = LocalDateTime.now();
+        int pending = expireAll(BookingTransition.EXPIRE_PENDING, now.minusDays(pendingExpiryDays));
+        int accepted = expireAll(BookingTransition.EXPIRE_ACCEPTED, now.minusDays(acceptedExpiryDays));
+        if (pending + accepted > 0) {
+            log.info("Expired {} pending and {} accepted bookings", pending, accepted);
+        }
+    }
+
+    private int expireAll(BookingTransition transition, LocalDateTime cutoff) {
+        int total = 0;
+        int expired;
+        do {
+            expired = expiryService.expireChunk(transition, cutoff, chunkSize);
+            total += expired;
+        } while (expired == chunkSize);
+        return total;
+    }
+}
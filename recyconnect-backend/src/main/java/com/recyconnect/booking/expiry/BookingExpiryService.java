@@ -0,0 +1,53 @@
+package com.recyconnect.booking.expiry;
+
+import com.recyconnect.booking.event.BookingChangedEvent;
+import com.recyconnect.booking.model.Booking;
+import com.recyconnect.booking.repository.BookingRepository;
+import com.recyconnect.booking.state.BookingTransition;
+import com.recyconnect.notification.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class BookingExpiryService {
+
+    private final BookingRepository bookingRepository;
+    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Expires up to chunkSize bookings that have sat in transition.from() since before cutoff, in one
+    // transaction: one locking select, one set-based update, one batch of notifications.
+    // Returns how many rows were picked up, so the caller knows whether to run another chunk.
+    @Transactional
+    public int expireChunk(BookingTransition transition, LocalDateTime cutoff, int chunkSize) {
+        List<Long> ids = bookingRepository.lockStaleBookingIds(transition.from().name(), cutoff,
+                LocalDateTime.now(), chunkSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        bookingRepository.transitionStatusIn(ids, transition.from(), transition.to());
+
+        List<NotificationService.Draft> drafts = new ArrayList<>();
+        for (Booking booking : bookingRepository.findWithPartiesByIdIn(ids)) {
+            if (booking.getStatus() != transition.to()) {
+                continue;
+            }
+            eventPublisher.publishEvent(new BookingChangedEvent(booking));
+            drafts.add(new NotificationService.Draft(booking.getUser(),
+                    "Booking #" + booking.getId() + " (" + booking.getWasteType() + ") expired without a pickup."));
+            if (booking.getNgo() != null) {
+                drafts.add(new NotificationService.Draft(booking.getNgo().getUser(),
+                        "Booking #" + booking.getId() + " from " + booking.getUser().getName() + " has expired."));
+            }
+        }
+        notificationService.sendNotifications(drafts);
+        return ids.size();
+    }
+}
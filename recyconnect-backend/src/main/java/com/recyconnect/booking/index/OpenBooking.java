@@ -0,0 +1,25 @@
+package com.recyconnect.booking.index;
+
+import com.recyconnect.map.index.GeoGridIndex;
+
+// Snapshot of a PENDING booking with a pickup location.
+// ngoId is null for a broadcast request that any eligible NGO within broadcastRadiusKm may claim.
+public record OpenBooking(
+        Long id,
+        double latitude,
+        double longitude,
+        String wasteType,
+        long wasteMask,
+        Long ngoId,
+        Double broadcastRadiusKm
+) implements GeoGridIndex.Located {
+
+    // JPQL constructor expression; the mask is filled in from the catalog afterwards
+    public OpenBooking(Long id, Double latitude, Double longitude, String wasteType, Long ngoId, Double broadcastRadiusKm) {
+        this(id, latitude, longitude, wasteType, 0L, ngoId, broadcastRadiusKm);
+    }
+
+    public OpenBooking withWasteMask(long mask) {
+        return new OpenBooking(id, latitude, longitude, wasteType, mask, ngoId, broadcastRadiusKm);
+    }
+}
@@ -0,0 +1,89 @@
+package com.recyconnect.booking.index;
+
+import com.recyconnect.booking.event.BookingChangedEvent;
+import com.recyconnect.booking.model.Booking;
+import com.recyconnect.booking.model.BookingStatus;
+import com.recyconnect.booking.repository.BookingRepository;
+import com.recyconnect.map.index.GeoGridIndex;
+import com.recyconnect.map.index.GeoUtils;
+import com.recyconnect.waste.model.WasteType;
+import com.recyconnect.waste.service.WasteTypeCatalog;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+
+// In-process spatial index over PENDING bookings that have a pickup location.
+// Loaded at startup with a projection query and kept current through BookingChangedEvent.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OpenBookingIndex {
+
+    private final BookingRepository bookingRepository;
+    private final WasteTypeCatalog wasteTypeCatalog;
+
+    @Value("${app.booking.index-cell-degrees:0.02}")
+    private double cellDegrees;
+
+    private GeoGridIndex<OpenBooking> grid;
+
+    @PostConstruct
+    void init() {
+        grid = new GeoGridIndex<>(cellDegrees);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        List<OpenBooking> open = bookingRepository.findOpenBookingsWithLocation(BookingStatus.PENDING).stream()
+                .flatMap(booking -> withMask(booking).stream())
+                .toList();
+        grid.replaceAll(open);
+        log.info("Open booking index loaded with {} pending bookings", open.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        Booking booking = event.booking();
+        Optional<OpenBooking> open = Optional.empty();
+        if (booking.getStatus() == BookingStatus.PENDING && booking.getPickupLatitude() != null
+                && booking.getPickupLongitude() != null) {
+            open = withMask(new OpenBooking(booking.getId(), booking.getPickupLatitude(), booking.getPickupLongitude(),
+                    booking.getWasteType(), booking.getNgo() == null ? null : booking.getNgo().getId(),
+                    booking.getBroadcastRadiusKm()));
+        }
+        open.ifPresentOrElse(grid::upsert, () -> grid.remove(booking.getId()));
+    }
+
+    // Open bookings an NGO could take on, nearest first: those addressed to it plus broadcasts whose
+    // radius reaches it, limited to waste types it accepts
+    public List<GeoGridIndex.Neighbor<OpenBooking>> nearbyFor(Long ngoId, double lat, double lng, long acceptedMask,
+                                                             double radiusKm, int limit) {
+        return grid.nearest(lat, lng, limit, radiusKm, booking ->
+                (booking.wasteMask() & acceptedMask) == booking.wasteMask()
+                        && (ngoId.equals(booking.ngoId()) || (booking.ngoId() == null && reaches(booking, lat, lng))));
+    }
+
+    public int size() {
+        return grid.size();
+    }
+
+    private static boolean reaches(OpenBooking booking, double lat, double lng) {
+        return booking.broadcastRadiusKm() == null
+                || GeoUtils.haversineKm(lat, lng, booking.latitude(), booking.longitude()) <= booking.broadcastRadiusKm();
+    }
+
+    // Bookings whose type the catalog doesn't know can't be matched to NGOs, so they stay out of the index
+    private Optional<OpenBooking> withMask(OpenBooking booking) {
+        return wasteTypeCatalog.find(booking.wasteType()).map(WasteType::mask).map(booking::withWasteMask);
+    }
+}
@@ -0,0 +1,64 @@
+package com.recyconnect.booking.matching;
+
+import com.recyconnect.map.index.GeoGridIndex;
+import com.recyconnect.map.index.NgoLocation;
+import com.recyconnect.map.index.RecyclerSpatialIndex;
+import com.recyconnect.stats.model.NgoStats;
+import com.recyconnect.stats.service.NgoStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+// Ranks the NGOs for an auto-assigned booking. Candidates are the nearest NGOs that accept the waste type
+// (spatial index); each gets a penalty mixing distance, open-booking load (NgoLoadTracker) and rating
+// (ngo_stats), lowest first. BookingService takes the best one with capacity left. Nothing here touches
+// the bookings table.
+@Component
+@RequiredArgsConstructor
+public class BookingMatcher {
+
+    static final double MAX_MATCH_RADIUS_KM = 25;
+    static final int CANDIDATES = 20;
+
+    // Relative weight of each factor; every factor is scaled to [0, 1] first
+    static final double DISTANCE_WEIGHT = 0.5;
+    static final double LOAD_WEIGHT = 0.3;
+    static final double RATING_WEIGHT = 0.2;
+
+    // Load at which the load factor reaches 0.5
+    static final double LOAD_HALF_POINT = 5;
+    // Unrated NGOs are treated as average rather than worst
+    static final double DEFAULT_RATING = 3.5;
+
+    private final RecyclerSpatialIndex spatialIndex;
+    private final NgoLoadTracker loadTracker;
+    private final NgoStatsService ngoStatsService;
+
+    public record Match(NgoLocation ngo, double distanceKm, double penalty) {}
+
+    // Every candidate, best first, so the caller can fall back to the next one (e.g. when an NGO is full)
+    public List<Match> rank(double lat, double lng, long wasteMask) {
+        List<GeoGridIndex.Neighbor<NgoLocation>> candidates = spatialIndex.nearest(lat, lng, CANDIDATES,
+                MAX_MATCH_RADIUS_KM, location -> location.acceptsAll(wasteMask));
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, NgoStats> stats = ngoStatsService.getStats(candidates.stream().map(hit -> hit.item().id()).toList());
+
+        return candidates.stream()
+                .map(hit -> new Match(hit.item(), hit.distanceKm(),
+                        penalty(hit.distanceKm(), loadTracker.loadOf(hit.item().id()), stats.get(hit.item().id()))))
+                .sorted(Comparator.comparingDouble(Match::penalty).thenComparingDouble(Match::distanceKm))
+                .toList();
+    }
+
+    static double penalty(double distanceKm, int load, NgoStats stats) {
+        double rating = stats == null || stats.getAverageRating() == null ? DEFAULT_RATING : stats.getAverageRating();
+        return DISTANCE_WEIGHT * Math.min(1, distanceKm / MAX_MATCH_RADIUS_KM)
+                + LOAD_WEIGHT * (load / (load + LOAD_HALF_POINT))
+                + RATING_WEIGHT * (5 - rating) / 4;
+    }
+}
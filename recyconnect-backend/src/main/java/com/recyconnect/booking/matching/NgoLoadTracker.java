@@ -0,0 +1,125 @@
+package com.recyconnect.booking.matching;
+
+import com.recyconnect.booking.event.BookingChangedEvent;
+import com.recyconnect.booking.model.Booking;
+import com.recyconnect.booking.model.BookingStatus;
+import com.recyconnect.booking.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// In-memory count of open (PENDING or ACCEPTED) bookings per NGO, so matching never has to count rows.
+// Remembers which NGO each open booking is counted against, which makes updates idempotent:
+// replaying or reordering events for one booking can't double count it.
+// Listens synchronously (not after commit) so a burst of auto-assignments sees each other's load at once;
+// the periodic resync repairs the rare drift left behind by a rolled-back transaction. Resync builds new
+// maps off to the side and replays changes that arrived while it was reading, so none are lost in the swap.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NgoLoadTracker {
+
+    static final Set<BookingStatus> OPEN = Set.of(BookingStatus.PENDING, BookingStatus.ACCEPTED);
+
+    private final BookingRepository bookingRepository;
+
+    // Swapped whole by resync; guarded by lock for writes, read lock-free by loadOf
+    private volatile Loads loads = new Loads();
+    private final Object lock = new Object();
+    // Non-null while a resync is reading the table: changes made meanwhile may be missing from its snapshot
+    private List<Change> changedDuringResync;
+
+    // ngoId is null when the booking is no longer open
+    private record Change(Long bookingId, Long ngoId) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.matching.load-resync-ms:300000}", initialDelayString = "${app.matching.load-resync-ms:300000}")
+    @Transactional(readOnly = true)
+    public synchronized void resync() {
+        synchronized (lock) {
+            changedDuringResync = new ArrayList<>();
+        }
+        List<OpenAssignment> open;
+        try {
+            open = bookingRepository.findOpenAssignments(OPEN);
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                changedDuringResync = null;
+            }
+            throw e;
+        }
+        Loads fresh = new Loads();
+        open.forEach(assignment -> fresh.apply(new Change(assignment.bookingId(), assignment.ngoId())));
+        synchronized (lock) {
+            // Replaying is harmless when the snapshot already has a change, since apply is idempotent
+            changedDuringResync.forEach(fresh::apply);
+            changedDuringResync = null;
+            loads = fresh;
+        }
+        log.info("NGO load tracker synced with {} open bookings", open.size());
+    }
+
+    @EventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        Booking booking = event.booking();
+        Change change = new Change(booking.getId(),
+                OPEN.contains(booking.getStatus()) && booking.getNgo() != null ? booking.getNgo().getId() : null);
+        synchronized (lock) {
+            loads.apply(change);
+            if (changedDuringResync != null) {
+                changedDuringResync.add(change);
+            }
+        }
+    }
+
+    public int loadOf(Long ngoId) {
+        AtomicInteger load = loads.loadByNgo.get(ngoId);
+        return load == null ? 0 : load.get();
+    }
+
+    private static final class Loads {
+        final Map<Long, Long> ngoByBooking = new ConcurrentHashMap<>();
+        final Map<Long, AtomicInteger> loadByNgo = new ConcurrentHashMap<>();
+
+        void apply(Change change) {
+            if (change.ngoId() == null) {
+                release(change.bookingId());
+            } else {
+                assign(change.bookingId(), change.ngoId());
+            }
+        }
+
+        private void assign(Long bookingId, Long ngoId) {
+            Long previous = ngoByBooking.put(bookingId, ngoId);
+            if (ngoId.equals(previous)) {
+                return;
+            }
+            if (previous != null) {
+                decrement(previous);
+            }
+            loadByNgo.computeIfAbsent(ngoId, id -> new AtomicInteger()).incrementAndGet();
+        }
+
+        private void release(Long bookingId) {
+            Long previous = ngoByBooking.remove(bookingId);
+            if (previous != null) {
+                decrement(previous);
+            }
+        }
+
+        private void decrement(Long ngoId) {
+            loadByNgo.computeIfPresent(ngoId, (id, load) -> load.decrementAndGet() <= 0 ? null : load);
+        }
+    }
+}
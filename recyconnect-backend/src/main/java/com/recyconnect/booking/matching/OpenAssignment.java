@@ -0,0 +1,5 @@
+package com.recyconnect.booking.matching;
+
+// An open (PENDING or ACCEPTED) booking and the NGO it is assigned to
+public record OpenAssignment(Long bookingId, Long ngoId) {
+}
@@ -7,6 +7,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
@@ -15,7 +16,17 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "bookings")
+// Write only changed columns, so saving a booking never puts back a status another request has since changed
+@DynamicUpdate
+@Table(name = "bookings", indexes = {
+        // Keyset pagination of user history and NGO queues on (booking_date, id)
+        @Index(name = "idx_bookings_user_date", columnList = "user_id, booking_date, id"),
+        // Status stays out of the NGO key: the queue asks for several statuses, and a status column ahead of
+        // booking_date would split the ordering into one run per status and force a sort
+        @Index(name = "idx_bookings_ngo_date", columnList = "ngo_id, booking_date, id"),
+        // Finding stale bookings for BookingExpiryJob
+        @Index(name = "idx_bookings_status_date", columnList = "status, booking_date, id")
+})
 public class Booking {
 
     @Id
@@ -37,18 +48,23 @@ public class Booking {
     @Column(nullable = false)
     private LocalDateTime bookingDate;
 
+    // Null while a broadcast booking waits for a nearby NGO to claim it
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "ngo_id", nullable = false)
+    @JoinColumn(name = "ngo_id")
     private Ngo ngo;
 
     private String notes;
 
-    @Column(nullable = false, columnDefinition = "integer default 0")
-    private Integer pointsAwarded = 0;
+    // Optional estimate from the user; points rules can key off it
+    private Double quantityKg;
+
+    // Where the waste should be collected; optional, bookings made before this was added have none
+    private Double pickupLatitude;
+    private Double pickupLongitude;
 
-    @Column(nullable = true) // OTP is null until booking is accepted
-    private String otp;
+    // For broadcast bookings: how far from the pickup point an NGO may be to claim it
+    private Double broadcastRadiusKm;
 
-    @Column(nullable = true)
-    private LocalDateTime otpExpiryDate;
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private Integer pointsAwarded = 0;
 }
\ No newline at end of file
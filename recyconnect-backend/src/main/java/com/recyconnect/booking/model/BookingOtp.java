@@ -0,0 +1,38 @@
+package com.recyconnect.booking.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// The pickup OTP for an accepted booking, kept off the bookings row. Only a salted HMAC of the code
+// is stored; the code itself exists just long enough to be emailed.
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "booking_otps", indexes = {
+        @Index(name = "idx_booking_otps_expires_at", columnList = "expires_at")
+})
+public class BookingOtp {
+
+    @Id
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @Column(nullable = false, length = 64)
+    private String codeHash;
+
+    @Column(nullable = false, length = 32)
+    private String salt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false)
+    private int failedAttempts;
+}
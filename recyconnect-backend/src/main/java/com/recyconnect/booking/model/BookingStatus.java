@@ -4,5 +4,7 @@ public enum BookingStatus {
     PENDING,
     ACCEPTED,
     COMPLETED,
-    REJECTED, CANCELLED
+    REJECTED, CANCELLED,
+    // Nobody acted on it in time, see BookingExpiryJob
+    EXPIRED
 }
\ No newline at end of file
@@ -0,0 +1,164 @@
+package com.recyconnect.booking.otp;
+
+import com.recyconnect.booking.model.BookingOtp;
+import com.recyconnect.booking.repository.BookingOtpRepository;
+import com.recyconnect.exception.BadRequestException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Pickup OTPs: generated with a shared SecureRandom, stored as a salted HMAC with a TTL and a failed-attempt
+// counter. booking_otps is the source of truth (so every node agrees); a bounded LRU of recent entries saves
+// the read on the common path. A stale cached entry is harmless: mismatches are re-checked against the
+// table, and consuming a code is a conditional delete on the exact hash that was checked.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookingOtpService {
+
+    static final int MAX_FAILED_ATTEMPTS = 5;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final BookingOtpRepository bookingOtpRepository;
+
+    @Value("${app.otp.secret:${app.jwt-secret}}")
+    private String secret;
+
+    @Value("${app.otp.ttl-minutes:1440}")
+    private long ttlMinutes = 1440;
+
+    @Value("${app.otp.cache-size:10000}")
+    private int cacheSize = 10000;
+
+    @Value("${app.otp.sweep-batch-size:500}")
+    private int sweepBatchSize = 500;
+
+    private Map<Long, BookingOtp> cache;
+    private SecretKeySpec key;
+
+    @PostConstruct
+    void init() {
+        int maxEntries = cacheSize;
+        cache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, BookingOtp> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+    }
+
+    // Issues a fresh code for the booking (replacing any earlier one) and returns it for the email
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String issue(Long bookingId) {
+        String code = String.format("%06d", RANDOM.nextInt(1_000_000));
+        byte[] saltBytes = new byte[16];
+        RANDOM.nextBytes(saltBytes);
+        String salt = HexFormat.of().formatHex(saltBytes);
+
+        BookingOtp otp = bookingOtpRepository.save(BookingOtp.builder()
+                .bookingId(bookingId)
+                .salt(salt)
+                .codeHash(hash(bookingId, salt, code))
+                .expiresAt(LocalDateTime.now().plus(Duration.ofMinutes(ttlMinutes)))
+                .failedAttempts(0)
+                .build());
+        cache.put(bookingId, otp);
+        return code;
+    }
+
+    // Throws IllegalArgumentException for a wrong, expired or locked-out code; on success the code is used up
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void verify(Long bookingId, String code) {
+        LocalDateTime now = LocalDateTime.now();
+        BookingOtp otp = cache.get(bookingId);
+        if (otp == null || !matches(otp, code)) {
+            otp = load(bookingId);
+        }
+        if (otp == null) {
+            throw new BadRequestException("No active OTP for this booking. Please resend the OTP.");
+        }
+        if (!otp.getExpiresAt().isAfter(now)) {
+            throw new BadRequestException("OTP has expired. Please ask the user for a new one.");
+        }
+        if (otp.getFailedAttempts() >= MAX_FAILED_ATTEMPTS) {
+            throw new BadRequestException("Too many wrong attempts. Please resend the OTP.");
+        }
+        if (!matches(otp, code)) {
+            cache.remove(bookingId);
+            if (bookingOtpRepository.recordFailedAttempt(bookingId, MAX_FAILED_ATTEMPTS) == 0) {
+                throw new BadRequestException("Too many wrong attempts. Please resend the OTP.");
+            }
+            throw new BadRequestException("Invalid OTP.");
+        }
+        if (bookingOtpRepository.consume(bookingId, otp.getCodeHash(), MAX_FAILED_ATTEMPTS, now) == 0) {
+            // Replaced or locked out on another node since we read it
+            cache.remove(bookingId);
+            throw new BadRequestException("Invalid OTP.");
+        }
+        cache.remove(bookingId);
+    }
+
+    // Expires stale codes in small batches so the sweep never holds many row locks at once
+    @Scheduled(fixedDelayString = "${app.otp.sweep-ms:60000}", initialDelayString = "${app.otp.sweep-ms:60000}")
+    public void sweepExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = bookingOtpRepository.deleteExpiredBatch(now, sweepBatchSize);
+            total += deleted;
+        } while (deleted == sweepBatchSize);
+        synchronized (cache) {
+            cache.values().removeIf(otp -> !otp.getExpiresAt().isAfter(now));
+        }
+        if (total > 0) {
+            log.info("Expired {} booking OTPs", total);
+        }
+    }
+
+    private BookingOtp load(Long bookingId) {
+        BookingOtp otp = bookingOtpRepository.findById(bookingId).orElse(null);
+        if (otp != null) {
+            cache.put(bookingId, otp);
+        }
+        return otp;
+    }
+
+    private boolean matches(BookingOtp otp, String code) {
+        if (code == null || code.isBlank()) {
+            return false;
+        }
+        byte[] expected = otp.getCodeHash().getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = hash(otp.getBookingId(), otp.getSalt(), code.trim()).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    private String hash(Long bookingId, String salt, String code) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return HexFormat.of().formatHex(mac.doFinal((salt + ":" + bookingId + ":" + code).getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+}
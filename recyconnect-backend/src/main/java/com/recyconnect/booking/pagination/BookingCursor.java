@@ -0,0 +1,39 @@
+package com.recyconnect.booking.pagination;
+
+import com.recyconnect.booking.model.Booking;
+import com.recyconnect.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Keyset position in a booking list ordered by (booking_date, id): the last row of the previous page.
+// Sent to clients as an opaque URL-safe token so the format can change without breaking them.
+public record BookingCursor(LocalDateTime bookingDate, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static BookingCursor after(Booking booking) {
+        return new BookingCursor(booking.getBookingDate(), booking.getId());
+    }
+
+    public String encode() {
+        String raw = bookingDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Returns null for a missing cursor (first page)
+    public static BookingCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            return new BookingCursor(LocalDateTime.parse(raw.substring(0, split)), Long.parseLong(raw.substring(split + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
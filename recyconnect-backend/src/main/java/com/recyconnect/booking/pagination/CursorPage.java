@@ -0,0 +1,29 @@
+package com.recyconnect.booking.pagination;
+
+import com.recyconnect.exception.BadRequestException;
+import java.util.List;
+import java.util.function.Function;
+
+// One page of a keyset-paginated list; nextCursor is null on the last page
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 200;
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public static int validateSize(Integer size) {
+        int value = size != null ? size : DEFAULT_SIZE;
+        if (value <= 0 || value > MAX_SIZE) {
+            throw new BadRequestException("size must be between 1 and " + MAX_SIZE);
+        }
+        return value;
+    }
+
+    // rows was fetched with size + 1 as the limit; the extra row only signals that another page exists
+    public static <E, T> CursorPage<T> of(List<E> rows, int size, Function<E, String> cursorOf,
+                                          Function<List<E>, List<T>> mapper) {
+        boolean hasMore = rows.size() > size;
+        List<E> page = hasMore ? rows.subList(0, size) : rows;
+        return new CursorPage<>(mapper.apply(page), hasMore ? cursorOf.apply(page.get(page.size() - 1)) : null);
+    }
+}
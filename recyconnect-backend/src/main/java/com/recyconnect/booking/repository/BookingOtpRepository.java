@@ -0,0 +1,35 @@
+package com.recyconnect.booking.repository;
+
+import com.recyconnect.booking.model.BookingOtp;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface BookingOtpRepository extends JpaRepository<BookingOtp, Long> {
+
+    // Counts a wrong guess in its own transaction, so it sticks even though the completion that made it fails.
+    // Returns 0 once the limit is reached.
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("UPDATE BookingOtp o SET o.failedAttempts = o.failedAttempts + 1 " +
+            "WHERE o.bookingId = :bookingId AND o.failedAttempts < :maxAttempts")
+    int recordFailedAttempt(@Param("bookingId") Long bookingId, @Param("maxAttempts") int maxAttempts);
+
+    // Consumes the OTP only if it is still the one that was checked (not replaced by a resend, not locked out)
+    @Modifying
+    @Query("DELETE FROM BookingOtp o WHERE o.bookingId = :bookingId AND o.codeHash = :codeHash " +
+            "AND o.failedAttempts < :maxAttempts AND o.expiresAt > :now")
+    int consume(@Param("bookingId") Long bookingId, @Param("codeHash") String codeHash,
+                @Param("maxAttempts") int maxAttempts, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM booking_otps WHERE booking_id IN (SELECT booking_id FROM booking_otps " +
+            "WHERE expires_at <= :now LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+}
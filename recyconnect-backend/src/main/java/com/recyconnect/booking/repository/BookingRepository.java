@@ -2,20 +2,89 @@ package com.recyconnect.booking.repository;
 
 import com.recyconnect.booking.model.Booking;
 import com.recyconnect.booking.model.BookingStatus;
+import com.recyconnect.booking.index.OpenBooking;
+import com.recyconnect.booking.matching.OpenAssignment;
+import com.recyconnect.ngo.model.Ngo;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Collection;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    // Find all bookings for a specific user ID
-    List<Booking> findByUserIdOrderByBookingDateDesc(Integer userId);
+    // Keyset pages of a user's bookings, newest first. List queries fetch user and ngo in the same
+    // select (the DTOs need both names); the (booking_date, id) tie-break keeps pages stable.
+    @EntityGraph(attributePaths = {"user", "ngo"})
+    List<Booking> findByUserIdOrderByBookingDateDescIdDesc(Integer userId, Limit limit);
 
-    // Finds all bookings for a specific NGO and status.
-    List<Booking> findByNgoIdAndStatusInOrderByBookingDateAsc(Long ngoId, Collection<BookingStatus> statuses);
+    @EntityGraph(attributePaths = {"user", "ngo"})
+    @Query("SELECT b FROM Booking b WHERE b.user.id = :userId " +
+            "AND (b.bookingDate < :bookingDate OR (b.bookingDate = :bookingDate AND b.id < :id)) " +
+            "ORDER BY b.bookingDate DESC, b.id DESC")
+    List<Booking> findUserPageBefore(@Param("userId") Integer userId, @Param("bookingDate") LocalDateTime bookingDate,
+                                     @Param("id") Long id, Limit limit);
+
+    // Keyset pages of an NGO's queue for the given statuses, oldest first
+    @EntityGraph(attributePaths = {"user", "ngo"})
+    List<Booking> findByNgoIdAndStatusInOrderByBookingDateAscIdAsc(Long ngoId, Collection<BookingStatus> statuses, Limit limit);
+
+    @EntityGraph(attributePaths = {"user", "ngo"})
+    @Query("SELECT b FROM Booking b WHERE b.ngo.id = :ngoId AND b.status IN :statuses " +
+            "AND (b.bookingDate > :bookingDate OR (b.bookingDate = :bookingDate AND b.id > :id)) " +
+            "ORDER BY b.bookingDate ASC, b.id ASC")
+    List<Booking> findNgoPageAfter(@Param("ngoId") Long ngoId, @Param("statuses") Collection<BookingStatus> statuses,
+                                   @Param("bookingDate") LocalDateTime bookingDate, @Param("id") Long id, Limit limit);
+
+    @EntityGraph(attributePaths = {"user", "ngo"})
+    List<Booking> findByIdIn(Collection<Long> ids);
 
     long countByStatus(BookingStatus status);
 
-    // NEW: Count completed pickups
-    int countByNgoIdAndStatus(Long ngoId, BookingStatus status);
-}
\ No newline at end of file
+    // Served from idx_bookings_user_date; the history endpoint is paged, so totals can't be counted client-side
+    long countByUserIdAndStatus(Integer userId, BookingStatus status);
+
+    // Lightweight rows for OpenBookingIndex; broadcast bookings have no NGO, hence the LEFT JOIN
+    @Query("SELECT new com.recyconnect.booking.index.OpenBooking(b.id, b.pickupLatitude, b.pickupLongitude, " +
+            "b.wasteType, n.id, b.broadcastRadiusKm) FROM Booking b LEFT JOIN b.ngo n " +
+            "WHERE b.status = :status AND b.pickupLatitude IS NOT NULL AND b.pickupLongitude IS NOT NULL")
+    List<OpenBooking> findOpenBookingsWithLocation(@Param("status") BookingStatus status);
+
+    // Open booking -> NGO pairs for NgoLoadTracker
+    @Query("SELECT new com.recyconnect.booking.matching.OpenAssignment(b.id, n.id) FROM Booking b JOIN b.ngo n " +
+            "WHERE b.status IN :statuses")
+    List<OpenAssignment> findOpenAssignments(@Param("statuses") Collection<BookingStatus> statuses);
+
+    // First NGO to claim a broadcast booking wins; returns 0 if another NGO got there first
+    @Modifying
+    @Query("UPDATE Booking b SET b.ngo = :ngo WHERE b.id = :bookingId AND b.ngo IS NULL AND b.status = :status")
+    int claimBroadcast(@Param("bookingId") Long bookingId, @Param("ngo") Ngo ngo, @Param("status") BookingStatus status);
+
+    // Compare-and-set for BookingStateMachine; returns 0 if the booking is no longer in status "from".
+    // Leaves the persistence context alone so the caller's loaded entities stay managed.
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :to WHERE b.id = :bookingId AND b.status = :from")
+    int transitionStatus(@Param("bookingId") Long bookingId, @Param("from") BookingStatus from, @Param("to") BookingStatus to);
+
+    // Next chunk of stale bookings for BookingExpiryJob. SKIP LOCKED steps over rows an NGO or user is
+    // changing right now (and lets two nodes run the job at once); the ACCEPTED variant also skips
+    // bookings whose OTP is still live, e.g. because it was just resent.
+    @Query(value = "SELECT b.id FROM bookings b WHERE b.status = :status AND b.booking_date < :cutoff " +
+            "AND NOT EXISTS (SELECT 1 FROM booking_otps o WHERE o.booking_id = b.id AND o.expires_at > :now) " +
+            "ORDER BY b.booking_date, b.id LIMIT :limit FOR UPDATE OF b SKIP LOCKED", nativeQuery = true)
+    List<Long> lockStaleBookingIds(@Param("status") String status, @Param("cutoff") LocalDateTime cutoff,
+                                   @Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Set-based status change for a chunk; the status condition keeps it a compare-and-set like BookingStateMachine
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :to WHERE b.id IN :ids AND b.status = :from")
+    int transitionStatusIn(@Param("ids") Collection<Long> ids, @Param("from") BookingStatus from, @Param("to") BookingStatus to);
+
+    // Expired chunk reloaded with both parties' accounts, which the notifications go to
+    @EntityGraph(attributePaths = {"user", "ngo", "ngo.user"})
+    List<Booking> findWithPartiesByIdIn(Collection<Long> ids);
+}
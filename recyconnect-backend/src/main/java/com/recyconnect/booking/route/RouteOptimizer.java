@@ -0,0 +1,141 @@
+package com.recyconnect.booking.route;
+
+import com.recyconnect.map.index.GeoUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Orders pickup stops into a short open route starting at the NGO (no return leg).
+// Nearest neighbour gives a first route in O(n^2); 2-opt then reverses segments while that
+// shortens the route, stopping early once the time budget is spent. The result is never longer
+// than the nearest-neighbour route.
+public final class RouteOptimizer {
+
+    public record Stop(Long id, double latitude, double longitude) {}
+
+    public record Route(List<Stop> stops, double distanceKm, double nearestNeighbourKm, boolean converged) {}
+
+    private static final double EPSILON = 1e-9;
+
+    private RouteOptimizer() {
+    }
+
+    public static Route optimize(double startLat, double startLng, List<Stop> stops, long budgetNanos) {
+        long deadline = System.nanoTime() + budgetNanos;
+        int n = stops.size();
+        if (n == 0) {
+            return new Route(List.of(), 0, 0, true);
+        }
+
+        // Node 0 is the start, node i + 1 is stops.get(i)
+        double[][] dist = distanceMatrix(startLat, startLng, stops);
+        int[] path = nearestNeighbour(dist);
+        double nearestNeighbourKm = length(path, dist);
+        boolean converged = twoOpt(path, dist, deadline);
+
+        List<Stop> ordered = new ArrayList<>(n);
+        for (int i = 1; i < path.length; i++) {
+            ordered.add(stops.get(path[i] - 1));
+        }
+        return new Route(ordered, length(path, dist), nearestNeighbourKm, converged);
+    }
+
+    // Length of visiting the stops in the given order from the start point
+    public static double lengthKm(double startLat, double startLng, List<Stop> stops) {
+        double total = 0;
+        double lat = startLat;
+        double lng = startLng;
+        for (Stop stop : stops) {
+            total += GeoUtils.haversineKm(lat, lng, stop.latitude(), stop.longitude());
+            lat = stop.latitude();
+            lng = stop.longitude();
+        }
+        return total;
+    }
+
+    private static double[][] distanceMatrix(double startLat, double startLng, List<Stop> stops) {
+        int size = stops.size() + 1;
+        double[] lats = new double[size];
+        double[] lngs = new double[size];
+        lats[0] = startLat;
+        lngs[0] = startLng;
+        for (int i = 1; i < size; i++) {
+            lats[i] = stops.get(i - 1).latitude();
+            lngs[i] = stops.get(i - 1).longitude();
+        }
+        double[][] dist = new double[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = i + 1; j < size; j++) {
+                dist[i][j] = dist[j][i] = GeoUtils.haversineKm(lats[i], lngs[i], lats[j], lngs[j]);
+            }
+        }
+        return dist;
+    }
+
+    private static int[] nearestNeighbour(double[][] dist) {
+        int size = dist.length;
+        int[] path = new int[size];
+        boolean[] visited = new boolean[size];
+        visited[0] = true;
+        for (int step = 1; step < size; step++) {
+            int from = path[step - 1];
+            int next = -1;
+            for (int candidate = 1; candidate < size; candidate++) {
+                if (!visited[candidate] && (next < 0 || dist[from][candidate] < dist[from][next])) {
+                    next = candidate;
+                }
+            }
+            path[step] = next;
+            visited[next] = true;
+        }
+        return path;
+    }
+
+    // First-improvement 2-opt on an open path with a fixed first node.
+    // Reversing path[i..j] swaps edges (a,b),(c,d) for (a,c),(b,d); at the tail there is no d.
+    // Returns false if the deadline cut it short.
+    private static boolean twoOpt(int[] path, double[][] dist, long deadline) {
+        int last = path.length - 1;
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int i = 1; i < last; i++) {
+                if (System.nanoTime() > deadline) {
+                    return false;
+                }
+                int a = path[i - 1];
+                int b = path[i];
+                for (int j = i + 1; j <= last; j++) {
+                    int c = path[j];
+                    double delta = dist[a][c] - dist[a][b];
+                    if (j < last) {
+                        int d = path[j + 1];
+                        delta += dist[b][d] - dist[c][d];
+                    }
+                    if (delta < -EPSILON) {
+                        reverse(path, i, j);
+                        b = path[i];
+                        improved = true;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private static void reverse(int[] path, int from, int to) {
+        while (from < to) {
+            int tmp = path[from];
+            path[from++] = path[to];
+            path[to--] = tmp;
+        }
+    }
+
+    private static double length(int[] path, double[][] dist) {
+        double total = 0;
+        for (int i = 1; i < path.length; i++) {
+            total += dist[path[i - 1]][path[i]];
+        }
+        return total;
+    }
+}
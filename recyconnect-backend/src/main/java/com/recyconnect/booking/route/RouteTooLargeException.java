@@ -0,0 +1,10 @@
+package com.recyconnect.booking.route;
+
+// More accepted bookings than one route can be planned for. Mapped to 422: the request is fine, the
+// NGO's current workload just can't be served by it.
+public class RouteTooLargeException extends IllegalStateException {
+
+    public RouteTooLargeException(String message) {
+        super(message);
+    }
+}
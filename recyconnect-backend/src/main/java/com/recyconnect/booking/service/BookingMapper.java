@@ -0,0 +1,54 @@
+package com.recyconnect.booking.service;
+
+import com.recyconnect.booking.dto.BookingResponseDto;
+import com.recyconnect.booking.model.Booking;
+import com.recyconnect.review.repository.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Shared Booking -> BookingResponseDto mapping for the user and NGO booking services.
+// List endpoints go through toDtos, which resolves the "reviewed" flag for the whole list in one query;
+// the bookings themselves should come from a repository method that fetches user and ngo with them.
+@Component
+@RequiredArgsConstructor
+public class BookingMapper {
+
+    private final ReviewRepository reviewRepository;
+
+    public BookingResponseDto toDto(Booking booking) {
+        return toDto(booking, reviewRepository.existsByBookingId(booking.getId()));
+    }
+
+    public List<BookingResponseDto> toDtos(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> reviewed = reviewRepository.findReviewedBookingIds(bookings.stream().map(Booking::getId).toList());
+        return bookings.stream()
+                .map(booking -> toDto(booking, reviewed.contains(booking.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private BookingResponseDto toDto(Booking booking, boolean hasReview) {
+        return BookingResponseDto.builder()
+                .id(booking.getId())
+                .userId(Long.valueOf(booking.getUser().getId()))
+                .wasteType(booking.getWasteType())
+                .status(booking.getStatus().name())
+                .notes(booking.getNotes())
+                .quantityKg(booking.getQuantityKg())
+                .pickupLatitude(booking.getPickupLatitude())
+                .pickupLongitude(booking.getPickupLongitude())
+                .bookingDate(booking.getBookingDate())
+                .userName(booking.getUser().getName())
+                .ngoName(booking.getNgo() == null ? null : booking.getNgo().getName())
+                .ngoId(booking.getNgo() == null ? null : booking.getNgo().getId())
+                .pointsAwarded(booking.getPointsAwarded())
+                .reviewed(hasReview)
+                .build();
+    }
+}
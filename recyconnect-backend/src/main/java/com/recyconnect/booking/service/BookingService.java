@@ -5,22 +5,38 @@ import com.recyconnect.auth.model.User;
 import com.recyconnect.auth.repository.UserRepository;
 import com.recyconnect.booking.dto.BookingRequestDto;
 import com.recyconnect.booking.dto.BookingResponseDto;
+import com.recyconnect.booking.event.BookingChangedEvent;
+import com.recyconnect.booking.matching.BookingMatcher;
 import com.recyconnect.booking.model.Booking;
 import com.recyconnect.booking.model.BookingStatus;
+import com.recyconnect.booking.pagination.BookingCursor;
+import com.recyconnect.booking.pagination.CursorPage;
 import com.recyconnect.booking.repository.BookingRepository;
+import com.recyconnect.booking.state.BookingStateMachine;
+import com.recyconnect.booking.throttle.BookingIntakeLimiter;
+import com.recyconnect.booking.state.BookingTransition;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import com.recyconnect.exception.BadRequestException;
+import com.recyconnect.map.index.GeoUtils;
+import com.recyconnect.map.index.RecyclerSpatialIndex;
 import com.recyconnect.ngo.model.Ngo;
 import com.recyconnect.ngo.repository.NgoRepository;
 import jakarta.persistence.EntityNotFoundException;
-import com.recyconnect.review.repository.ReviewRepository;
 import com.recyconnect.notification.service.NotificationService;
+import com.recyconnect.waste.model.WasteType;
+import com.recyconnect.waste.service.WasteTypeCatalog;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,38 +46,39 @@ public class BookingService {
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final NgoRepository ngoRepository;
-    private final ReviewRepository reviewRepository;
+    private final BookingMapper bookingMapper;
     private final NotificationService notificationService;
+    private final WasteTypeCatalog wasteTypeCatalog;
+    private final RecyclerSpatialIndex spatialIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingMatcher bookingMatcher;
+    private final BookingStateMachine stateMachine;
+    private final BookingIntakeLimiter intakeLimiter;
+
+    // Broadcast requests reach at most this many of the nearest eligible NGOs
+    static final double DEFAULT_BROADCAST_RADIUS_KM = 10;
+    static final double MAX_BROADCAST_RADIUS_KM = 50;
+    static final int MAX_BROADCAST_NGOS = 50;
+    static final double MAX_QUANTITY_KG = 10_000;
 
     @Transactional(readOnly = true)
-    public List<BookingResponseDto> getBookingsForCurrentUser() {
+    public CursorPage<BookingResponseDto> getBookingsForCurrentUser(String cursor, Integer size) {
+        int pageSize = CursorPage.validateSize(size);
+        BookingCursor after = BookingCursor.decode(cursor);
         // 1. Get current User by ID
         String currentUserId = SecurityContextHolder.getContext().getAuthentication().getName();
         // The repository might need an Integer, so we parse it
         User currentUser = userRepository.findById(Integer.parseInt(currentUserId))
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        List<Booking> bookings = bookingRepository.findByUserIdOrderByBookingDateDesc(currentUser.getId());
-        return bookings.stream().map(this::mapToBookingResponseDto).collect(Collectors.toList());
+        // Fetch one extra row to learn whether another page exists
+        Limit limit = Limit.of(pageSize + 1);
+        List<Booking> bookings = after == null
+                ? bookingRepository.findByUserIdOrderByBookingDateDescIdDesc(currentUser.getId(), limit)
+                : bookingRepository.findUserPageBefore(currentUser.getId(), after.bookingDate(), after.id(), limit);
+        return CursorPage.of(bookings, pageSize, booking -> BookingCursor.after(booking).encode(), bookingMapper::toDtos);
     }
 
-    // Helper method to convert a Booking entity to a DTO
-    private BookingResponseDto mapToBookingResponseDto(Booking booking) {
-        boolean hasReview = reviewRepository.existsByBookingId(booking.getId());
-        return BookingResponseDto.builder()
-                .id(booking.getId())
-                .userId(Long.valueOf(booking.getUser().getId()))
-                .wasteType(booking.getWasteType())
-                .status(booking.getStatus().name())
-                .notes(booking.getNotes())
-                .bookingDate(booking.getBookingDate())
-                .userName(booking.getUser().getName())
-                .ngoName(booking.getNgo().getName())
-                .ngoId(booking.getNgo().getId())
-                .pointsAwarded(booking.getPointsAwarded())
-                .reviewed(hasReview)
-                .build();
-    }
 
     @Transactional
     public BookingResponseDto createBooking(BookingRequestDto bookingRequest) {
@@ -75,28 +92,108 @@ public class BookingService {
             throw new AccessDeniedException("Service Providers (NGOs) are not authorized to book pickups. Please log in as a standard User.");
         }
 
-        Ngo targetNgo = ngoRepository.findById(bookingRequest.getNgoId())
-                .orElseThrow(() -> new EntityNotFoundException("NGO not found with ID: " + bookingRequest.getNgoId()));
+        if ((bookingRequest.getPickupLatitude() == null) != (bookingRequest.getPickupLongitude() == null)) {
+            throw new BadRequestException("pickupLatitude and pickupLongitude must be given together");
+        }
+        if (bookingRequest.getPickupLatitude() != null) {
+            GeoUtils.validateCoordinates(bookingRequest.getPickupLatitude(), bookingRequest.getPickupLongitude());
+        }
+        if (bookingRequest.getQuantityKg() != null
+                && (!(bookingRequest.getQuantityKg() > 0) || bookingRequest.getQuantityKg() > MAX_QUANTITY_KG)) {
+            throw new BadRequestException("quantityKg must be between 0 and " + MAX_QUANTITY_KG);
+        }
+        WasteType wasteType = wasteTypeCatalog.require(bookingRequest.getWasteType());
 
         Booking newBooking = Booking.builder()
                 .user(currentUser)
-                .ngo(targetNgo)
-                .wasteType(bookingRequest.getWasteType())
+                .wasteType(wasteType.getDisplayName())
                 .notes(bookingRequest.getNotes())
+                .quantityKg(bookingRequest.getQuantityKg())
+                .pickupLatitude(bookingRequest.getPickupLatitude())
+                .pickupLongitude(bookingRequest.getPickupLongitude())
                 .status(BookingStatus.PENDING)
                 .bookingDate(LocalDateTime.now())
                 .pointsAwarded(0) // Default points
                 .build();
 
+        Ngo targetNgo;
+        if (bookingRequest.isAutoAssign()) {
+            targetNgo = autoAssignNgo(bookingRequest, wasteType, currentUser);
+        } else if (bookingRequest.getNgoId() == null) {
+            return broadcastBooking(newBooking, wasteType, bookingRequest.getBroadcastRadiusKm(), currentUser);
+        } else {
+            targetNgo = ngoRepository.findById(bookingRequest.getNgoId())
+                    .orElseThrow(() -> new EntityNotFoundException("NGO not found with ID: " + bookingRequest.getNgoId()));
+            // Per-user rate and per-NGO daily capacity, checked before anything is written
+            intakeLimiter.acquire(currentUser.getId(), targetNgo);
+        }
+        newBooking.setNgo(targetNgo);
+
         Booking savedBooking = bookingRepository.save(newBooking);
+        eventPublisher.publishEvent(new BookingChangedEvent(savedBooking));
 
         // 👇 NEW: Notify the NGO (via their linked User account)
         notificationService.sendNotification(
                 targetNgo.getUser(),
-                "New Booking Request: " + bookingRequest.getWasteType() + " from " + currentUser.getName()
+                "New Booking Request: " + savedBooking.getWasteType() + " from " + currentUser.getName()
         );
 
-        return mapToBookingResponseDto(savedBooking);
+        return bookingMapper.toDto(savedBooking);
+    }
+
+    private Ngo autoAssignNgo(BookingRequestDto bookingRequest, WasteType wasteType, User currentUser) {
+        if (bookingRequest.getNgoId() != null) {
+            throw new BadRequestException("Choose an NGO or auto-assign, not both");
+        }
+        if (bookingRequest.getPickupLatitude() == null) {
+            throw new BadRequestException("A pickup location is required for auto-assign");
+        }
+        List<Long> rankedIds = bookingMatcher.rank(bookingRequest.getPickupLatitude(),
+                        bookingRequest.getPickupLongitude(), wasteType.mask()).stream()
+                .map(match -> match.ngo().id())
+                .toList();
+        if (rankedIds.isEmpty()) {
+            throw new BadRequestException("No NGO nearby accepts " + wasteType.getDisplayName());
+        }
+        // The index only holds ACTIVE NGOs, so this is one primary-key batch of rows we know exist
+        Map<Long, Ngo> byId = ngoRepository.findAllById(rankedIds).stream()
+                .collect(Collectors.toMap(Ngo::getId, Function.identity()));
+        List<Ngo> ranked = rankedIds.stream().map(byId::get).filter(Objects::nonNull).toList();
+        // Best-ranked NGO that still has daily capacity; a full one is skipped, not a reason to refuse
+        return intakeLimiter.acquireFirstAvailable(currentUser.getId(), ranked);
+    }
+
+    // No NGO chosen: offer the request to the nearest NGOs that accept this waste type.
+    // The booking stays unassigned until one of them claims it via accept.
+    private BookingResponseDto broadcastBooking(Booking booking, WasteType wasteType, Double radiusKm, User currentUser) {
+        if (booking.getPickupLatitude() == null) {
+            throw new BadRequestException("A pickup location is required when no NGO is selected");
+        }
+        double radius = radiusKm != null ? radiusKm : DEFAULT_BROADCAST_RADIUS_KM;
+        if (radius <= 0 || radius > MAX_BROADCAST_RADIUS_KM) {
+            throw new BadRequestException("broadcastRadiusKm must be between 0 and " + MAX_BROADCAST_RADIUS_KM);
+        }
+
+        List<Long> eligibleIds = spatialIndex.nearest(booking.getPickupLatitude(), booking.getPickupLongitude(),
+                        MAX_BROADCAST_NGOS, radius, location -> location.acceptsAll(wasteType.mask())).stream()
+                .map(hit -> hit.item().id())
+                .toList();
+        if (eligibleIds.isEmpty()) {
+            throw new BadRequestException("No NGO within " + radius + " km accepts " + wasteType.getDisplayName());
+        }
+
+        intakeLimiter.acquire(currentUser.getId(), null);
+        booking.setBroadcastRadiusKm(radius);
+        Booking savedBooking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(new BookingChangedEvent(savedBooking));
+
+        for (Ngo ngo : ngoRepository.findAllById(eligibleIds)) {
+            notificationService.sendNotification(
+                    ngo.getUser(),
+                    "New nearby pickup request: " + savedBooking.getWasteType() + " from " + currentUser.getName()
+            );
+        }
+        return bookingMapper.toDto(savedBooking);
     }
 
     @Transactional
@@ -110,20 +207,19 @@ public class BookingService {
             throw new AccessDeniedException("You are not authorized to cancel this booking.");
         }
 
-        // Logic Check
-        if (booking.getStatus() != BookingStatus.PENDING) {
-            throw new IllegalStateException("Only pending bookings can be cancelled.");
-        }
-
-        booking.setStatus(BookingStatus.CANCELLED);
+        // Atomic PENDING -> CANCELLED; loses cleanly to an NGO that accepted first
+        stateMachine.apply(booking, BookingTransition.CANCEL);
 
-        // Notify the NGO
-        notificationService.sendNotification(
-                booking.getNgo().getUser(),
-                "Booking #" + bookingId + " was cancelled by the user."
-        );
+        // Notify the NGO (an unclaimed broadcast has none yet)
+        if (booking.getNgo() != null) {
+            notificationService.sendNotification(
+                    booking.getNgo().getUser(),
+                    "Booking #" + bookingId + " was cancelled by the user."
+            );
+        }
 
         Booking savedBooking = bookingRepository.save(booking);
-        return mapToBookingResponseDto(savedBooking);
+        eventPublisher.publishEvent(new BookingChangedEvent(savedBooking));
+        return bookingMapper.toDto(savedBooking);
     }
 }
\ No newline at end of file
@@ -1,27 +1,54 @@
 package com.recyconnect.booking.service;
 
 import com.recyconnect.auth.model.User;
-import com.recyconnect.auth.repository.UserRepository;
 import com.recyconnect.booking.dto.BookingResponseDto;
 import com.recyconnect.booking.model.Booking;
 import com.recyconnect.auth.service.EmailService;
 import com.recyconnect.booking.dto.OtpVerificationRequestDto;
+import com.recyconnect.booking.dto.PickupRouteDto;
+import com.recyconnect.booking.event.BookingChangedEvent;
+import com.recyconnect.booking.index.OpenBooking;
+import com.recyconnect.booking.index.OpenBookingIndex;
+import com.recyconnect.booking.otp.BookingOtpService;
+import com.recyconnect.booking.route.RouteOptimizer;
+import com.recyconnect.booking.route.RouteTooLargeException;
+import com.recyconnect.booking.throttle.BookingIntakeLimiter;
+import com.recyconnect.booking.state.BookingConflictException;
+import com.recyconnect.booking.state.BookingStateMachine;
+import com.recyconnect.booking.state.BookingTransition;
 import com.recyconnect.booking.model.BookingStatus;
+import com.recyconnect.booking.pagination.BookingCursor;
+import com.recyconnect.booking.pagination.CursorPage;
 import com.recyconnect.booking.repository.BookingRepository;
+import com.recyconnect.exception.BadRequestException;
+import com.recyconnect.map.index.GeoGridIndex;
+import com.recyconnect.map.index.GeoUtils;
 import com.recyconnect.ngo.model.Ngo;
 import com.recyconnect.ngo.repository.NgoRepository;
 import com.recyconnect.notification.service.NotificationService;
+import com.recyconnect.points.model.PointsReason;
+import com.recyconnect.points.rules.PointsRulesEngine;
+import com.recyconnect.points.service.PointsService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import com.recyconnect.review.repository.ReviewRepository;
+import com.recyconnect.stats.service.NgoStatsService;
+import com.recyconnect.waste.model.WasteType;
+import com.recyconnect.waste.service.WasteTypeCatalog;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,18 +57,104 @@ public class NgoBookingService {
 
     private final BookingRepository bookingRepository;
     private final NgoRepository ngoRepository;
-    private final UserRepository userRepository;
     private final EmailService emailService;
-    private final ReviewRepository reviewRepository;
+    private final BookingMapper bookingMapper;
     private final NotificationService notificationService;
+    private final NgoStatsService ngoStatsService;
+    private final WasteTypeCatalog wasteTypeCatalog;
+    private final OpenBookingIndex openBookingIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingStateMachine stateMachine;
+    private final PointsService pointsService;
+    private final PointsRulesEngine pointsRulesEngine;
+    private final BookingOtpService bookingOtpService;
+    private final BookingIntakeLimiter intakeLimiter;
+
+    // The distance matrix is n^2, so cap the stops a single route request may plan
+    static final int MAX_ROUTE_STOPS = 1000;
+
+    static final double DEFAULT_NEARBY_RADIUS_KM = 10;
+    static final double MAX_NEARBY_RADIUS_KM = 50;
+    static final int MAX_NEARBY_RESULTS = 200;
+
+    @Value("${app.route.time-budget-ms:300}")
+    private long routeBudgetMs;
 
     @Transactional(readOnly = true)
-    public List<BookingResponseDto> getActiveBookingsForCurrentNgo() { // 👈 Renamed for clarity
+    public CursorPage<BookingResponseDto> getActiveBookingsForCurrentNgo(String cursor, Integer size) { // 👈 Renamed for clarity
+        int pageSize = CursorPage.validateSize(size);
+        BookingCursor after = BookingCursor.decode(cursor);
         Ngo currentNgo = getCurrentNgo();
-        // Fetch bookings that are either PENDING or ACCEPTED
+        // Fetch bookings that are either PENDING or ACCEPTED, plus one extra row to learn whether another page exists
         List<BookingStatus> statuses = List.of(BookingStatus.PENDING, BookingStatus.ACCEPTED);
-        List<Booking> bookings = bookingRepository.findByNgoIdAndStatusInOrderByBookingDateAsc(currentNgo.getId(), statuses);
-        return bookings.stream().map(this::mapToBookingResponseDto).collect(Collectors.toList());
+        Limit limit = Limit.of(pageSize + 1);
+        List<Booking> bookings = after == null
+                ? bookingRepository.findByNgoIdAndStatusInOrderByBookingDateAscIdAsc(currentNgo.getId(), statuses, limit)
+                : bookingRepository.findNgoPageAfter(currentNgo.getId(), statuses, after.bookingDate(), after.id(), limit);
+        return CursorPage.of(bookings, pageSize, booking -> BookingCursor.after(booking).encode(), bookingMapper::toDtos);
+    }
+
+    // Open PENDING requests near the NGO that it can take: addressed to it, or broadcasts whose radius
+    // reaches it, limited to waste types it accepts. Nearest first, served from OpenBookingIndex.
+    @Transactional(readOnly = true)
+    public List<BookingResponseDto> getNearbyOpenBookings(Double radiusKm, Integer limit) {
+        double radius = radiusKm != null ? radiusKm : DEFAULT_NEARBY_RADIUS_KM;
+        if (radius <= 0 || radius > MAX_NEARBY_RADIUS_KM) {
+            throw new BadRequestException("radiusKm must be between 0 and " + MAX_NEARBY_RADIUS_KM);
+        }
+        int max = limit != null ? limit : 50;
+        if (max <= 0 || max > MAX_NEARBY_RESULTS) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_NEARBY_RESULTS);
+        }
+
+        Ngo currentNgo = getCurrentNgo();
+        List<GeoGridIndex.Neighbor<OpenBooking>> hits = openBookingIndex.nearbyFor(currentNgo.getId(),
+                currentNgo.getLatitude(), currentNgo.getLongitude(), currentNgo.getAcceptedWasteMask(), radius, max);
+
+        Map<Long, BookingResponseDto> dtos = bookingMapper.toDtos(
+                        bookingRepository.findByIdIn(hits.stream().map(hit -> hit.item().id()).toList())).stream()
+                .collect(Collectors.toMap(BookingResponseDto::getId, Function.identity()));
+        return hits.stream()
+                .filter(hit -> dtos.containsKey(hit.item().id()))
+                .map(hit -> {
+                    BookingResponseDto dto = dtos.get(hit.item().id());
+                    dto.setDistanceKm(hit.distanceKm());
+                    return dto;
+                })
+                .collect(Collectors.toList());
+    }
+
+    // Orders the NGO's ACCEPTED bookings into a short pickup route starting from the NGO's address
+    @Transactional(readOnly = true)
+    public PickupRouteDto planPickupRoute() {
+        Ngo currentNgo = getCurrentNgo();
+        List<Booking> accepted = bookingRepository.findByNgoIdAndStatusInOrderByBookingDateAscIdAsc(
+                currentNgo.getId(), List.of(BookingStatus.ACCEPTED), Limit.of(MAX_ROUTE_STOPS + 1));
+        if (accepted.size() > MAX_ROUTE_STOPS) {
+            throw new RouteTooLargeException("Too many accepted bookings to plan one route (max " + MAX_ROUTE_STOPS + ")");
+        }
+
+        Map<Long, BookingResponseDto> dtos = bookingMapper.toDtos(accepted).stream()
+                .collect(Collectors.toMap(BookingResponseDto::getId, Function.identity()));
+        List<RouteOptimizer.Stop> stops = new ArrayList<>();
+        List<BookingResponseDto> unrouted = new ArrayList<>();
+        for (Booking booking : accepted) {
+            if (booking.getPickupLatitude() == null || booking.getPickupLongitude() == null) {
+                unrouted.add(dtos.get(booking.getId()));
+                continue;
+            }
+            stops.add(new RouteOptimizer.Stop(booking.getId(), booking.getPickupLatitude(), booking.getPickupLongitude()));
+        }
+
+        RouteOptimizer.Route route = RouteOptimizer.optimize(currentNgo.getLatitude(), currentNgo.getLongitude(),
+                stops, TimeUnit.MILLISECONDS.toNanos(routeBudgetMs));
+
+        return PickupRouteDto.builder()
+                .stops(route.stops().stream().map(stop -> dtos.get(stop.id())).toList())
+                .unroutedStops(unrouted)
+                .totalDistanceKm(route.distanceKm())
+                .dateOrderDistanceKm(RouteOptimizer.lengthKm(currentNgo.getLatitude(), currentNgo.getLongitude(), stops))
+                .build();
     }
 
     @Transactional
@@ -51,16 +164,12 @@ public class NgoBookingService {
                 .orElseThrow(() -> new EntityNotFoundException("Booking not found"));
 
         // Security Check
-        if (!booking.getNgo().getId().equals(currentNgo.getId())) {
+        if (!isAssignedTo(booking, currentNgo)) {
             throw new AccessDeniedException("You are not authorized to reject this booking.");
         }
 
-        // Logic Check
-        if (booking.getStatus() != BookingStatus.PENDING) {
-            throw new IllegalStateException("Only pending bookings can be rejected.");
-        }
-
-        booking.setStatus(BookingStatus.REJECTED);
+        // Atomic PENDING -> REJECTED; fails cleanly if the user cancelled meanwhile
+        stateMachine.apply(booking, BookingTransition.REJECT);
 
         // Send Persistent Notification
         notificationService.sendNotification(
@@ -69,7 +178,8 @@ public class NgoBookingService {
         );
 
         Booking savedBooking = bookingRepository.save(booking);
-        return mapToBookingResponseDto(savedBooking);
+        eventPublisher.publishEvent(new BookingChangedEvent(savedBooking));
+        return bookingMapper.toDto(savedBooking);
     }
 
     @Transactional
@@ -78,21 +188,16 @@ public class NgoBookingService {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new EntityNotFoundException("Booking not found with ID: " + bookingId));
 
-        // Security check
-        if (!booking.getNgo().getId().equals(currentNgo.getId())) {
+        if (booking.getNgo() == null) {
+            claimBroadcast(booking, currentNgo);
+        } else if (!isAssignedTo(booking, currentNgo)) {
+            // Security check
             throw new AccessDeniedException("You are not authorized to update this booking.");
         }
 
-        // Workflow check: Can only accept PENDING bookings
-        if (booking.getStatus() != BookingStatus.PENDING) {
-            throw new IllegalStateException("This booking cannot be accepted as it is not pending.");
-        }
-
-        // Update status and generate OTP
-        booking.setStatus(BookingStatus.ACCEPTED);
-        String otp = generateOtp();
-        booking.setOtp(otp);
-        booking.setOtpExpiryDate(LocalDateTime.now().plusHours(24));
+        // Atomic PENDING -> ACCEPTED, then issue the pickup OTP
+        stateMachine.apply(booking, BookingTransition.ACCEPT);
+        String otp = bookingOtpService.issue(booking.getId());
 
         // UPDATED CALL: Passing userName and wasteType now
         emailService.sendBookingAcceptedOtpEmail(
@@ -110,7 +215,31 @@ public class NgoBookingService {
         );
 
         Booking updatedBooking = bookingRepository.save(booking);
-        return mapToBookingResponseDto(updatedBooking);
+        eventPublisher.publishEvent(new BookingChangedEvent(updatedBooking));
+        return bookingMapper.toDto(updatedBooking);
+    }
+
+    // An unassigned broadcast goes to the first eligible NGO that accepts it
+    private void claimBroadcast(Booking booking, Ngo currentNgo) {
+        long typeMask = wasteTypeCatalog.find(booking.getWasteType()).map(WasteType::mask).orElse(0L);
+        boolean acceptsType = typeMask != 0 && (currentNgo.getAcceptedWasteMask() & typeMask) == typeMask;
+        boolean inRange = booking.getBroadcastRadiusKm() == null || booking.getPickupLatitude() == null
+                || GeoUtils.haversineKm(currentNgo.getLatitude(), currentNgo.getLongitude(),
+                booking.getPickupLatitude(), booking.getPickupLongitude()) <= booking.getBroadcastRadiusKm();
+        if (!acceptsType || !inRange) {
+            throw new AccessDeniedException("This request is not open to your NGO.");
+        }
+        // Claiming takes a slot of the NGO's daily capacity, like a booking addressed to it
+        intakeLimiter.acquireForNgo(currentNgo);
+        if (bookingRepository.claimBroadcast(booking.getId(), currentNgo, BookingStatus.PENDING) == 0) {
+            intakeLimiter.releaseForNgo(currentNgo.getId());
+            throw new BookingConflictException("This request was already taken by another NGO.");
+        }
+        booking.setNgo(currentNgo);
+    }
+
+    private static boolean isAssignedTo(Booking booking, Ngo ngo) {
+        return booking.getNgo() != null && Objects.equals(booking.getNgo().getId(), ngo.getId());
     }
 
     @Transactional
@@ -120,19 +249,15 @@ public class NgoBookingService {
                 .orElseThrow(() -> new EntityNotFoundException("Booking not found with ID: " + bookingId));
 
         // Security check
-        if (!booking.getNgo().getId().equals(currentNgo.getId())) {
+        if (!isAssignedTo(booking, currentNgo)) {
             throw new AccessDeniedException("You are not authorized to access this booking.");
         }
 
-        // Logic check: Can only resend OTP for ACCEPTED bookings
-        if (booking.getStatus() != BookingStatus.ACCEPTED) {
-            throw new IllegalStateException("OTP can only be resent for accepted bookings.");
-        }
+        // Logic check: Can only resend OTP for ACCEPTED bookings (locks the row so a concurrent completion can't interleave)
+        stateMachine.requireStatus(booking, BookingStatus.ACCEPTED, "OTP can only be resent for accepted bookings.");
 
-        // Generate new OTP and extend expiry
-        String newOtp = generateOtp();
-        booking.setOtp(newOtp);
-        booking.setOtpExpiryDate(LocalDateTime.now().plusHours(24));
+        // Replace the OTP (the old code stops working) with a fresh TTL
+        String newOtp = bookingOtpService.issue(booking.getId());
 
         // Send email
         emailService.sendBookingAcceptedOtpEmail(
@@ -143,7 +268,6 @@ public class NgoBookingService {
                 booking.getWasteType()
         );
 
-        bookingRepository.save(booking);
         // Notify user that OTP was resent
         notificationService.sendNotification(booking.getUser(), "A new OTP has been sent to your email.");
     }
@@ -155,41 +279,34 @@ public class NgoBookingService {
                 .orElseThrow(() -> new EntityNotFoundException("Booking not found with ID: " + bookingId));
 
         // Security check: Ensure the booking belongs to the logged-in NGO
-        if (!booking.getNgo().getId().equals(currentNgo.getId())) {
+        if (!isAssignedTo(booking, currentNgo)) {
             throw new AccessDeniedException("You are not authorized to complete this booking.");
         }
 
-        // Validation check 1: Ensure OTP is not null and matches
-        if (booking.getOtp() == null || !booking.getOtp().equals(request.getOtp())) {
-            throw new IllegalArgumentException("Invalid OTP.");
-        }
+        // Validation check: OTP matches, is unexpired and not locked out; it is used up on success
+        bookingOtpService.verify(booking.getId(), request.getOtp());
 
-        // Validation check 2: Ensure OTP has not expired
-        if (booking.getOtpExpiryDate().isBefore(LocalDateTime.now())) {
-            throw new IllegalArgumentException("OTP has expired. Please ask the user for a new one.");
-        }
+        // Atomic ACCEPTED -> COMPLETED before any points move, so a second completion can't award them twice
+        stateMachine.apply(booking, BookingTransition.COMPLETE);
 
         // 1. Calculate points for this booking
-        int points = calculatePoints(booking.getWasteType());
+        int points = pointsRulesEngine.calculate(booking.getWasteType(), currentNgo.getId(), booking.getQuantityKg(), LocalDateTime.now());
 
         // 2. Get the user who made the booking
         User user = booking.getUser();
 
-        // 3. Update the user's total points
-        user.setEcoPoints(user.getEcoPoints() + points);
-        userRepository.save(user);
+        // 3. Credit the user's points (ledger entry + atomic increment)
+        pointsService.award(user.getId(), booking.getId(), points, PointsReason.PICKUP_COMPLETED);
 
         // 4. NEW: Award 50% Points to the NGO's User Account
-        User ngoUser = currentNgo.getUser();
         int ngoPoints = points / 2; // 50% commission
-        ngoUser.setEcoPoints(ngoUser.getEcoPoints() + ngoPoints);
-        userRepository.save(ngoUser);
+        pointsService.award(currentNgo.getUser().getId(), booking.getId(), ngoPoints, PointsReason.NGO_COMMISSION);
 
-        // All checks passed, complete the booking
-        booking.setStatus(BookingStatus.COMPLETED);
+        // All checks passed, record the completion details
         booking.setPointsAwarded(points);
-        booking.setOtp(null); // Clear the OTP for security
-        booking.setOtpExpiryDate(null);
+
+        // Keep the denormalized pickup counter in step with this transaction
+        ngoStatsService.recordCompletedPickup(currentNgo.getId());
 
         // 👇 UPDATED: Send Persistent Notification
         notificationService.sendNotification(
@@ -198,7 +315,8 @@ public class NgoBookingService {
         );
 
         Booking updatedBooking = bookingRepository.save(booking);
-        return mapToBookingResponseDto(updatedBooking);
+        eventPublisher.publishEvent(new BookingChangedEvent(updatedBooking));
+        return bookingMapper.toDto(updatedBooking);
     }
 
     // Helper method to get the NGO profile of the currently logged-in user
@@ -211,38 +329,4 @@ public class NgoBookingService {
                 .orElseThrow(() -> new RuntimeException("NGO profile not found for the current user"));
     }
 
-    // Helper to map entity to DTO
-    private BookingResponseDto mapToBookingResponseDto(Booking booking) {
-        boolean hasReview = reviewRepository.existsByBookingId(booking.getId());
-        return BookingResponseDto.builder()
-                .id(booking.getId())
-                .userId(Long.valueOf(booking.getUser().getId()))
-                .wasteType(booking.getWasteType())
-                .status(booking.getStatus().name())
-                .notes(booking.getNotes())
-                .bookingDate(booking.getBookingDate())
-                .userName(booking.getUser().getName())
-                .ngoName(booking.getNgo().getName())
-                .ngoId(booking.getNgo().getId())
-                .pointsAwarded(booking.getPointsAwarded())
-                .reviewed(hasReview)
-                .build();
-    }
-
-    // Helper method to generate a simple 6-digit OTP
-    private String generateOtp() {
-        return String.format("%06d", new Random().nextInt(999999));
-    }
-
-    // Helper method here (moved from BookingService)
-    private int calculatePoints(String wasteType) {
-        if (wasteType == null) return 10;
-        return switch (wasteType.toLowerCase()) {
-            case "e-waste", "batteries" -> 100;
-            case "plastic", "plastics", "metal" -> 50;
-            case "paper", "cardboard" -> 25;
-            case "clothes", "textiles" -> 40;
-            default -> 10;
-        };
-    }
 }
\ No newline at end of file
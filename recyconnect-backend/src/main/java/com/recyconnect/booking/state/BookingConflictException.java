@@ -0,0 +1,10 @@
+package com.recyconnect.booking.state;
+
+// The booking is not (or no longer) in the status the request needs, e.g. it was cancelled while an NGO
+// was accepting it. Mapped to 409 Conflict.
+public class BookingConflictException extends IllegalStateException {
+
+    public BookingConflictException(String message) {
+        super(message);
+    }
+}
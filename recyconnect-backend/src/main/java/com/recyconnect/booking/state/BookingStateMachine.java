@@ -0,0 +1,37 @@
+package com.recyconnect.booking.state;
+
+import com.recyconnect.booking.model.Booking;
+import com.recyconnect.booking.model.BookingStatus;
+import com.recyconnect.booking.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+// Applies booking status changes as compare-and-set updates, so two requests racing on the same booking
+// (cancel vs accept, two staff completing) can't both win, even on different app nodes. The UPDATE also
+// row-locks the booking until the caller's transaction ends, so the caller's other changes to it are safe.
+// Must be called inside the caller's transaction, before any side effects.
+@Component
+@RequiredArgsConstructor
+public class BookingStateMachine {
+
+    private final BookingRepository bookingRepository;
+
+    public void apply(Booking booking, BookingTransition transition) {
+        // Fast path with a friendly message; the conditional update below is the real check
+        if (booking.getStatus() != transition.from()) {
+            throw new BookingConflictException(transition.notAllowedMessage());
+        }
+        if (bookingRepository.transitionStatus(booking.getId(), transition.from(), transition.to()) == 0) {
+            throw new BookingConflictException("Booking #" + booking.getId() + " was changed by another request. Please refresh and try again.");
+        }
+        booking.setStatus(transition.to());
+    }
+
+    // For updates that don't change status but only make sense in one (e.g. re-issuing an OTP):
+    // confirms the status and takes the row lock in one statement
+    public void requireStatus(Booking booking, BookingStatus status, String notAllowedMessage) {
+        if (booking.getStatus() != status || bookingRepository.transitionStatus(booking.getId(), status, status) == 0) {
+            throw new BookingConflictException(notAllowedMessage);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.recyconnect.booking.state;
+
+import com.recyconnect.booking.model.BookingStatus;
+
+// The only status changes a booking may go through. Each one is applied as a single
+// conditional UPDATE ... WHERE status = from, see BookingStateMachine.
+public enum BookingTransition {
+    ACCEPT(BookingStatus.PENDING, BookingStatus.ACCEPTED, "This booking cannot be accepted as it is not pending."),
+    REJECT(BookingStatus.PENDING, BookingStatus.REJECTED, "Only pending bookings can be rejected."),
+    CANCEL(BookingStatus.PENDING, BookingStatus.CANCELLED, "Only pending bookings can be cancelled."),
+    COMPLETE(BookingStatus.ACCEPTED, BookingStatus.COMPLETED, "Only accepted bookings can be completed."),
+    // Applied in bulk by BookingExpiryJob rather than through BookingStateMachine.apply
+    EXPIRE_PENDING(BookingStatus.PENDING, BookingStatus.EXPIRED, "Only pending bookings can expire."),
+    EXPIRE_ACCEPTED(BookingStatus.ACCEPTED, BookingStatus.EXPIRED, "Only accepted bookings can expire.");
+
+    private final BookingStatus from;
+    private final BookingStatus to;
+    private final String notAllowedMessage;
+
+    BookingTransition(BookingStatus from, BookingStatus to, String notAllowedMessage) {
+        this.from = from;
+        this.to = to;
+        this.notAllowedMessage = notAllowedMessage;
+    }
+
+    public BookingStatus from() {
+        return from;
+    }
+
+    public BookingStatus to() {
+        return to;
+    }
+
+    public String notAllowedMessage() {
+        return notAllowedMessage;
+    }
+}
@@ -0,0 +1,126 @@
+package com.recyconnect.booking.throttle;
+
+import com.recyconnect.ngo.model.Ngo;
+import com.recyconnect.ratelimit.RateLimitExceededException;
+import com.recyconnect.ratelimit.StripedTokenBuckets;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Caps how fast bookings come in, checked before anything is written: per user (a short burst, then a
+// steady rate) and per NGO (a daily capacity, refilled smoothly over 24 hours). Limits are per node.
+@Slf4j
+@Component
+public class BookingIntakeLimiter {
+
+    private static final int STRIPES = 64;
+    private static final double SECONDS_PER_DAY = Duration.ofDays(1).toSeconds();
+
+    private final StripedTokenBuckets<Integer> userBuckets = new StripedTokenBuckets<>(STRIPES);
+    private final StripedTokenBuckets<Long> ngoBuckets = new StripedTokenBuckets<>(STRIPES);
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder throttledByUser = new LongAdder();
+    private final LongAdder throttledByNgo = new LongAdder();
+
+    @Value("${app.booking.user-burst:5}")
+    private int userBurst = 5;
+
+    @Value("${app.booking.user-per-hour:20}")
+    private int userPerHour = 20;
+
+    @Value("${app.booking.ngo-daily-capacity:200}")
+    private int defaultNgoDailyCapacity = 200;
+
+    // ngo may be null for a broadcast booking, which only counts against the user
+    public void acquire(Integer userId, Ngo ngo) {
+        long userWait = userBuckets.tryAcquire(userId, userBurst, userPerHour / 3600.0);
+        if (userWait > 0) {
+            throttledByUser.increment();
+            throw new RateLimitExceededException("You are making bookings too quickly. Please try again later.", seconds(userWait));
+        }
+        if (ngo != null) {
+            long ngoWait = tryAcquireNgo(ngo);
+            if (ngoWait > 0) {
+                userBuckets.release(userId);
+                throttledByNgo.increment();
+                throw new RateLimitExceededException(ngo.getName() + " is not taking more bookings right now. "
+                        + "Please try again later or choose another NGO.", seconds(ngoWait));
+            }
+        }
+        accepted.increment();
+    }
+
+    // Auto-assign: charges the user, then the first NGO in the caller's ranking that still has capacity,
+    // so a full NGO is skipped rather than failing the booking
+    public Ngo acquireFirstAvailable(Integer userId, List<Ngo> ranked) {
+        long userWait = userBuckets.tryAcquire(userId, userBurst, userPerHour / 3600.0);
+        if (userWait > 0) {
+            throttledByUser.increment();
+            throw new RateLimitExceededException("You are making bookings too quickly. Please try again later.", seconds(userWait));
+        }
+        long shortestWait = Long.MAX_VALUE;
+        for (Ngo ngo : ranked) {
+            long ngoWait = tryAcquireNgo(ngo);
+            if (ngoWait == 0) {
+                accepted.increment();
+                return ngo;
+            }
+            shortestWait = Math.min(shortestWait, ngoWait);
+        }
+        userBuckets.release(userId);
+        throttledByNgo.increment();
+        throw new RateLimitExceededException("Every nearby NGO is fully booked right now. Please try again later.",
+                seconds(shortestWait));
+    }
+
+    // An NGO claiming a broadcast booking uses up its daily capacity like a booking addressed to it
+    public void acquireForNgo(Ngo ngo) {
+        long ngoWait = tryAcquireNgo(ngo);
+        if (ngoWait > 0) {
+            throttledByNgo.increment();
+            throw new RateLimitExceededException("Your NGO has reached its daily booking capacity. Please try again later.",
+                    seconds(ngoWait));
+        }
+    }
+
+    // Gives back the NGO's token when the booking it was charged for didn't go through (e.g. a lost claim)
+    public void releaseForNgo(Long ngoId) {
+        ngoBuckets.release(ngoId);
+    }
+
+    public Map<String, Long> metrics() {
+        return Map.of(
+                "accepted", accepted.sum(),
+                "throttledByUser", throttledByUser.sum(),
+                "throttledByNgo", throttledByNgo.sum(),
+                "trackedUsers", (long) userBuckets.size(),
+                "trackedNgos", (long) ngoBuckets.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.booking.limiter-evict-ms:600000}", initialDelayString = "${app.booking.limiter-evict-ms:600000}")
+    public void evictIdle() {
+        int evicted = userBuckets.evictIdle() + ngoBuckets.evictIdle();
+        log.debug("Booking limiter dropped {} idle buckets", evicted);
+    }
+
+    private long tryAcquireNgo(Ngo ngo) {
+        int capacity = dailyCapacityOf(ngo);
+        return ngoBuckets.tryAcquire(ngo.getId(), capacity, capacity / SECONDS_PER_DAY);
+    }
+
+    private int dailyCapacityOf(Ngo ngo) {
+        return ngo.getDailyBookingCapacity() != null ? ngo.getDailyBookingCapacity() : defaultNgoDailyCapacity;
+    }
+
+    private static long seconds(long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos) + 1);
+    }
+}
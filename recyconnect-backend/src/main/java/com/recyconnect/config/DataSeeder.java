@@ -8,6 +8,11 @@ import com.recyconnect.ngo.model.NgoStatus;
 import com.recyconnect.ngo.repository.NgoRepository;
 import com.recyconnect.stats.model.SystemStats;
 import com.recyconnect.stats.repository.SystemStatsRepository;
+import com.recyconnect.stats.repository.NgoStatsRepository;
+import com.recyconnect.stats.service.NgoStatsService;
+import com.recyconnect.waste.model.WasteType;
+import com.recyconnect.waste.repository.WasteTypeRepository;
+import com.recyconnect.waste.service.WasteTypeCatalog;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -23,12 +28,19 @@ public class DataSeeder implements CommandLineRunner {
     private final UserRepository userRepository;
     private final NgoRepository ngoRepository;
     private final PasswordEncoder passwordEncoder;
+    private final NgoStatsRepository ngoStatsRepository;
+    private final NgoStatsService ngoStatsService;
+    private final WasteTypeRepository wasteTypeRepository;
+    private final WasteTypeCatalog wasteTypeCatalog;
 
     @Override
     public void run(String... args) throws Exception {
         seedSystemStats();
         seedAdminUser();
+        seedWasteTypes();
         seedTestNgo();
+        backfillNgoWasteMasks();
+        seedNgoStats();
     }
 
     private void seedSystemStats() {
@@ -57,6 +69,28 @@ public class DataSeeder implements CommandLineRunner {
         }
     }
 
+    // The catalog the frontend dropdowns were built from; points match the old hard-coded table
+    private void seedWasteTypes() {
+        if (wasteTypeRepository.count() == 0) {
+            wasteTypeRepository.saveAll(List.of(
+                    wasteType("PLASTIC", "Plastic", 0, 50, "plastics"),
+                    wasteType("PAPER", "Paper", 1, 25, null),
+                    wasteType("E_WASTE", "E-Waste", 2, 100, "ewaste,electronics"),
+                    wasteType("CLOTHES", "Clothes", 3, 40, "clothing"),
+                    wasteType("CARDBOARD", "Cardboard", 4, 25, null),
+                    wasteType("BATTERIES", "Batteries", 5, 100, "battery"),
+                    wasteType("TEXTILES", "Textiles", 6, 40, "textile"),
+                    wasteType("METAL", "Metal", 7, 50, "metals")
+            ));
+            wasteTypeCatalog.reload();
+            System.out.println("♻️ Waste Types Seeded!");
+        }
+    }
+
+    private static WasteType wasteType(String code, String displayName, int bit, int points, String aliases) {
+        return WasteType.builder().code(code).displayName(displayName).bit(bit).points(points).aliases(aliases).build();
+    }
+
     // Seeds a Test NGO in Kolkata
     private void seedTestNgo() {
         String ngoEmail = "testngo@recyconnect.com";
@@ -83,11 +117,37 @@ public class DataSeeder implements CommandLineRunner {
                     .latitude(22.5726)
                     .longitude(88.3639)
                     .status(NgoStatus.ACTIVE) // Auto-approved!
-                    .acceptedWasteTypes(List.of("Plastic", "Paper", "E-Waste"))
                     .build();
+            wasteTypeCatalog.setAcceptedWasteTypes(testNgo, List.of("Plastic", "Paper", "E-Waste"));
 
             ngoRepository.save(testNgo);
             System.out.println("🏢 Test NGO (Kolkata) Seeded!");
         }
     }
+
+    // NGOs saved before the catalog existed: canonicalize their free-text types and fill in the mask.
+    // Types the catalog doesn't know are dropped rather than failing startup.
+    private void backfillNgoWasteMasks() {
+        List<Ngo> pending = ngoRepository.findByAcceptedWasteMask(0L).stream()
+                .filter(ngo -> ngo.getAcceptedWasteTypes() != null && !ngo.getAcceptedWasteTypes().isEmpty())
+                .toList();
+        for (Ngo ngo : pending) {
+            List<String> known = ngo.getAcceptedWasteTypes().stream()
+                    .filter(type -> wasteTypeCatalog.find(type).isPresent())
+                    .toList();
+            wasteTypeCatalog.setAcceptedWasteTypes(ngo, known);
+        }
+        if (!pending.isEmpty()) {
+            ngoRepository.saveAll(pending);
+            System.out.println("♻️ Waste Masks Backfilled for " + pending.size() + " NGOs!");
+        }
+    }
+
+    // First start after ngo_stats was introduced: backfill it from existing bookings and reviews
+    private void seedNgoStats() {
+        if (ngoStatsRepository.count() == 0) {
+            int rows = ngoStatsService.rebuild();
+            System.out.println("📊 NGO Stats Built for " + rows + " NGOs!");
+        }
+    }
 }
\ No newline at end of file
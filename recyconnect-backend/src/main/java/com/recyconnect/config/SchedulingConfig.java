@@ -0,0 +1,10 @@
+package com.recyconnect.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Enables @Scheduled background jobs (index refreshes, sweepers)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,11 @@
+package com.recyconnect.exception;
+
+// Invalid input the client can fix (bad parameter, unknown waste type, wrong OTP...). The only exception
+// GlobalExceptionHandler turns into a 400 with its message, so internal IllegalArgumentExceptions
+// (parsing bugs, misconfiguration) still surface as 500s without leaking their text.
+public class BadRequestException extends IllegalArgumentException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,11 @@
 package com.recyconnect.exception;
 
+import com.recyconnect.booking.route.RouteTooLargeException;
+import com.recyconnect.booking.state.BookingConflictException;
+import com.recyconnect.auth.token.InvalidRefreshTokenException;
+import com.recyconnect.idempotency.service.IdempotencyConflictException;
+import com.recyconnect.ratelimit.RateLimitExceededException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -9,6 +15,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -23,4 +30,44 @@ public class GlobalExceptionHandler {
         });
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
-}
\ No newline at end of file
+
+    // Bad query parameters and invalid input (e.g. a wrong OTP) are client errors, not 500s
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(BadRequestException ex) {
+        // Map.of rejects nulls, and a message-less exception must still be a 400
+        return new ResponseEntity<>(Map.of("message", Objects.requireNonNullElse(ex.getMessage(), "Bad request")),
+                HttpStatus.BAD_REQUEST);
+    }
+
+    // Lost a race on a booking's status (or it had already moved on)
+    @ExceptionHandler(BookingConflictException.class)
+    public ResponseEntity<Map<String, String>> handleBookingConflict(BookingConflictException ex) {
+        return new ResponseEntity<>(Map.of("message", ex.getMessage()), HttpStatus.CONFLICT);
+    }
+
+    // A retry arrived while the original request with the same Idempotency-Key is still in flight
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<Map<String, String>> handleIdempotencyConflict(IdempotencyConflictException ex) {
+        return new ResponseEntity<>(Map.of("message", ex.getMessage()), HttpStatus.CONFLICT);
+    }
+
+    // Too many accepted bookings for one pickup route
+    @ExceptionHandler(RouteTooLargeException.class)
+    public ResponseEntity<Map<String, String>> handleRouteTooLarge(RouteTooLargeException ex) {
+        return new ResponseEntity<>(Map.of("message", ex.getMessage()), HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    // Throttled before any work was done; Retry-After says when to try again
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<Map<String, String>> handleRateLimit(RateLimitExceededException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(Map.of("message", ex.getMessage()));
+    }
+
+    // The client should drop its tokens and sign in again
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidRefreshToken(InvalidRefreshTokenException ex) {
+        return new ResponseEntity<>(Map.of("message", ex.getMessage()), HttpStatus.UNAUTHORIZED);
+    }
+}
@@ -0,0 +1,37 @@
+package com.recyconnect.idempotency.repository;
+
+import com.recyconnect.idempotency.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    // Returns 0 if the key is taken. A concurrent first attempt still in flight makes this wait for it to
+    // commit (then 0) or roll back (then 1), so two retries can never both run the work.
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (user_id, idem_key, scope, request_hash, created_at, expires_at) " +
+            "VALUES (:userId, :key, :scope, :requestHash, :now, :expiresAt) ON CONFLICT (user_id, idem_key) DO NOTHING",
+            nativeQuery = true)
+    int claim(@Param("userId") String userId, @Param("key") String key, @Param("scope") String scope,
+              @Param("requestHash") String requestHash, @Param("now") LocalDateTime now,
+              @Param("expiresAt") LocalDateTime expiresAt);
+
+    Optional<IdempotencyRecord> findByUserIdAndKey(String userId, String key);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.responseBody = :responseBody WHERE r.userId = :userId AND r.key = :key")
+    int saveResponse(@Param("userId") String userId, @Param("key") String key, @Param("responseBody") String responseBody);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.userId = :userId AND r.key = :key AND r.expiresAt <= :now")
+    int deleteIfExpired(@Param("userId") String userId, @Param("key") String key, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,10 @@
+package com.recyconnect.idempotency.service;
+
+// Another request with the same Idempotency-Key is still running; the client should retry once it has
+// finished and will then get its stored response. Mapped to 409 Conflict.
+public class IdempotencyConflictException extends IllegalStateException {
+
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
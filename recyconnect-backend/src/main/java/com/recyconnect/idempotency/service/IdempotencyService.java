@@ -0,0 +1,159 @@
+package com.recyconnect.idempotency.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recyconnect.exception.BadRequestException;
+import com.recyconnect.idempotency.model.IdempotencyRecord;
+import com.recyconnect.idempotency.repository.IdempotencyRecordRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Runs a state-changing request at most once per (user, Idempotency-Key). The key is claimed, the work runs
+// and its response is stored, all in one transaction, so side effects (notifications, emails via the outbox)
+// happen exactly once and a failed attempt leaves the key free for a retry. Retries get the stored response,
+// from a small per-node cache of recent results when possible.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.idempotency.ttl-hours:24}")
+    private long ttlHours = 24;
+
+    @Value("${app.idempotency.cache-size:10000}")
+    private int cacheSize = 10000;
+
+    private record Completed(String requestHash, String responseBody, LocalDateTime expiresAt) {}
+
+    private Map<String, Completed> recent;
+
+    @PostConstruct
+    void init() {
+        int maxEntries = cacheSize;
+        recent = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Completed> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    // Without a key the action simply runs. scope names the endpoint; request is its body or path arguments.
+    @Transactional
+    public <T> IdempotentResponse<T> execute(String key, String scope, Object request, Class<T> responseType,
+                                             Supplier<T> action) {
+        if (key == null) {
+            return new IdempotentResponse<>(action.get(), false);
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String userId = SecurityContextHolder.getContext().getAuthentication().getName();
+        String cacheKey = userId + "\u0000" + key;
+        String requestHash = fingerprint(scope, request);
+        LocalDateTime now = LocalDateTime.now();
+
+        Completed cached = recent.get(cacheKey);
+        if (cached != null && cached.expiresAt().isAfter(now)) {
+            return replay(cached.requestHash(), cached.responseBody(), requestHash, responseType);
+        }
+
+        LocalDateTime expiresAt = now.plus(Duration.ofHours(ttlHours));
+        if (idempotencyRecordRepository.claim(userId, key, scope, requestHash, now, expiresAt) == 0) {
+            IdempotencyRecord existing = idempotencyRecordRepository.findByUserIdAndKey(userId, key).orElse(null);
+            if (existing != null && existing.getExpiresAt().isAfter(now)) {
+                remember(cacheKey, existing.getRequestHash(), existing.getResponseBody(), existing.getExpiresAt());
+                return replay(existing.getRequestHash(), existing.getResponseBody(), requestHash, responseType);
+            }
+            // Expired but not purged yet (or purged in between): take the key over
+            idempotencyRecordRepository.deleteIfExpired(userId, key, now);
+            if (idempotencyRecordRepository.claim(userId, key, scope, requestHash, now, expiresAt) == 0) {
+                throw new IdempotencyConflictException("Request with this " + HEADER + " is already being processed");
+            }
+        }
+
+        T response = action.get();
+        String responseBody = toJson(response);
+        idempotencyRecordRepository.saveResponse(userId, key, responseBody);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remember(cacheKey, requestHash, responseBody, expiresAt);
+            }
+        });
+        return new IdempotentResponse<>(response, false);
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-ms:3600000}", initialDelayString = "${app.idempotency.purge-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = idempotencyRecordRepository.deleteExpired(now);
+        synchronized (recent) {
+            recent.values().removeIf(completed -> !completed.expiresAt().isAfter(now));
+        }
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private <T> IdempotentResponse<T> replay(String storedHash, String responseBody, String requestHash, Class<T> responseType) {
+        if (!storedHash.equals(requestHash)) {
+            throw new BadRequestException(HEADER + " was already used for a different request");
+        }
+        try {
+            return new IdempotentResponse<>(responseBody == null ? null : objectMapper.readValue(responseBody, responseType), true);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response is unreadable", e);
+        }
+    }
+
+    private void remember(String cacheKey, String requestHash, String responseBody, LocalDateTime expiresAt) {
+        recent.put(cacheKey, new Completed(requestHash, responseBody, expiresAt));
+    }
+
+    private String fingerprint(String scope, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(scope.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(toJson(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize idempotent request/response", e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.recyconnect.idempotency.service;
+
+import org.springframework.http.ResponseEntity;
+
+// A response body plus whether it was replayed from an earlier request with the same key
+public record IdempotentResponse<T>(T body, boolean replayed) {
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    public ResponseEntity<T> toResponseEntity() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (replayed) {
+            response.header(REPLAYED_HEADER, "true");
+        }
+        return response.body(body);
+    }
+}
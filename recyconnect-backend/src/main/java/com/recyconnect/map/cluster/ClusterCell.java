@@ -0,0 +1,42 @@
+package com.recyconnect.map.cluster;
+
+import com.recyconnect.map.dto.ClusterDto;
+import com.recyconnect.map.index.NgoLocation;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Immutable aggregate for one grid cell at one zoom level; updates produce a new instance.
+// idSum lets a single-member cell report its NGO id without keeping a member list.
+record ClusterCell(int count, double latSum, double lngSum, long idSum, Map<String, Integer> wasteTypes) {
+
+    static final ClusterCell EMPTY = new ClusterCell(0, 0, 0, 0, Map.of());
+
+    ClusterCell plus(NgoLocation ngo) {
+        Map<String, Integer> types = new HashMap<>(wasteTypes);
+        ngo.wasteTypes().forEach(type -> types.merge(type, 1, Integer::sum));
+        return new ClusterCell(count + 1, latSum + ngo.latitude(), lngSum + ngo.longitude(),
+                idSum + ngo.id(), Map.copyOf(types));
+    }
+
+    // Returns null once the last member leaves, so the caller can drop the cell
+    ClusterCell minus(NgoLocation ngo) {
+        if (count <= 1) {
+            return null;
+        }
+        Map<String, Integer> types = new HashMap<>(wasteTypes);
+        ngo.wasteTypes().forEach(type -> types.computeIfPresent(type, (k, v) -> v > 1 ? v - 1 : null));
+        return new ClusterCell(count - 1, latSum - ngo.latitude(), lngSum - ngo.longitude(),
+                idSum - ngo.id(), Map.copyOf(types));
+    }
+
+    ClusterDto toDto() {
+        return ClusterDto.builder()
+                .latitude(latSum / count)
+                .longitude(lngSum / count)
+                .count(count)
+                .wasteTypes(wasteTypes)
+                .ngoId(count == 1 ? idSum : null)
+                .build();
+    }
+}
@@ -0,0 +1,159 @@
+package com.recyconnect.map.cluster;
+
+import com.recyconnect.map.dto.ClusterDto;
+import com.recyconnect.map.index.BoundingBox;
+import com.recyconnect.map.index.NgoLocation;
+import com.recyconnect.ngo.event.NgoChangedEvent;
+import com.recyconnect.ngo.model.Ngo;
+import com.recyconnect.ngo.model.NgoStatus;
+import com.recyconnect.ngo.repository.NgoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Precomputed map clusters: one grid per zoom level, each cell holding count, centroid sums and a
+// waste-type breakdown. An NGO change touches exactly one cell per level.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClusterIndex {
+
+    public static final int MAX_ZOOM = 18;
+
+    // A 256px map tile is split into 4x4 cells, i.e. clusters are roughly 64px apart on screen
+    private static final int CELLS_PER_TILE = 4;
+
+    // About twice what a 4K screen shows at 64px per cluster
+    static final int MAX_VIEWPORT_CELLS = 4096;
+
+    private final NgoRepository ngoRepository;
+
+    private final List<Map<Long, ClusterCell>> levels = createLevels();
+    private final Map<Long, NgoLocation> members = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        List<Ngo> active = ngoRepository.findByStatus(NgoStatus.ACTIVE);
+        synchronized (this) {
+            levels.forEach(Map::clear);
+            members.clear();
+            active.forEach(ngo -> add(NgoLocation.fromEntity(ngo)));
+        }
+        log.info("Map cluster index built for {} active NGOs across {} zoom levels", active.size(), MAX_ZOOM + 1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onNgoChanged(NgoChangedEvent event) {
+        Ngo ngo = event.ngo();
+        NgoLocation previous = members.remove(ngo.getId());
+        if (previous != null) {
+            subtract(previous);
+        }
+        if (ngo.getStatus() == NgoStatus.ACTIVE) {
+            add(NgoLocation.fromEntity(ngo));
+        }
+    }
+
+    // Returns one entry per occupied cell in the viewport. A zoom too fine for the box (e.g. 18 over the whole
+    // world) is coarsened until the box spans at most MAX_VIEWPORT_CELLS cells, so that is the payload bound.
+    public List<ClusterDto> clusters(int zoom, BoundingBox box) {
+        int level = levelFor(zoom, box);
+        Span span = Span.of(level, box);
+        Map<Long, ClusterCell> grid = levels.get(level);
+        long columns = columns(level);
+
+        List<ClusterDto> result = new ArrayList<>();
+        if (span.cells() > grid.size()) {
+            grid.forEach((key, value) -> {
+                if (span.contains(key / columns, key % columns)) {
+                    result.add(value.toDto());
+                }
+            });
+            return result;
+        }
+        for (long r = span.minRow(); r <= span.maxRow(); r++) {
+            for (long c = span.minCol(); c <= span.maxCol(); c++) {
+                ClusterCell value = grid.get(r * columns + c);
+                if (value != null) {
+                    result.add(value.toDto());
+                }
+            }
+        }
+        return result;
+    }
+
+    // Each level down has a quarter of the cells; at most MAX_ZOOM cheap steps
+    static int levelFor(int zoom, BoundingBox box) {
+        int level = Math.max(0, Math.min(MAX_ZOOM, zoom));
+        while (level > 0 && Span.of(level, box).cells() > MAX_VIEWPORT_CELLS) {
+            level--;
+        }
+        return level;
+    }
+
+    // The grid cells a bounding box covers at one level
+    private record Span(long minRow, long maxRow, long minCol, long maxCol) {
+
+        static Span of(int level, BoundingBox box) {
+            double cell = cellDegrees(level);
+            return new Span(index(box.minLat() + 90, cell), index(box.maxLat() + 90, cell),
+                    index(box.minLng() + 180, cell), index(box.maxLng() + 180, cell));
+        }
+
+        long cells() {
+            return (maxRow - minRow + 1) * (maxCol - minCol + 1);
+        }
+
+        boolean contains(long row, long col) {
+            return row >= minRow && row <= maxRow && col >= minCol && col <= maxCol;
+        }
+    }
+
+    private void add(NgoLocation ngo) {
+        members.put(ngo.id(), ngo);
+        for (int level = 0; level <= MAX_ZOOM; level++) {
+            levels.get(level).compute(key(level, ngo), (k, current) -> (current == null ? ClusterCell.EMPTY : current).plus(ngo));
+        }
+    }
+
+    private void subtract(NgoLocation ngo) {
+        for (int level = 0; level <= MAX_ZOOM; level++) {
+            levels.get(level).computeIfPresent(key(level, ngo), (k, current) -> current.minus(ngo));
+        }
+    }
+
+    private static long key(int level, NgoLocation ngo) {
+        double cell = cellDegrees(level);
+        return index(ngo.latitude() + 90, cell) * columns(level) + index(ngo.longitude() + 180, cell);
+    }
+
+    private static double cellDegrees(int level) {
+        return 360.0 / ((1L << level) * CELLS_PER_TILE);
+    }
+
+    private static long columns(int level) {
+        return (1L << level) * CELLS_PER_TILE + 1;
+    }
+
+    private static long index(double offsetDegrees, double cell) {
+        return (long) Math.floor(Math.max(0, offsetDegrees) / cell);
+    }
+
+    private static List<Map<Long, ClusterCell>> createLevels() {
+        List<Map<Long, ClusterCell>> levels = new ArrayList<>(MAX_ZOOM + 1);
+        for (int level = 0; level <= MAX_ZOOM; level++) {
+            levels.add(new ConcurrentHashMap<>());
+        }
+        return List.copyOf(levels);
+    }
+}
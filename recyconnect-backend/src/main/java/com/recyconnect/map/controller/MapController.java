@@ -1,8 +1,16 @@
 package com.recyconnect.map.controller;
 
+import com.recyconnect.exception.BadRequestException;
+import com.recyconnect.map.cluster.ClusterIndex;
+import com.recyconnect.map.dto.ClusterDto;
 import com.recyconnect.map.dto.RecyclerDto;
+import com.recyconnect.map.dto.SuggestionDto;
+import com.recyconnect.map.search.NgoSuggestionIndex;
+import com.recyconnect.map.index.BoundingBox;
 import org.springframework.http.ResponseEntity;
 import com.recyconnect.map.service.MapService;
+import com.recyconnect.waste.dto.WasteTypeDto;
+import com.recyconnect.waste.service.WasteTypeCatalog;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -17,13 +25,55 @@ import java.util.List;
 public class MapController {
 
     private final MapService mapService;
+    private final ClusterIndex clusterIndex;
+    private final NgoSuggestionIndex suggestionIndex;
+    private final WasteTypeCatalog wasteTypeCatalog;
 
+    // Without lat/lng or bbox this returns every matching recycler, as before.
+    // lat + lng with radiusKm and/or k returns the nearest matches; bbox is "minLng,minLat,maxLng,maxLat".
+    // wasteType may list several types ("plastic,e-waste"); NGOs must accept all of them.
     @GetMapping("/recyclers")
     public ResponseEntity<List<RecyclerDto>> getRecyclers(
             @RequestParam(required = false) String wasteType,
-            @RequestParam(required = false) String q // 'q' for query
+            @RequestParam(required = false) String q, // 'q' for query
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) Integer k,
+            @RequestParam(required = false) String bbox
     ) {
-        List<RecyclerDto> recyclers = mapService.getActiveRecyclers(wasteType, q);
+        List<RecyclerDto> recyclers;
+        if (lat != null || lng != null) {
+            if (lat == null || lng == null) {
+                throw new BadRequestException("Both lat and lng are required for a location query.");
+            }
+            recyclers = mapService.getNearbyRecyclers(wasteType, q, lat, lng, radiusKm, k);
+        } else if (bbox != null) {
+            recyclers = mapService.getRecyclersInBox(wasteType, q, BoundingBox.parse(bbox));
+        } else {
+            recyclers = mapService.getActiveRecyclers(wasteType, q);
+        }
         return ResponseEntity.ok(recyclers);
     }
-}
\ No newline at end of file
+
+    // Precomputed server-side clusters for low zoom levels; bbox is "minLng,minLat,maxLng,maxLat"
+    @GetMapping("/clusters")
+    public ResponseEntity<List<ClusterDto>> getClusters(@RequestParam int zoom, @RequestParam String bbox) {
+        return ResponseEntity.ok(clusterIndex.clusters(zoom, BoundingBox.parse(bbox)));
+    }
+
+    // The canonical waste types, for filter and booking dropdowns
+    @GetMapping("/waste-types")
+    public ResponseEntity<List<WasteTypeDto>> getWasteTypes() {
+        return ResponseEntity.ok(wasteTypeCatalog.all().stream().map(WasteTypeDto::fromEntity).toList());
+    }
+
+    // Lightweight search-box autocomplete: NGO names and localities, most completed pickups first
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionDto>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "8") int limit
+    ) {
+        return ResponseEntity.ok(suggestionIndex.suggest(prefix, Math.max(1, limit)));
+    }
+}
@@ -0,0 +1,23 @@
+package com.recyconnect.map.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterDto {
+    // Centroid of the NGOs in this cluster
+    private double latitude;
+    private double longitude;
+    private int count;
+    private Map<String, Integer> wasteTypes;
+
+    // Set only when the cluster is a single NGO, so the client can open it directly
+    private Long ngoId;
+}
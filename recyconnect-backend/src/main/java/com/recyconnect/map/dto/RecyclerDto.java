@@ -1,6 +1,8 @@
 package com.recyconnect.map.dto;
 
+import com.recyconnect.map.index.NgoLocation;
 import com.recyconnect.ngo.model.Ngo;
+import com.recyconnect.stats.model.NgoStats;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -24,7 +26,10 @@ public class RecyclerDto {
     private Double averageRating;
     private Integer completedPickups;
 
-    public static RecyclerDto fromEntity(Ngo ngo, Double rating, Integer pickups) {
+    // Only set for location-based queries
+    private Double distanceKm;
+
+    public static RecyclerDto fromEntity(Ngo ngo, NgoStats stats) {
         return RecyclerDto.builder()
                 .id(ngo.getId())
                 .name(ngo.getName())
@@ -32,8 +37,27 @@ public class RecyclerDto {
                 .longitude(ngo.getLongitude())
                 .wasteTypes(ngo.getAcceptedWasteTypes())
                 .address(ngo.getAddress())
-                .averageRating(rating != null ? rating : 0.0)
-                .completedPickups(pickups)
+                .averageRating(averageRating(stats))
+                .completedPickups((int) stats.getCompletedPickups())
                 .build();
     }
-}
\ No newline at end of file
+
+    public static RecyclerDto fromLocation(NgoLocation location, NgoStats stats, Double distanceKm) {
+        return RecyclerDto.builder()
+                .id(location.id())
+                .name(location.name())
+                .latitude(location.latitude())
+                .longitude(location.longitude())
+                .wasteTypes(location.wasteTypes())
+                .address(location.address())
+                .averageRating(averageRating(stats))
+                .completedPickups((int) stats.getCompletedPickups())
+                .distanceKm(distanceKm)
+                .build();
+    }
+
+    private static Double averageRating(NgoStats stats) {
+        Double rating = stats.getAverageRating();
+        return rating != null ? rating : 0.0;
+    }
+}
@@ -0,0 +1,17 @@
+package com.recyconnect.map.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionDto {
+    private String text;
+    private String type; // NGO or LOCALITY
+    private Long ngoId;  // Only for NGO suggestions
+    private Long completedPickups;
+}
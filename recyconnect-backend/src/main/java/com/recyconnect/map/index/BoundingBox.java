@@ -0,0 +1,49 @@
+package com.recyconnect.map.index;
+
+import com.recyconnect.exception.BadRequestException;
+
+public record BoundingBox(double minLat, double minLng, double maxLat, double maxLng) {
+
+    public BoundingBox {
+        GeoUtils.validateCoordinates(minLat, minLng);
+        GeoUtils.validateCoordinates(maxLat, maxLng);
+        if (minLat > maxLat || minLng > maxLng) {
+            throw new BadRequestException("Bounding box corners are out of order");
+        }
+    }
+
+    // Parses the "west,south,east,north" string that Leaflet's LatLngBounds.toBBoxString() produces
+    public static BoundingBox parse(String bbox) {
+        String[] parts = bbox.split(",");
+        if (parts.length != 4) {
+            throw new BadRequestException("bbox must be 'minLng,minLat,maxLng,maxLat'");
+        }
+        try {
+            return new BoundingBox(
+                    Double.parseDouble(parts[1].trim()),
+                    Double.parseDouble(parts[0].trim()),
+                    Double.parseDouble(parts[3].trim()),
+                    Double.parseDouble(parts[2].trim())
+            );
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("bbox contains a non-numeric coordinate");
+        }
+    }
+
+    // Smallest box that contains the circle of the given radius around a point
+    public static BoundingBox around(double lat, double lng, double radiusKm) {
+        double dLat = radiusKm / GeoUtils.KM_PER_DEGREE;
+        double cos = Math.cos(Math.toRadians(Math.min(89.9, Math.abs(lat) + dLat)));
+        double dLng = Math.min(180, radiusKm / (GeoUtils.KM_PER_DEGREE * cos));
+        return new BoundingBox(
+                Math.max(-90, lat - dLat),
+                Math.max(-180, lng - dLng),
+                Math.min(90, lat + dLat),
+                Math.min(180, lng + dLng)
+        );
+    }
+
+    public boolean contains(double lat, double lng) {
+        return lat >= minLat && lat <= maxLat && lng >= minLng && lng <= maxLng;
+    }
+}
@@ -0,0 +1,236 @@
+package com.recyconnect.map.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+// A uniform lat/lng grid ("geohash-style" buckets) for point lookups.
+// Reads are lock-free; writes are serialized so an entry never sits in two cells at once.
+public class GeoGridIndex<T extends GeoGridIndex.Located> {
+
+    public interface Located {
+        Long id();
+        double latitude();
+        double longitude();
+    }
+
+    public record Neighbor<T>(T item, double distanceKm) {}
+
+    private final double cellDegrees;
+    private final long columns;
+
+    private final Map<Long, T> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Map<Long, T>> cells = new ConcurrentHashMap<>();
+
+    public GeoGridIndex(double cellDegrees) {
+        if (cellDegrees <= 0 || cellDegrees > 10) {
+            throw new IllegalArgumentException("Grid cell size must be in (0, 10] degrees");
+        }
+        this.cellDegrees = cellDegrees;
+        this.columns = (long) Math.ceil(360 / cellDegrees) + 1;
+    }
+
+    public synchronized void upsert(T item) {
+        T previous = entries.put(item.id(), item);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+        cells.computeIfAbsent(cellKey(item.latitude(), item.longitude()), k -> new ConcurrentHashMap<>())
+                .put(item.id(), item);
+    }
+
+    public synchronized void remove(Long id) {
+        T previous = entries.remove(id);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+    }
+
+    public synchronized void replaceAll(Collection<T> items) {
+        entries.clear();
+        cells.clear();
+        items.forEach(this::upsert);
+    }
+
+    public T get(Long id) {
+        return entries.get(id);
+    }
+
+    public Collection<T> values() {
+        return entries.values();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public List<T> withinBox(BoundingBox box, Predicate<T> filter) {
+        List<T> result = new ArrayList<>();
+        forEachCellInBox(box, cell -> cell.values().forEach(item -> {
+            if (box.contains(item.latitude(), item.longitude()) && filter.test(item)) {
+                result.add(item);
+            }
+        }));
+        return result;
+    }
+
+    // Results are sorted nearest first.
+    public List<Neighbor<T>> withinRadius(double lat, double lng, double radiusKm, Predicate<T> filter) {
+        List<Neighbor<T>> result = new ArrayList<>();
+        forEachCellInBox(BoundingBox.around(lat, lng, radiusKm), cell -> cell.values().forEach(item -> {
+            double distance = GeoUtils.haversineKm(lat, lng, item.latitude(), item.longitude());
+            if (distance <= radiusKm && filter.test(item)) {
+                result.add(new Neighbor<>(item, distance));
+            }
+        }));
+        result.sort(Comparator.comparingDouble(Neighbor::distanceKm));
+        return result;
+    }
+
+    // Expands ring by ring around the query cell and stops as soon as no unvisited ring can beat the k-th hit.
+    // Falls back to scanning occupied cells once the rings would cover more cells than actually exist.
+    public List<Neighbor<T>> nearest(double lat, double lng, int k, Double maxRadiusKm, Predicate<T> filter) {
+        if (k <= 0) {
+            return List.of();
+        }
+        PriorityQueue<Neighbor<T>> best = new PriorityQueue<>(
+                Comparator.comparingDouble((Neighbor<T> n) -> n.distanceKm()).reversed());
+
+        long centerRow = row(lat);
+        long centerCol = column(lng);
+        long maxRing = (long) Math.ceil(180 / cellDegrees);
+
+        for (long ring = 0; ring <= maxRing; ring++) {
+            double ringMinKm = Math.max(0, ring - 1) * minCellKm(lat, ring);
+            if (maxRadiusKm != null && ringMinKm > maxRadiusKm) {
+                break;
+            }
+            if (best.size() == k && ringMinKm > best.peek().distanceKm()) {
+                break;
+            }
+            long ringCells = ring == 0 ? 1 : 8 * ring;
+            if (ringCells > cells.size()) {
+                // Rings are now wider than the data; finish with a scan of the remaining occupied cells.
+                long finalRing = ring;
+                cells.forEach((key, cell) -> {
+                    long r = key / columns;
+                    long c = key % columns;
+                    if (Math.max(Math.abs(r - centerRow), Math.abs(c - centerCol)) >= finalRing) {
+                        offerAll(cell, lat, lng, k, maxRadiusKm, filter, best);
+                    }
+                });
+                break;
+            }
+            for (long r = centerRow - ring; r <= centerRow + ring; r++) {
+                for (long c = centerCol - ring; c <= centerCol + ring; c++) {
+                    if (Math.abs(r - centerRow) != ring && Math.abs(c - centerCol) != ring) {
+                        continue; // interior cells were visited by an earlier ring
+                    }
+                    Map<Long, T> cell = inGrid(r, c) ? cells.get(key(r, c)) : null;
+                    if (cell != null) {
+                        offerAll(cell, lat, lng, k, maxRadiusKm, filter, best);
+                    }
+                }
+            }
+        }
+
+        List<Neighbor<T>> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(Neighbor::distanceKm));
+        return result;
+    }
+
+    private void offerAll(Map<Long, T> cell, double lat, double lng, int k, Double maxRadiusKm,
+                          Predicate<T> filter, PriorityQueue<Neighbor<T>> best) {
+        for (T item : cell.values()) {
+            double distance = GeoUtils.haversineKm(lat, lng, item.latitude(), item.longitude());
+            if (maxRadiusKm != null && distance > maxRadiusKm) {
+                continue;
+            }
+            if (best.size() == k && distance >= best.peek().distanceKm()) {
+                continue;
+            }
+            if (!filter.test(item)) {
+                continue;
+            }
+            best.offer(new Neighbor<>(item, distance));
+            if (best.size() > k) {
+                best.poll();
+            }
+        }
+    }
+
+    private void forEachCellInBox(BoundingBox box, Consumer<Map<Long, T>> action) {
+        long minRow = row(box.minLat());
+        long maxRow = row(box.maxLat());
+        long minCol = column(box.minLng());
+        long maxCol = column(box.maxLng());
+        long cellsInBox = (maxRow - minRow + 1) * (maxCol - minCol + 1);
+
+        if (cellsInBox > cells.size()) {
+            // Sparse data under a large box: walking the occupied cells is cheaper than walking the box.
+            cells.forEach((key, cell) -> {
+                long r = key / columns;
+                long c = key % columns;
+                if (r >= minRow && r <= maxRow && c >= minCol && c <= maxCol) {
+                    action.accept(cell);
+                }
+            });
+            return;
+        }
+        for (long r = minRow; r <= maxRow; r++) {
+            for (long c = minCol; c <= maxCol; c++) {
+                Map<Long, T> cell = cells.get(key(r, c));
+                if (cell != null) {
+                    action.accept(cell);
+                }
+            }
+        }
+    }
+
+    private void removeFromCell(T item) {
+        long key = cellKey(item.latitude(), item.longitude());
+        Map<Long, T> cell = cells.get(key);
+        if (cell != null) {
+            cell.remove(item.id());
+            if (cell.isEmpty()) {
+                cells.remove(key);
+            }
+        }
+    }
+
+    // Smallest side of a grid cell in km near the query point, widened by the ring so longitude shrinkage is covered.
+    private double minCellKm(double lat, long ring) {
+        double farthestLat = Math.min(89.9, Math.abs(lat) + (ring + 1) * cellDegrees);
+        return cellDegrees * GeoUtils.KM_PER_DEGREE * Math.cos(Math.toRadians(farthestLat));
+    }
+
+    private boolean inGrid(long row, long column) {
+        return row >= 0 && column >= 0 && column < columns && row * cellDegrees <= 180;
+    }
+
+    private long cellKey(double lat, double lng) {
+        return key(row(lat), column(lng));
+    }
+
+    private long key(long row, long column) {
+        return row * columns + column;
+    }
+
+    private long row(double lat) {
+        return (long) Math.floor((clamp(lat, -90, 90) + 90) / cellDegrees);
+    }
+
+    private long column(double lng) {
+        return (long) Math.floor((clamp(lng, -180, 180) + 180) / cellDegrees);
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
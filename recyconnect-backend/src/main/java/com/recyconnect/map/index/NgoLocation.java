@@ -0,0 +1,38 @@
+package com.recyconnect.map.index;
+
+import com.recyconnect.ngo.model.Ngo;
+
+import java.util.List;
+import java.util.Objects;
+
+// Immutable snapshot of the map-relevant fields of an ACTIVE NGO
+public record NgoLocation(
+        Long id,
+        String name,
+        String address,
+        double latitude,
+        double longitude,
+        List<String> wasteTypes,
+        long wasteMask
+) implements GeoGridIndex.Located {
+
+    public static NgoLocation fromEntity(Ngo ngo) {
+        List<String> wasteTypes = ngo.getAcceptedWasteTypes() == null
+                ? List.of()
+                : ngo.getAcceptedWasteTypes().stream().filter(Objects::nonNull).toList();
+        return new NgoLocation(
+                ngo.getId(),
+                ngo.getName(),
+                ngo.getAddress(),
+                ngo.getLatitude(),
+                ngo.getLongitude(),
+                wasteTypes,
+                ngo.getAcceptedWasteMask()
+        );
+    }
+
+    // True when every type in the mask is accepted; an empty mask matches everything
+    public boolean acceptsAll(long mask) {
+        return (wasteMask & mask) == mask;
+    }
+}
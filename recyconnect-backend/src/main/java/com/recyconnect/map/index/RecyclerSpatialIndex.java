@@ -0,0 +1,80 @@
+package com.recyconnect.map.index;
+
+import com.recyconnect.ngo.event.NgoChangedEvent;
+import com.recyconnect.ngo.model.Ngo;
+import com.recyconnect.ngo.model.NgoStatus;
+import com.recyconnect.ngo.repository.NgoRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+// In-process spatial index over ACTIVE NGOs, loaded at startup and kept current through NgoChangedEvent
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecyclerSpatialIndex {
+
+    private final NgoRepository ngoRepository;
+
+    @Value("${app.map.index-cell-degrees:0.05}")
+    private double cellDegrees;
+
+    private GeoGridIndex<NgoLocation> grid;
+
+    @PostConstruct
+    void init() {
+        grid = new GeoGridIndex<>(cellDegrees);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        List<NgoLocation> active = ngoRepository.findByStatus(NgoStatus.ACTIVE).stream()
+                .map(NgoLocation::fromEntity)
+                .toList();
+        grid.replaceAll(active);
+        log.info("Recycler spatial index loaded with {} active NGOs", active.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNgoChanged(NgoChangedEvent event) {
+        Ngo ngo = event.ngo();
+        if (ngo.getStatus() == NgoStatus.ACTIVE) {
+            grid.upsert(NgoLocation.fromEntity(ngo));
+        } else {
+            grid.remove(ngo.getId());
+        }
+    }
+
+    public NgoLocation get(Long ngoId) {
+        return grid.get(ngoId);
+    }
+
+    public Collection<NgoLocation> all() {
+        return grid.values();
+    }
+
+    public List<NgoLocation> withinBox(BoundingBox box, Predicate<NgoLocation> filter) {
+        return grid.withinBox(box, filter);
+    }
+
+    public List<GeoGridIndex.Neighbor<NgoLocation>> withinRadius(double lat, double lng, double radiusKm,
+                                                                 Predicate<NgoLocation> filter) {
+        return grid.withinRadius(lat, lng, radiusKm, filter);
+    }
+
+    public List<GeoGridIndex.Neighbor<NgoLocation>> nearest(double lat, double lng, int k, Double maxRadiusKm,
+                                                            Predicate<NgoLocation> filter) {
+        return grid.nearest(lat, lng, k, maxRadiusKm, filter);
+    }
+}
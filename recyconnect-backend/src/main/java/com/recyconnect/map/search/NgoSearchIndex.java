@@ -0,0 +1,123 @@
+package com.recyconnect.map.search;
+
+import com.recyconnect.map.index.NgoLocation;
+import com.recyconnect.ngo.event.NgoChangedEvent;
+import com.recyconnect.ngo.model.Ngo;
+import com.recyconnect.ngo.model.NgoStatus;
+import com.recyconnect.ngo.repository.NgoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Trigram inverted index over the name and address of ACTIVE NGOs (pg_trgm style word padding).
+// A document matches when it contains at least MIN_SIMILARITY of the query's trigrams, which tolerates typos.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NgoSearchIndex {
+
+    static final double MIN_SIMILARITY = 0.5;
+
+    public record Hit(Long ngoId, double score) {}
+
+    private final NgoRepository ngoRepository;
+
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> documents = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        List<Ngo> active = ngoRepository.findByStatus(NgoStatus.ACTIVE);
+        synchronized (this) {
+            postings.clear();
+            documents.clear();
+            active.forEach(ngo -> index(NgoLocation.fromEntity(ngo)));
+        }
+        log.info("NGO search index built: {} NGOs, {} trigrams", documents.size(), postings.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onNgoChanged(NgoChangedEvent event) {
+        Ngo ngo = event.ngo();
+        unindex(ngo.getId());
+        if (ngo.getStatus() == NgoStatus.ACTIVE) {
+            index(NgoLocation.fromEntity(ngo));
+        }
+    }
+
+    // Ranked by similarity, best first
+    public List<Hit> search(String query, int limit) {
+        Set<String> queryTrigrams = Trigrams.of(query);
+        if (queryTrigrams.isEmpty()) {
+            return List.of();
+        }
+        int required = (int) Math.ceil(queryTrigrams.size() * MIN_SIMILARITY);
+
+        // Prefix filtering: any match must contain at least one of the (n - required + 1) rarest trigrams,
+        // so candidates only come from the shortest posting lists and the common ones are just probed.
+        List<Set<Long>> lists = new ArrayList<>(queryTrigrams.size());
+        for (String trigram : queryTrigrams) {
+            lists.add(postings.getOrDefault(trigram, Set.of()));
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        int probeFrom = queryTrigrams.size() - required + 1;
+
+        Map<Long, Integer> shared = new HashMap<>();
+        for (int i = 0; i < probeFrom; i++) {
+            lists.get(i).forEach(id -> shared.merge(id, 1, Integer::sum));
+        }
+
+        // Keeps only the best `limit` hits (worst on top), so a broad query never sorts the whole index
+        Comparator<Hit> best = Comparator.comparingDouble(Hit::score).reversed().thenComparing(Hit::ngoId);
+        PriorityQueue<Hit> top = new PriorityQueue<>(best.reversed());
+        shared.forEach((id, count) -> {
+            int total = count;
+            for (int i = probeFrom; i < lists.size(); i++) {
+                if (lists.get(i).contains(id)) {
+                    total++;
+                }
+            }
+            if (total >= required) {
+                top.add(new Hit(id, (double) total / queryTrigrams.size()));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        });
+
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(best);
+        return hits;
+    }
+
+    private void index(NgoLocation ngo) {
+        Set<String> trigrams = Trigrams.of(ngo.name() + " " + ngo.address());
+        documents.put(ngo.id(), trigrams);
+        trigrams.forEach(trigram -> postings.computeIfAbsent(trigram, k -> ConcurrentHashMap.newKeySet()).add(ngo.id()));
+    }
+
+    private void unindex(Long ngoId) {
+        Set<String> trigrams = documents.remove(ngoId);
+        if (trigrams == null) {
+            return;
+        }
+        trigrams.forEach(trigram -> postings.computeIfPresent(trigram, (k, ids) -> {
+            ids.remove(ngoId);
+            return ids.isEmpty() ? null : ids;
+        }));
+    }
+}
@@ -0,0 +1,230 @@
+package com.recyconnect.map.search;
+
+import com.recyconnect.map.dto.SuggestionDto;
+import com.recyconnect.map.index.NgoLocation;
+import com.recyconnect.ngo.event.NgoChangedEvent;
+import com.recyconnect.ngo.model.Ngo;
+import com.recyconnect.ngo.model.NgoStatus;
+import com.recyconnect.ngo.repository.NgoRepository;
+import com.recyconnect.stats.model.NgoStats;
+import com.recyconnect.stats.service.NgoStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+// Autocomplete over NGO names and address localities, ranked by completed pickups.
+// NGO changes are applied incrementally; pickup weights drift between completions and are
+// re-read from ngo_stats by a periodic full rebuild. The rebuild replays changes that arrived while
+// it was reading, so none are lost in the swap.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NgoSuggestionIndex {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final String NGO = "NGO";
+    private static final String LOCALITY = "LOCALITY";
+
+    private final NgoRepository ngoRepository;
+    private final NgoStatsService ngoStatsService;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private SuggestionTrie trie = new SuggestionTrie(MAX_SUGGESTIONS);
+
+    // NGO id -> what we indexed for it, so an update can take the old keys back out
+    private Map<Long, Indexed> indexed = new HashMap<>();
+    // Locality key -> (NGO id -> pickups); a locality's weight is the sum over its NGOs
+    private Map<String, Locality> localities = new HashMap<>();
+    // Non-null while a rebuild is reading the tables: changes made meanwhile may be missing from its snapshot
+    private List<Change> changedDuringRebuild;
+
+    // ngo is null when the NGO is no longer active
+    private record Change(Long ngoId, NgoLocation ngo, long pickups) {}
+
+    private record Indexed(NgoLocation ngo, long pickups) {}
+
+    private record Locality(String text, Map<Long, Long> pickupsByNgo) {
+        long weight() {
+            return pickupsByNgo.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.map.suggest-refresh-ms:600000}", initialDelayString = "${app.map.suggest-refresh-ms:600000}")
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        List<Ngo> active;
+        Map<Long, NgoStats> stats;
+        try {
+            active = ngoRepository.findByStatus(NgoStatus.ACTIVE);
+            stats = ngoStatsService.getStats(active.stream().map(Ngo::getId).toList());
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        // Build off to the side, then swap, so readers never see a half-built trie
+        SuggestionTrie freshTrie = new SuggestionTrie(MAX_SUGGESTIONS);
+        Map<Long, Indexed> freshIndexed = new HashMap<>();
+        Map<String, Locality> freshLocalities = new HashMap<>();
+        for (Ngo ngo : active) {
+            add(freshTrie, freshIndexed, freshLocalities, NgoLocation.fromEntity(ngo), stats.get(ngo.getId()).getCompletedPickups());
+        }
+
+        lock.writeLock().lock();
+        try {
+            // Replaying is harmless when the snapshot already has a change, since apply replaces the NGO's entry
+            changedDuringRebuild.forEach(change -> apply(freshTrie, freshIndexed, freshLocalities, change));
+            changedDuringRebuild = null;
+            trie = freshTrie;
+            indexed = freshIndexed;
+            localities = freshLocalities;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Suggestion trie rebuilt for {} NGOs and {} localities", freshIndexed.size(), freshLocalities.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNgoChanged(NgoChangedEvent event) {
+        Ngo ngo = event.ngo();
+        Change change = ngo.getStatus() == NgoStatus.ACTIVE
+                ? new Change(ngo.getId(), NgoLocation.fromEntity(ngo), ngoStatsService.getStats(ngo.getId()).getCompletedPickups())
+                : new Change(ngo.getId(), null, 0);
+
+        lock.writeLock().lock();
+        try {
+            apply(trie, indexed, localities, change);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<SuggestionDto> suggest(String prefix, int limit) {
+        String key = TextNormalizer.normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        List<SuggestionTrie.Suggestion> top;
+        lock.readLock().lock();
+        try {
+            top = trie.top(key, Math.min(limit, MAX_SUGGESTIONS));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return top.stream()
+                .map(s -> SuggestionDto.builder()
+                        .text(s.text())
+                        .type(s.type())
+                        .ngoId(s.ngoId())
+                        .completedPickups(s.weight())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private static void apply(SuggestionTrie trie, Map<Long, Indexed> indexed, Map<String, Locality> localities,
+                              Change change) {
+        Indexed previous = indexed.remove(change.ngoId());
+        if (previous != null) {
+            remove(trie, localities, previous.ngo());
+        }
+        if (change.ngo() != null) {
+            add(trie, indexed, localities, change.ngo(), change.pickups());
+        }
+    }
+
+    private static void add(SuggestionTrie trie, Map<Long, Indexed> indexed, Map<String, Locality> localities,
+                            NgoLocation ngo, long pickups) {
+        indexed.put(ngo.id(), new Indexed(ngo, pickups));
+
+        SuggestionTrie.Suggestion name = new SuggestionTrie.Suggestion(NGO + ":" + ngo.id(), ngo.name(), NGO, ngo.id(), pickups);
+        nameKeys(ngo.name()).forEach(key -> trie.put(key, name));
+
+        for (String part : localityParts(ngo.address())) {
+            String key = TextNormalizer.normalize(part);
+            Locality locality = localities.computeIfAbsent(key, k -> new Locality(part, new HashMap<>()));
+            locality.pickupsByNgo().put(ngo.id(), pickups);
+            trie.put(key, localitySuggestion(key, locality));
+        }
+    }
+
+    private static void remove(SuggestionTrie trie, Map<String, Locality> localities, NgoLocation ngo) {
+        nameKeys(ngo.name()).forEach(key -> trie.remove(key, NGO + ":" + ngo.id()));
+
+        for (String part : localityParts(ngo.address())) {
+            String key = TextNormalizer.normalize(part);
+            Locality locality = localities.get(key);
+            if (locality == null) {
+                continue;
+            }
+            locality.pickupsByNgo().remove(ngo.id());
+            if (locality.pickupsByNgo().isEmpty()) {
+                localities.remove(key);
+                trie.remove(key, LOCALITY + ":" + key);
+            } else {
+                trie.put(key, localitySuggestion(key, locality));
+            }
+        }
+    }
+
+    private static SuggestionTrie.Suggestion localitySuggestion(String key, Locality locality) {
+        return new SuggestionTrie.Suggestion(LOCALITY + ":" + key, locality.text(), LOCALITY, null, locality.weight());
+    }
+
+    // "Green Kolkata Foundation" is reachable from "green", "kolkata" and "foundation"
+    private static Set<String> nameKeys(String name) {
+        String normalized = TextNormalizer.normalize(name);
+        Set<String> keys = new LinkedHashSet<>();
+        if (normalized.isEmpty()) {
+            return keys;
+        }
+        keys.add(normalized);
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            keys.add(normalized.substring(i + 1));
+        }
+        return keys;
+    }
+
+    // Address parts between commas ("Park Street", "Kolkata", ...) serve as localities
+    private static List<String> localityParts(String address) {
+        if (address == null) {
+            return List.of();
+        }
+        return Arrays.stream(address.split(","))
+                .map(String::trim)
+                .filter(part -> !TextNormalizer.normalize(part).isEmpty())
+                .distinct()
+                .toList();
+    }
+}
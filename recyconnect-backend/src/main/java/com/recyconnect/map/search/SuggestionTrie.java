@@ -0,0 +1,142 @@
+package com.recyconnect.map.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Compressed (radix) trie where every node caches the top-K suggestions of its subtree,
+// so a prefix lookup is one walk down the edges plus a copy of an at-most-K list.
+// Not thread-safe; NgoSuggestionIndex guards it with a read/write lock.
+class SuggestionTrie {
+
+    record Suggestion(String id, String text, String type, Long ngoId, long weight) {}
+
+    static final Comparator<Suggestion> RANKING = Comparator.comparingLong(Suggestion::weight).reversed()
+            .thenComparing(Suggestion::text);
+
+    private static final class Node {
+        String label;
+        final Map<Character, Node> children = new HashMap<>();
+        final Map<String, Suggestion> entries = new HashMap<>();
+        List<Suggestion> top = List.of();
+
+        Node(String label) {
+            this.label = label;
+        }
+    }
+
+    private final int topK;
+    private final Node root = new Node("");
+
+    SuggestionTrie(int topK) {
+        this.topK = topK;
+    }
+
+    void put(String key, Suggestion suggestion) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        String rest = key;
+
+        while (!rest.isEmpty()) {
+            Node child = node.children.get(rest.charAt(0));
+            if (child == null) {
+                child = new Node(rest);
+                node.children.put(rest.charAt(0), child);
+                path.add(child);
+                node = child;
+                rest = "";
+                break;
+            }
+            int common = commonPrefix(child.label, rest);
+            if (common < child.label.length()) {
+                // Split the edge: node -> middle(common part) -> child(remaining label)
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children.put(child.label.charAt(0), child);
+                middle.top = child.top;
+                node.children.put(middle.label.charAt(0), middle);
+                child = middle;
+            }
+            path.add(child);
+            node = child;
+            rest = rest.substring(common);
+        }
+
+        node.entries.put(suggestion.id(), suggestion);
+        refresh(path);
+    }
+
+    void remove(String key, String suggestionId) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        String rest = key;
+        while (!rest.isEmpty()) {
+            Node child = node.children.get(rest.charAt(0));
+            if (child == null || !rest.startsWith(child.label)) {
+                return;
+            }
+            path.add(child);
+            node = child;
+            rest = rest.substring(child.label.length());
+        }
+        if (node.entries.remove(suggestionId) == null) {
+            return;
+        }
+        // Drop nodes that no longer lead anywhere
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node current = path.get(i);
+            if (!current.entries.isEmpty() || !current.children.isEmpty()) {
+                break;
+            }
+            path.get(i - 1).children.remove(current.label.charAt(0));
+            path.remove(i);
+        }
+        refresh(path);
+    }
+
+    List<Suggestion> top(String prefix, int limit) {
+        Node node = root;
+        String rest = prefix;
+        while (!rest.isEmpty()) {
+            Node child = node.children.get(rest.charAt(0));
+            if (child == null) {
+                return List.of();
+            }
+            int common = commonPrefix(child.label, rest);
+            if (common == rest.length()) {
+                node = child; // prefix ends on or inside this edge
+                break;
+            }
+            if (common < child.label.length()) {
+                return List.of();
+            }
+            node = child;
+            rest = rest.substring(common);
+        }
+        return node.top.size() > limit ? node.top.subList(0, limit) : node.top;
+    }
+
+    // Recomputes the cached top-K bottom-up along the path that changed
+    private void refresh(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            Map<String, Suggestion> merged = new LinkedHashMap<>(node.entries);
+            node.children.values().forEach(child -> child.top.forEach(s -> merged.putIfAbsent(s.id(), s)));
+            node.top = merged.values().stream().sorted(RANKING).limit(topK).toList();
+        }
+    }
+
+    private static int commonPrefix(String a, String b) {
+        int max = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < max && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,22 @@
+package com.recyconnect.map.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+final class TextNormalizer {
+
+    private TextNormalizer() {
+    }
+
+    // Lowercases, strips accents and collapses punctuation to single spaces
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("[^\\p{L}\\p{N}]+", " ")
+                .trim();
+    }
+}
@@ -0,0 +1,26 @@
+package com.recyconnect.map.search;
+
+import java.util.HashSet;
+import java.util.Set;
+
+final class Trigrams {
+
+    private Trigrams() {
+    }
+
+    // Pads each normalized word as "  word " before slicing, like pg_trgm
+    static Set<String> of(String text) {
+        Set<String> trigrams = new HashSet<>();
+        String normalized = TextNormalizer.normalize(text);
+        if (normalized.isEmpty()) {
+            return trigrams;
+        }
+        for (String word : normalized.split(" ")) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+}
@@ -1,47 +1,129 @@
 package com.recyconnect.map.service;
 
-import com.recyconnect.booking.model.BookingStatus;
-import com.recyconnect.booking.repository.BookingRepository;
+import com.recyconnect.exception.BadRequestException;
 import com.recyconnect.map.dto.RecyclerDto;
+import com.recyconnect.map.index.BoundingBox;
+import com.recyconnect.map.index.GeoGridIndex;
+import com.recyconnect.map.index.GeoUtils;
+import com.recyconnect.map.index.NgoLocation;
+import com.recyconnect.map.index.RecyclerSpatialIndex;
+import com.recyconnect.map.search.NgoSearchIndex;
 import com.recyconnect.ngo.model.Ngo;
 import com.recyconnect.ngo.model.NgoStatus;
 import com.recyconnect.ngo.repository.NgoRepository;
-import com.recyconnect.review.repository.ReviewRepository;
+import com.recyconnect.stats.model.NgoStats;
+import com.recyconnect.stats.service.NgoStatsService;
+import com.recyconnect.waste.service.WasteTypeCatalog;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class MapService {
 
+    // Upper bounds for location queries so a single request can't pull the whole country
+    static final int MAX_RESULTS = 200;
+    static final double MAX_RADIUS_KM = 100;
+    static final int DEFAULT_K = 20;
+    // Best text matches considered per search; waste-type and location filters then pick from these
+    static final int MAX_SEARCH_HITS = 1000;
+
     private final NgoRepository ngoRepository;
-    private final BookingRepository bookingRepository;
-    private final ReviewRepository reviewRepository;
+    private final RecyclerSpatialIndex spatialIndex;
+    private final NgoStatsService ngoStatsService;
+    private final NgoSearchIndex searchIndex;
+    private final WasteTypeCatalog wasteTypeCatalog;
 
     @Transactional(readOnly = true)
     public List<RecyclerDto> getActiveRecyclers(String wasteType, String query) {
 
-        String searchQuery = (query == null || query.isBlank()) ? null : "%" + query.toLowerCase() + "%";
+        if (query != null && !query.isBlank()) {
+            return searchRecyclers(wasteType, query);
+        }
+
+        long wasteMask = wasteTypeCatalog.parseFilter(wasteType);
+        List<Ngo> activeNgos = ngoRepository.findActiveNgosWithFilters(NgoStatus.ACTIVE.name(), wasteMask);
 
-        List<Ngo> activeNgos = ngoRepository.findActiveNgosWithFilters(
-                NgoStatus.ACTIVE,
-                wasteType,
-                searchQuery // Pass the prepared search query
-        );
+        // Precomputed stats for the whole result set in one primary-key lookup
+        Map<Long, NgoStats> stats = ngoStatsService.getStats(activeNgos.stream().map(Ngo::getId).toList());
 
         return activeNgos.stream()
-                .map(ngo -> {
-                    // Fetch Stats for each NGO
-                    int pickups = bookingRepository.countByNgoIdAndStatus(ngo.getId(), BookingStatus.COMPLETED);
-                    Double rating = reviewRepository.getAverageRatingByNgoId(ngo.getId());
-
-                    // Use updated builder
-                    return RecyclerDto.fromEntity(ngo, rating, pickups);
-                })
+                .map(ngo -> RecyclerDto.fromEntity(ngo, stats.get(ngo.getId())))
+                .collect(Collectors.toList());
+    }
+
+    // Text search goes to the trigram index (ranked, typo tolerant) instead of a LIKE '%q%' scan
+    private List<RecyclerDto> searchRecyclers(String wasteType, String query) {
+        long wasteMask = wasteTypeCatalog.parseFilter(wasteType);
+        List<NgoLocation> ranked = searchIndex.search(query, MAX_SEARCH_HITS).stream()
+                .map(hit -> spatialIndex.get(hit.ngoId()))
+                .filter(Objects::nonNull)
+                .filter(location -> location.acceptsAll(wasteMask))
+                .limit(MAX_RESULTS)
+                .toList();
+        Map<Long, NgoStats> stats = ngoStatsService.getStats(ranked.stream().map(NgoLocation::id).toList());
+
+        return ranked.stream()
+                .map(location -> toDto(location, stats, null))
+                .collect(Collectors.toList());
+    }
+
+    // k-nearest and/or radius search around a point, served from the in-memory index (nearest first)
+    @Transactional(readOnly = true)
+    public List<RecyclerDto> getNearbyRecyclers(String wasteType, String query, double lat, double lng,
+                                                Double radiusKm, Integer k) {
+        GeoUtils.validateCoordinates(lat, lng);
+        if (radiusKm != null && (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM)) {
+            throw new BadRequestException("radiusKm must be between 0 and " + MAX_RADIUS_KM);
+        }
+        if (k != null && (k <= 0 || k > MAX_RESULTS)) {
+            throw new BadRequestException("k must be between 1 and " + MAX_RESULTS);
+        }
+
+        Predicate<NgoLocation> filter = matches(wasteType, query);
+        int limit = k != null ? k : (radiusKm != null ? MAX_RESULTS : DEFAULT_K);
+
+        List<GeoGridIndex.Neighbor<NgoLocation>> hits = spatialIndex.nearest(lat, lng, limit, radiusKm, filter);
+        Map<Long, NgoStats> stats = ngoStatsService.getStats(hits.stream().map(hit -> hit.item().id()).toList());
+
+        return hits.stream()
+                .map(hit -> toDto(hit.item(), stats, hit.distanceKm()))
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    @Transactional(readOnly = true)
+    public List<RecyclerDto> getRecyclersInBox(String wasteType, String query, BoundingBox box) {
+        List<NgoLocation> locations = spatialIndex.withinBox(box, matches(wasteType, query)).stream()
+                .limit(MAX_RESULTS)
+                .toList();
+        Map<Long, NgoStats> stats = ngoStatsService.getStats(locations.stream().map(NgoLocation::id).toList());
+
+        return locations.stream()
+                .map(location -> toDto(location, stats, null))
+                .collect(Collectors.toList());
+    }
+
+    private Predicate<NgoLocation> matches(String wasteType, String query) {
+        long wasteMask = wasteTypeCatalog.parseFilter(wasteType);
+        Predicate<NgoLocation> filter = location -> location.acceptsAll(wasteMask);
+        if (query == null || query.isBlank()) {
+            return filter;
+        }
+        Set<Long> matchingIds = searchIndex.search(query, MAX_SEARCH_HITS).stream()
+                .map(NgoSearchIndex.Hit::ngoId)
+                .collect(Collectors.toSet());
+        return filter.and(location -> matchingIds.contains(location.id()));
+    }
+
+    private RecyclerDto toDto(NgoLocation location, Map<Long, NgoStats> stats, Double distanceKm) {
+        return RecyclerDto.fromLocation(location, stats.get(location.id()), distanceKm);
+    }
+}
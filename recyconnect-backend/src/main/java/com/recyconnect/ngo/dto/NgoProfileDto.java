@@ -1,6 +1,7 @@
 package com.recyconnect.ngo.dto;
 
 import com.recyconnect.ngo.model.Ngo;
+import com.recyconnect.stats.model.NgoStats;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,13 +19,19 @@ public class NgoProfileDto {
     private String contactNumber;
     private List<String> acceptedWasteTypes;
 
+    // Read-only, served from ngo_stats (ignored on update)
+    private Double averageRating;
+    private Long completedPickups;
+
     // Helper method to convert an Ngo entity to this DTO
-    public static NgoProfileDto fromEntity(Ngo ngo) {
+    public static NgoProfileDto fromEntity(Ngo ngo, NgoStats stats) {
         return NgoProfileDto.builder()
                 .name(ngo.getName())
                 .address(ngo.getAddress())
                 .contactNumber(ngo.getContactNumber())
                 .acceptedWasteTypes(ngo.getAcceptedWasteTypes())
+                .averageRating(stats.getAverageRating())
+                .completedPickups(stats.getCompletedPickups())
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.recyconnect.ngo.event;
+
+import com.recyconnect.ngo.model.Ngo;
+
+// Published whenever an NGO's status, location or profile changes, so in-memory indexes can refresh
+public record NgoChangedEvent(Ngo ngo) {
+}
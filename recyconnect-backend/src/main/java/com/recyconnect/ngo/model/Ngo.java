@@ -6,6 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import java.util.List;
 
@@ -43,9 +45,19 @@ public class Ngo {
     @Column(nullable = false)
     private NgoStatus status;
 
-    // This will store the list of waste types the NGO accepts
+    // This will store the list of waste types the NGO accepts.
+    // SUBSELECT loads the collections of every NGO in a result list with one extra query instead of one per NGO.
     @ElementCollection(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SUBSELECT)
     @CollectionTable(name = "ngo_waste_types", joinColumns = @JoinColumn(name = "ngo_id"))
     @Column(name = "waste_type")
     private List<String> acceptedWasteTypes;
+
+    // The same types as bits of the waste_types catalog (WasteType.bit), so
+    // "accepts plastic AND e-waste" is one bitwise check instead of a join
+    @Column(nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private long acceptedWasteMask;
+
+    // Bookings the NGO will take per day; null means app.booking.ngo-daily-capacity
+    private Integer dailyBookingCapacity;
 }
\ No newline at end of file
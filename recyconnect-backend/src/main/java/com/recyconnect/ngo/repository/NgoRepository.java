@@ -7,23 +7,29 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface NgoRepository extends JpaRepository<Ngo, Long> {
     List<Ngo> findByStatus(NgoStatus status);
 
-    @Query("SELECT DISTINCT n FROM Ngo n JOIN n.user u LEFT JOIN n.acceptedWasteTypes wt WHERE n.status = :status " +
-            "AND (:wasteType IS NULL OR wt = :wasteType) " +
-            "AND (:query IS NULL OR LOWER(u.name) LIKE :query OR LOWER(n.address) LIKE :query)")
+    // Text search is handled by NgoSearchIndex; this only filters by status and waste types.
+    // wasteMask is a WasteTypeCatalog mask: NGOs must accept every type in it (0 = any).
+    @Query(value = "SELECT * FROM ngos WHERE status = :status " +
+            "AND (accepted_waste_mask & :wasteMask) = :wasteMask", nativeQuery = true)
     List<Ngo> findActiveNgosWithFilters(
-            @Param("status") NgoStatus status,
-            @Param("wasteType") String wasteType,
-            @Param("query") String query
+            @Param("status") String status,
+            @Param("wasteMask") long wasteMask
     );
 
+    // NGOs saved before the waste-type catalog existed still have an empty mask
+    List<Ngo> findByAcceptedWasteMask(long acceptedWasteMask);
+
     Optional<Ngo> findByUserId(Integer userId);
 
+    List<Ngo> findByUserIdIn(Collection<Integer> userIds);
+
     long countByStatus(NgoStatus status);
 
     Optional<Ngo> findByUser(User user);
@@ -1,15 +1,19 @@
 package com.recyconnect.ngo.service;
 
+import com.recyconnect.auth.event.UserRoleChangedEvent;
 import com.recyconnect.auth.model.Role;
 import com.recyconnect.auth.model.User;
 import com.recyconnect.auth.repository.UserRepository;
+import com.recyconnect.exception.BadRequestException;
 import com.recyconnect.ngo.dto.PendingNgoDto;
+import com.recyconnect.ngo.event.NgoChangedEvent;
 import com.recyconnect.ngo.model.Ngo;
 import com.recyconnect.ngo.model.NgoStatus;
 import com.recyconnect.ngo.dto.NgoResponseDto;
 import com.recyconnect.ngo.repository.NgoRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +26,9 @@ public class NgoAdminService {
 
     private final NgoRepository ngoRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    static final int MAX_DAILY_BOOKING_CAPACITY = 10_000;
 
     @Transactional(readOnly = true) // Use readOnly for fetch operations
     public List<PendingNgoDto> getPendingNgos() {
@@ -43,7 +50,23 @@ public class NgoAdminService {
         userRepository.save(user);
         Ngo savedNgo = ngoRepository.save(ngo);
 
+        // Let the map indexes pick up the newly active NGO, and cached principals the new role, once this commits
+        eventPublisher.publishEvent(new NgoChangedEvent(savedNgo));
+        eventPublisher.publishEvent(new UserRoleChangedEvent(user.getId()));
+
         return NgoResponseDto.fromEntity(savedNgo);
     }
 
+    // null resets the NGO to the default daily capacity
+    @Transactional
+    public void setDailyBookingCapacity(Long ngoId, Integer capacity) {
+        if (capacity != null && (capacity < 1 || capacity > MAX_DAILY_BOOKING_CAPACITY)) {
+            throw new BadRequestException("dailyBookings must be between 1 and " + MAX_DAILY_BOOKING_CAPACITY);
+        }
+        Ngo ngo = ngoRepository.findById(ngoId)
+                .orElseThrow(() -> new EntityNotFoundException("NGO with ID " + ngoId + " not found."));
+        ngo.setDailyBookingCapacity(capacity);
+        ngoRepository.save(ngo);
+    }
+
 }
\ No newline at end of file
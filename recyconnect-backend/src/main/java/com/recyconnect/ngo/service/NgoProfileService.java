@@ -2,10 +2,14 @@ package com.recyconnect.ngo.service;
 
 import com.recyconnect.auth.model.User;
 import com.recyconnect.ngo.dto.NgoProfileDto;
+import com.recyconnect.ngo.event.NgoChangedEvent;
 import com.recyconnect.ngo.model.Ngo;
 import com.recyconnect.ngo.repository.NgoRepository;
+import com.recyconnect.stats.service.NgoStatsService;
+import com.recyconnect.waste.service.WasteTypeCatalog;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,12 +18,15 @@ import org.springframework.transaction.annotation.Transactional;
 public class NgoProfileService {
 
     private final NgoRepository ngoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NgoStatsService ngoStatsService;
+    private final WasteTypeCatalog wasteTypeCatalog;
 
     @Transactional(readOnly = true)
     public NgoProfileDto getNgoProfile(User currentUser) {
         Ngo ngo = ngoRepository.findByUser(currentUser)
                 .orElseThrow(() -> new EntityNotFoundException("NGO profile not found for user: " + currentUser.getEmail()));
-        return NgoProfileDto.fromEntity(ngo);
+        return NgoProfileDto.fromEntity(ngo, ngoStatsService.getStats(ngo.getId()));
     }
 
     @Transactional
@@ -31,11 +38,12 @@ public class NgoProfileService {
         ngo.setName(updateRequest.getName());
         ngo.setAddress(updateRequest.getAddress());
         ngo.setContactNumber(updateRequest.getContactNumber());
-        ngo.setAcceptedWasteTypes(updateRequest.getAcceptedWasteTypes());
+        wasteTypeCatalog.setAcceptedWasteTypes(ngo, updateRequest.getAcceptedWasteTypes());
 
         // TODO: Here you would re-run the geocoding if the address has changed
 
         Ngo updatedNgo = ngoRepository.save(ngo);
-        return NgoProfileDto.fromEntity(updatedNgo);
+        eventPublisher.publishEvent(new NgoChangedEvent(updatedNgo));
+        return NgoProfileDto.fromEntity(updatedNgo, ngoStatsService.getStats(updatedNgo.getId()));
     }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import com.recyconnect.ngo.dto.NgoApplicationRequestDto;
 import com.recyconnect.ngo.model.Ngo;
 import com.recyconnect.ngo.model.NgoStatus;
 import com.recyconnect.ngo.repository.NgoRepository;
+import com.recyconnect.waste.service.WasteTypeCatalog;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,6 +17,7 @@ public class NgoService {
 
     private final NgoRepository ngoRepository;
     private final EmailService emailService;
+    private final WasteTypeCatalog wasteTypeCatalog;
 
     @Transactional
     public void applyForNgoStatus(NgoApplicationRequestDto request, User currentUser) {
@@ -29,8 +31,8 @@ public class NgoService {
                 .latitude(request.getLatitude())
                 .longitude(request.getLongitude())
                 .status(NgoStatus.PENDING_APPROVAL) // Default status
-                .acceptedWasteTypes(request.getAcceptedWasteTypes())
                 .build();
+        wasteTypeCatalog.setAcceptedWasteTypes(newNgo, request.getAcceptedWasteTypes());
 
         ngoRepository.save(newNgo);
 
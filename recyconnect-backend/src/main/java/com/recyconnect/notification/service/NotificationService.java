@@ -4,8 +4,8 @@ import com.recyconnect.auth.model.User;
 import com.recyconnect.notification.dto.NotificationResponseDto;
 import com.recyconnect.notification.model.Notification;
 import com.recyconnect.notification.repository.NotificationRepository;
+import com.recyconnect.outbox.service.OutboxService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,7 +18,7 @@ import java.util.stream.Collectors;
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final OutboxService outboxService;
 
     @Transactional
     public void sendNotification(User user, String message) {
@@ -34,9 +34,33 @@ public class NotificationService {
         // 2. Convert to DTO (So it has the ID!)
         NotificationResponseDto dto = NotificationResponseDto.fromEntity(savedNotification);
 
-        // 3. Send DTO via WebSocket (Real-time)
+        // 3. Queue the WebSocket push; it is delivered only if this transaction commits
         String destination = "/queue/notifications/" + user.getId();
-        messagingTemplate.convertAndSend(destination, dto);
+        outboxService.enqueueWebSocket(destination, dto);
+    }
+
+    // Saves a batch in one go (e.g. from a scheduled job) and queues one WebSocket push per notification
+    @Transactional
+    public void sendNotifications(List<Draft> drafts) {
+        if (drafts.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> saved = notificationRepository.saveAll(drafts.stream()
+                .map(draft -> Notification.builder()
+                        .user(draft.user())
+                        .message(draft.message())
+                        .isRead(false)
+                        .createdAt(now)
+                        .build())
+                .toList());
+        for (Notification notification : saved) {
+            outboxService.enqueueWebSocket("/queue/notifications/" + notification.getUser().getId(),
+                    NotificationResponseDto.fromEntity(notification));
+        }
+    }
+
+    public record Draft(User user, String message) {
     }
 
     public List<NotificationResponseDto> getUserNotifications(User user) {
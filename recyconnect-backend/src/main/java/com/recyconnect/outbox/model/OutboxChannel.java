@@ -0,0 +1,6 @@
+package com.recyconnect.outbox.model;
+
+public enum OutboxChannel {
+    EMAIL,
+    WEBSOCKET
+}
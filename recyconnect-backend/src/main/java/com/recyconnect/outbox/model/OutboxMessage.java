@@ -0,0 +1,64 @@
+package com.recyconnect.outbox.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// A side effect (email or WebSocket push) recorded in the same transaction as the change that caused it.
+// OutboxDispatcher delivers it after commit, so a slow or failing mail server never holds up or rolls back
+// the business transaction.
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "outbox_messages", indexes = {
+        @Index(name = "idx_outbox_status_next_attempt", columnList = "status, next_attempt_at")
+})
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxChannel channel;
+
+    // Email address, or STOMP destination for WebSocket messages
+    @Column(nullable = false)
+    private String recipient;
+
+    // Email only
+    private String subject;
+
+    // Email text, or the JSON payload for WebSocket messages
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    // The body carries a secret (an OTP or a reset link), so it is blanked once the message is SENT or FAILED
+    @Column(nullable = false, columnDefinition = "boolean default false")
+    private boolean sensitive;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+}
@@ -0,0 +1,8 @@
+package com.recyconnect.outbox.model;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    // Gave up after OutboxDispatcher.MAX_ATTEMPTS; kept for inspection
+    FAILED
+}
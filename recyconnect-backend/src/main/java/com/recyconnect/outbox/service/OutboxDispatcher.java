@@ -0,0 +1,168 @@
+package com.recyconnect.outbox.service;
+
+import com.recyconnect.outbox.model.OutboxChannel;
+import com.recyconnect.outbox.model.OutboxMessage;
+import com.recyconnect.outbox.model.OutboxStatus;
+import com.recyconnect.outbox.repository.OutboxMessageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Drains the outbox in the background. Each run locks one batch of due messages, sends all of its emails
+// over a single SMTP connection, pushes the WebSocket messages, and reschedules whatever failed with
+// exponential backoff.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxDispatcher {
+
+    static final String FROM_ADDRESS = "noreply@recyconnect.com";
+    static final int MAX_ATTEMPTS = 8;
+    static final Duration BASE_BACKOFF = Duration.ofSeconds(30);
+    static final Duration MAX_BACKOFF = Duration.ofHours(1);
+    static final Duration SENT_RETENTION = Duration.ofDays(7);
+    static final String REDACTED_BODY = "[removed after delivery]";
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final JavaMailSender mailSender;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @Value("${app.outbox.batch-size:50}")
+    private int batchSize = 50;
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-ms:1000}", initialDelayString = "${app.outbox.poll-ms:1000}")
+    @Transactional
+    public void dispatch() {
+        List<OutboxMessage> batch = outboxMessageRepository.lockDueBatch(LocalDateTime.now(), batchSize);
+        if (!batch.isEmpty()) {
+            deliver(batch);
+        }
+    }
+
+    void deliver(List<OutboxMessage> batch) {
+        Map<OutboxMessage, Exception> failures = new IdentityHashMap<>();
+        sendEmails(batch.stream().filter(m -> m.getChannel() == OutboxChannel.EMAIL).toList(), failures);
+        batch.stream().filter(m -> m.getChannel() == OutboxChannel.WEBSOCKET).forEach(message -> {
+            try {
+                // Already JSON; sent as-is so the client parses the same body it always has
+                messagingTemplate.convertAndSend(message.getRecipient(), message.getBody());
+            } catch (MessagingException e) {
+                failures.put(message, e);
+            }
+        });
+
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxMessage message : batch) {
+            Exception failure = failures.get(message);
+            if (failure == null) {
+                message.setStatus(OutboxStatus.SENT);
+                message.setSentAt(now);
+                message.setLastError(null);
+                redactIfSensitive(message);
+            } else {
+                scheduleRetry(message, failure, now);
+            }
+        }
+        outboxMessageRepository.saveAll(batch);
+        if (!failures.isEmpty()) {
+            log.warn("Outbox: {} of {} messages failed", failures.size(), batch.size());
+        }
+    }
+
+    // One send() call for the whole batch lets JavaMailSender reuse a single connection. A MailSendException
+    // names exactly which messages failed, so only those are retried.
+    private void sendEmails(List<OutboxMessage> emails, Map<OutboxMessage, Exception> failures) {
+        if (emails.isEmpty()) {
+            return;
+        }
+        Map<SimpleMailMessage, OutboxMessage> byMail = new IdentityHashMap<>();
+        List<SimpleMailMessage> mails = new ArrayList<>(emails.size());
+        for (OutboxMessage email : emails) {
+            SimpleMailMessage mail = toMail(email);
+            byMail.put(mail, email);
+            mails.add(mail);
+        }
+        try {
+            mailSender.send(mails.toArray(SimpleMailMessage[]::new));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                emails.forEach(email -> failures.put(email, e));
+            }
+            e.getFailedMessages().forEach((mail, cause) -> {
+                OutboxMessage email = byMail.get(mail);
+                if (email != null) {
+                    failures.put(email, cause);
+                }
+            });
+        } catch (MailException e) {
+            // Authentication or preparation problems affect the whole batch
+            emails.forEach(email -> failures.put(email, e));
+        }
+    }
+
+    private void scheduleRetry(OutboxMessage message, Exception failure, LocalDateTime now) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(truncate(String.valueOf(failure.getMessage())));
+        if (attempts >= MAX_ATTEMPTS) {
+            message.setStatus(OutboxStatus.FAILED);
+            redactIfSensitive(message);
+            log.error("Outbox: giving up on message {} to {} after {} attempts", message.getId(), message.getRecipient(), attempts);
+        } else {
+            message.setNextAttemptAt(now.plus(backoff(attempts)));
+        }
+    }
+
+    // SENT and FAILED rows are kept for days (FAILED ones indefinitely), so secrets must not outlive delivery
+    private static void redactIfSensitive(OutboxMessage message) {
+        if (message.isSensitive()) {
+            message.setBody(REDACTED_BODY);
+        }
+    }
+
+    // 30s, 1m, 2m, 4m ... capped at an hour
+    static Duration backoff(int attempts) {
+        int shift = Math.min(attempts - 1, 20);
+        Duration delay = BASE_BACKOFF.multipliedBy(1L << shift);
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    @Scheduled(cron = "${app.outbox.purge-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeSent() {
+        int purged = outboxMessageRepository.deleteSentBefore(LocalDateTime.now().minus(SENT_RETENTION));
+        if (purged > 0) {
+            log.info("Outbox: purged {} delivered messages", purged);
+        }
+    }
+
+    private static SimpleMailMessage toMail(OutboxMessage email) {
+        SimpleMailMessage mail = new SimpleMailMessage();
+        mail.setTo(email.getRecipient());
+        mail.setSubject(email.getSubject());
+        mail.setText(email.getBody());
+        mail.setFrom(FROM_ADDRESS);
+        return mail;
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
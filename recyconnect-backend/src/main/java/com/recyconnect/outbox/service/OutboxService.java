@@ -0,0 +1,57 @@
+package com.recyconnect.outbox.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recyconnect.outbox.model.OutboxChannel;
+import com.recyconnect.outbox.model.OutboxMessage;
+import com.recyconnect.outbox.model.OutboxStatus;
+import com.recyconnect.outbox.repository.OutboxMessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+// Records side effects in the caller's transaction; they go out only if it commits
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional
+    public void enqueueEmail(String to, String subject, String body) {
+        save(OutboxChannel.EMAIL, to, subject, body, false);
+    }
+
+    // For emails carrying a secret: the body is kept only until delivery succeeds or is given up on
+    @Transactional
+    public void enqueueSensitiveEmail(String to, String subject, String body) {
+        save(OutboxChannel.EMAIL, to, subject, body, true);
+    }
+
+    @Transactional
+    public void enqueueWebSocket(String destination, Object payload) {
+        try {
+            save(OutboxChannel.WEBSOCKET, destination, null, objectMapper.writeValueAsString(payload), false);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize WebSocket payload", e);
+        }
+    }
+
+    private void save(OutboxChannel channel, String recipient, String subject, String body, boolean sensitive) {
+        LocalDateTime now = LocalDateTime.now();
+        outboxMessageRepository.save(OutboxMessage.builder()
+                .channel(channel)
+                .recipient(recipient)
+                .subject(subject)
+                .body(body)
+                .sensitive(sensitive)
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+    }
+}
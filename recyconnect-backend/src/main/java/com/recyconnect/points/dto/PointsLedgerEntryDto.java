@@ -0,0 +1,22 @@
+package com.recyconnect.points.dto;
+
+import com.recyconnect.points.model.PointsLedgerEntry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PointsLedgerEntryDto {
+    private Long bookingId;
+    private int points;
+    private String reason;
+    private LocalDateTime createdAt;
+
+    public static PointsLedgerEntryDto fromEntity(PointsLedgerEntry entry) {
+        return new PointsLedgerEntryDto(entry.getBookingId(), entry.getPoints(), entry.getReason().name(), entry.getCreatedAt());
+    }
+}
@@ -0,0 +1,29 @@
+package com.recyconnect.points.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Request and response body for the admin points-rules endpoints; null conditions match everything
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PointsRuleDto {
+    private Long id;
+    private String name;
+    private String wasteType;
+    private Long ngoId;
+    private Double minQuantityKg;
+    private Double maxQuantityKg;
+    // e.g. "SATURDAY,SUNDAY" for double-points weekends
+    private String daysOfWeek;
+    private LocalDateTime startsAt;
+    private LocalDateTime endsAt;
+    private Double multiplier;
+    private Integer bonusPoints;
+    private Boolean active;
+}
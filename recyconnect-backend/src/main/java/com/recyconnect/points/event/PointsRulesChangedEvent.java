@@ -0,0 +1,5 @@
+package com.recyconnect.points.event;
+
+// Published when points rules are created, updated or deleted, so PointsRulesEngine recompiles after commit
+public record PointsRulesChangedEvent() {
+}
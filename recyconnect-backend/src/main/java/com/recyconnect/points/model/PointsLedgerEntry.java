@@ -0,0 +1,45 @@
+package com.recyconnect.points.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Append-only record of every EcoPoints change. users.eco_points is the running balance, kept in step by
+// PointsService in the same transaction; PointsService.rebuildBalances() recomputes it from this table.
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "points_ledger", indexes = {
+        @Index(name = "idx_points_ledger_user_created", columnList = "user_id, created_at")
+}, uniqueConstraints = {
+        // A booking pays each kind of award at most once
+        @UniqueConstraint(name = "uk_points_ledger_booking_reason", columnNames = {"booking_id", "reason"})
+})
+public class PointsLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @Column(nullable = false)
+    private int points;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PointsReason reason;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
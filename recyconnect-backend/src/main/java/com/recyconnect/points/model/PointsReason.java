@@ -0,0 +1,9 @@
+package com.recyconnect.points.model;
+
+public enum PointsReason {
+    // Balance a user already had when the ledger was introduced (see schema.sql)
+    OPENING_BALANCE,
+    PICKUP_COMPLETED,
+    // The NGO's share of a completed pickup, credited to the NGO's user account
+    NGO_COMMISSION
+}
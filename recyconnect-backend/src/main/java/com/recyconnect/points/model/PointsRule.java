@@ -0,0 +1,48 @@
+package com.recyconnect.points.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// An adjustment to the base points of a completed pickup (base points come from the waste_types catalog).
+// Every condition left null matches anything; a pickup gets round(base * product of multipliers) plus the
+// sum of bonuses over all matching active rules. PointsRulesEngine compiles the active rows into memory.
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "points_rules")
+public class PointsRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    // Conditions
+    private String wasteTypeCode;
+    private Long ngoId;
+    private Double minQuantityKg;
+    private Double maxQuantityKg;
+    // Comma-separated DayOfWeek names, e.g. "SATURDAY,SUNDAY"
+    private String daysOfWeek;
+    private LocalDateTime startsAt;
+    private LocalDateTime endsAt;
+
+    // Effects
+    @Column(nullable = false)
+    private double multiplier;
+
+    @Column(nullable = false)
+    private int bonusPoints;
+
+    @Column(nullable = false)
+    private boolean active;
+}
@@ -0,0 +1,20 @@
+package com.recyconnect.points.repository;
+
+import com.recyconnect.points.model.PointsLedgerEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface PointsLedgerRepository extends JpaRepository<PointsLedgerEntry, Long> {
+
+    List<PointsLedgerEntry> findByUserIdOrderByCreatedAtDescIdDesc(Integer userId, Limit limit);
+
+    // Recomputes every balance from the ledger in one set-based statement
+    @Modifying
+    @Query(value = "UPDATE users u SET eco_points = COALESCE((SELECT SUM(l.points) FROM points_ledger l " +
+            "WHERE l.user_id = u.id), 0)", nativeQuery = true)
+    int rebuildBalances();
+}
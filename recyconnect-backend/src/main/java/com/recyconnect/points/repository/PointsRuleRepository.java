@@ -0,0 +1,13 @@
+package com.recyconnect.points.repository;
+
+import com.recyconnect.points.model.PointsRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface PointsRuleRepository extends JpaRepository<PointsRule, Long> {
+
+    List<PointsRule> findByActiveTrueOrderByIdAsc();
+
+    List<PointsRule> findAllByOrderByIdAsc();
+}
@@ -0,0 +1,131 @@
+package com.recyconnect.points.rules;
+
+import com.recyconnect.points.model.PointsRule;
+import com.recyconnect.waste.model.WasteType;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Immutable lookup built from the active points rules and the waste type catalog. Each waste type's display
+// name maps to its base points and the rules that can apply to it, as flat arrays of primitive fields, so
+// scoring a pickup is a hash lookup plus a short loop: no locks and no allocation.
+public final class CompiledPointsRules {
+
+    // One compiled rule; NaN / Long.MIN_VALUE / MAX_VALUE / 0 stand for "no condition"
+    static final class Rule {
+        final long ngoId;
+        final double minQuantityKg;
+        final double maxQuantityKg;
+        final int dayMask;
+        final long startsAtEpoch;
+        final long endsAtEpoch;
+        final double multiplier;
+        final int bonusPoints;
+
+        Rule(PointsRule rule) {
+            this.ngoId = rule.getNgoId() != null ? rule.getNgoId() : 0L;
+            this.minQuantityKg = rule.getMinQuantityKg() != null ? rule.getMinQuantityKg() : Double.NaN;
+            this.maxQuantityKg = rule.getMaxQuantityKg() != null ? rule.getMaxQuantityKg() : Double.NaN;
+            this.dayMask = dayMask(rule.getDaysOfWeek());
+            this.startsAtEpoch = rule.getStartsAt() != null ? epoch(rule.getStartsAt()) : Long.MIN_VALUE;
+            this.endsAtEpoch = rule.getEndsAt() != null ? epoch(rule.getEndsAt()) : Long.MAX_VALUE;
+            this.multiplier = rule.getMultiplier();
+            this.bonusPoints = rule.getBonusPoints();
+        }
+
+        boolean matches(long ngo, double quantityKg, int dayBit, long atEpoch) {
+            if (ngoId != 0 && ngoId != ngo) {
+                return false;
+            }
+            // A quantity condition never matches a pickup without a quantity (NaN comparisons are false)
+            if (!Double.isNaN(minQuantityKg) && !(quantityKg >= minQuantityKg)) {
+                return false;
+            }
+            if (!Double.isNaN(maxQuantityKg) && !(quantityKg <= maxQuantityKg)) {
+                return false;
+            }
+            if (dayMask != 0 && (dayMask & dayBit) == 0) {
+                return false;
+            }
+            // Windows are half-open: [startsAt, endsAt)
+            return atEpoch >= startsAtEpoch && atEpoch < endsAtEpoch;
+        }
+    }
+
+    private record TypeRules(int basePoints, Rule[] rules) {}
+
+    private final Map<String, TypeRules> byDisplayName;
+    // For waste types that aren't in the catalog: default base points and only the rules without a type
+    private final TypeRules fallback;
+    private final int ruleCount;
+
+    private CompiledPointsRules(Map<String, TypeRules> byDisplayName, TypeRules fallback, int ruleCount) {
+        this.byDisplayName = byDisplayName;
+        this.fallback = fallback;
+        this.ruleCount = ruleCount;
+    }
+
+    public static CompiledPointsRules compile(List<WasteType> wasteTypes, List<PointsRule> rules, int defaultPoints) {
+        List<Rule> anyType = new ArrayList<>();
+        Map<String, List<Rule>> byCode = new HashMap<>();
+        for (PointsRule rule : rules) {
+            if (rule.getWasteTypeCode() == null) {
+                anyType.add(new Rule(rule));
+            } else {
+                byCode.computeIfAbsent(rule.getWasteTypeCode().toLowerCase(Locale.ROOT), k -> new ArrayList<>()).add(new Rule(rule));
+            }
+        }
+
+        Map<String, TypeRules> byDisplayName = new HashMap<>();
+        for (WasteType type : wasteTypes) {
+            List<Rule> applicable = new ArrayList<>(anyType);
+            applicable.addAll(byCode.getOrDefault(type.getCode().toLowerCase(Locale.ROOT), List.of()));
+            byDisplayName.put(type.getDisplayName(), new TypeRules(type.getPoints(), applicable.toArray(Rule[]::new)));
+        }
+        return new CompiledPointsRules(Map.copyOf(byDisplayName),
+                new TypeRules(defaultPoints, anyType.toArray(Rule[]::new)), rules.size());
+    }
+
+    // wasteType is the booking's canonical display name; quantityKg may be null
+    public int calculate(String wasteType, long ngoId, Double quantityKg, LocalDateTime at) {
+        TypeRules typeRules = wasteType != null ? byDisplayName.getOrDefault(wasteType, fallback) : fallback;
+        double quantity = quantityKg != null ? quantityKg : Double.NaN;
+        int dayBit = 1 << at.getDayOfWeek().ordinal();
+        long atEpoch = epoch(at);
+
+        double multiplier = 1.0;
+        int bonus = 0;
+        for (Rule rule : typeRules.rules()) {
+            if (rule.matches(ngoId, quantity, dayBit, atEpoch)) {
+                multiplier *= rule.multiplier;
+                bonus += rule.bonusPoints;
+            }
+        }
+        return Math.max(0, (int) Math.round(typeRules.basePoints() * multiplier) + bonus);
+    }
+
+    public int ruleCount() {
+        return ruleCount;
+    }
+
+    static int dayMask(String daysOfWeek) {
+        if (daysOfWeek == null || daysOfWeek.isBlank()) {
+            return 0;
+        }
+        return Arrays.stream(daysOfWeek.split(","))
+                .filter(day -> !day.isBlank())
+                .mapToInt(day -> 1 << DayOfWeek.valueOf(day.trim().toUpperCase(Locale.ROOT)).ordinal())
+                .reduce(0, (a, b) -> a | b);
+    }
+
+    private static long epoch(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,48 @@
+package com.recyconnect.points.rules;
+
+import com.recyconnect.points.event.PointsRulesChangedEvent;
+import com.recyconnect.points.repository.PointsRuleRepository;
+import com.recyconnect.waste.service.WasteTypeCatalog;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+
+// Scores completed pickups against the points_rules table. Rules are compiled into an immutable
+// CompiledPointsRules and swapped in with one volatile write, so the completion path never locks.
+// Recompiled after rule edits on this node, and periodically to pick up edits made on other nodes.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PointsRulesEngine {
+
+    private final PointsRuleRepository pointsRuleRepository;
+    private final WasteTypeCatalog wasteTypeCatalog;
+
+    private volatile CompiledPointsRules compiled;
+
+    @PostConstruct
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.points.rules-refresh-ms:60000}", initialDelayString = "${app.points.rules-refresh-ms:60000}")
+    public void reload() {
+        CompiledPointsRules fresh = CompiledPointsRules.compile(wasteTypeCatalog.all(),
+                pointsRuleRepository.findByActiveTrueOrderByIdAsc(), WasteTypeCatalog.DEFAULT_POINTS);
+        compiled = fresh;
+        log.debug("Points rules compiled: {} active rules", fresh.ruleCount());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRulesChanged(PointsRulesChangedEvent event) {
+        reload();
+    }
+
+    public int calculate(String wasteType, Long ngoId, Double quantityKg, LocalDateTime at) {
+        return compiled.calculate(wasteType, ngoId != null ? ngoId : 0L, quantityKg, at);
+    }
+}
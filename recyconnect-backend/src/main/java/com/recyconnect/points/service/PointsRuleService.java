@@ -0,0 +1,143 @@
+package com.recyconnect.points.service;
+
+import com.recyconnect.exception.BadRequestException;
+import com.recyconnect.ngo.repository.NgoRepository;
+import com.recyconnect.points.dto.PointsRuleDto;
+import com.recyconnect.points.event.PointsRulesChangedEvent;
+import com.recyconnect.points.model.PointsRule;
+import com.recyconnect.points.repository.PointsRuleRepository;
+import com.recyconnect.waste.model.WasteType;
+import com.recyconnect.waste.service.WasteTypeCatalog;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+// Admin management of points rules; every change triggers a recompile of PointsRulesEngine after commit
+@Service
+@RequiredArgsConstructor
+public class PointsRuleService {
+
+    static final double MAX_MULTIPLIER = 10;
+    static final int MAX_BONUS = 1000;
+
+    private final PointsRuleRepository pointsRuleRepository;
+    private final WasteTypeCatalog wasteTypeCatalog;
+    private final NgoRepository ngoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public List<PointsRuleDto> getRules() {
+        return pointsRuleRepository.findAllByOrderByIdAsc().stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public PointsRuleDto createRule(PointsRuleDto request) {
+        PointsRule rule = new PointsRule();
+        apply(rule, request);
+        return saveAndPublish(rule);
+    }
+
+    @Transactional
+    public PointsRuleDto updateRule(Long ruleId, PointsRuleDto request) {
+        PointsRule rule = pointsRuleRepository.findById(ruleId)
+                .orElseThrow(() -> new EntityNotFoundException("Points rule not found with ID: " + ruleId));
+        apply(rule, request);
+        return saveAndPublish(rule);
+    }
+
+    @Transactional
+    public void deleteRule(Long ruleId) {
+        if (!pointsRuleRepository.existsById(ruleId)) {
+            throw new EntityNotFoundException("Points rule not found with ID: " + ruleId);
+        }
+        pointsRuleRepository.deleteById(ruleId);
+        eventPublisher.publishEvent(new PointsRulesChangedEvent());
+    }
+
+    private PointsRuleDto saveAndPublish(PointsRule rule) {
+        PointsRule saved = pointsRuleRepository.save(rule);
+        eventPublisher.publishEvent(new PointsRulesChangedEvent());
+        return toDto(saved);
+    }
+
+    // Validates everything up front so a bad rule can never reach the compiled lookup
+    private void apply(PointsRule rule, PointsRuleDto request) {
+        if (request.getName() == null || request.getName().isBlank()) {
+            throw new BadRequestException("Rule name is required");
+        }
+        double multiplier = request.getMultiplier() != null ? request.getMultiplier() : 1.0;
+        if (!(multiplier > 0) || multiplier > MAX_MULTIPLIER) {
+            throw new BadRequestException("multiplier must be between 0 and " + MAX_MULTIPLIER);
+        }
+        int bonus = request.getBonusPoints() != null ? request.getBonusPoints() : 0;
+        if (Math.abs(bonus) > MAX_BONUS) {
+            throw new BadRequestException("bonusPoints must be between -" + MAX_BONUS + " and " + MAX_BONUS);
+        }
+        if (request.getMinQuantityKg() != null && request.getMaxQuantityKg() != null
+                && request.getMinQuantityKg() > request.getMaxQuantityKg()) {
+            throw new BadRequestException("minQuantityKg must not exceed maxQuantityKg");
+        }
+        if (request.getStartsAt() != null && request.getEndsAt() != null && !request.getStartsAt().isBefore(request.getEndsAt())) {
+            throw new BadRequestException("startsAt must be before endsAt");
+        }
+        if (request.getNgoId() != null && !ngoRepository.existsById(request.getNgoId())) {
+            throw new EntityNotFoundException("NGO not found with ID: " + request.getNgoId());
+        }
+
+        rule.setName(request.getName().trim());
+        rule.setWasteTypeCode(request.getWasteType() == null || request.getWasteType().isBlank()
+                ? null : wasteTypeCatalog.require(request.getWasteType()).getCode());
+        rule.setNgoId(request.getNgoId());
+        rule.setMinQuantityKg(request.getMinQuantityKg());
+        rule.setMaxQuantityKg(request.getMaxQuantityKg());
+        rule.setDaysOfWeek(normalizeDays(request.getDaysOfWeek()));
+        rule.setStartsAt(request.getStartsAt());
+        rule.setEndsAt(request.getEndsAt());
+        rule.setMultiplier(multiplier);
+        rule.setBonusPoints(bonus);
+        rule.setActive(request.getActive() == null || request.getActive());
+    }
+
+    private static String normalizeDays(String daysOfWeek) {
+        if (daysOfWeek == null || daysOfWeek.isBlank()) {
+            return null;
+        }
+        try {
+            return Arrays.stream(daysOfWeek.split(","))
+                    .filter(day -> !day.isBlank())
+                    .map(day -> DayOfWeek.valueOf(day.trim().toUpperCase(Locale.ROOT)).name())
+                    .distinct()
+                    .collect(Collectors.joining(","));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid daysOfWeek: " + daysOfWeek);
+        }
+    }
+
+    private PointsRuleDto toDto(PointsRule rule) {
+        return PointsRuleDto.builder()
+                .id(rule.getId())
+                .name(rule.getName())
+                .wasteType(rule.getWasteTypeCode() == null ? null
+                        : wasteTypeCatalog.find(rule.getWasteTypeCode()).map(WasteType::getDisplayName).orElse(rule.getWasteTypeCode()))
+                .ngoId(rule.getNgoId())
+                .minQuantityKg(rule.getMinQuantityKg())
+                .maxQuantityKg(rule.getMaxQuantityKg())
+                .daysOfWeek(rule.getDaysOfWeek())
+                .startsAt(rule.getStartsAt())
+                .endsAt(rule.getEndsAt())
+                .multiplier(rule.getMultiplier())
+                .bonusPoints(rule.getBonusPoints())
+                .active(rule.isActive())
+                .build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.recyconnect.points.service;
+
+import com.recyconnect.auth.repository.UserRepository;
+import com.recyconnect.exception.BadRequestException;
+import com.recyconnect.points.dto.PointsLedgerEntryDto;
+import com.recyconnect.points.model.PointsLedgerEntry;
+import com.recyconnect.points.model.PointsReason;
+import com.recyconnect.points.repository.PointsLedgerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PointsService {
+
+    static final int MAX_HISTORY = 100;
+
+    private final PointsLedgerRepository pointsLedgerRepository;
+    private final UserRepository userRepository;
+
+    // Appends a ledger entry and bumps the balance with eco_points = eco_points + ?, so concurrent awards
+    // to one busy account never overwrite each other. Must run inside the caller's transaction.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void award(Integer userId, Long bookingId, int points, PointsReason reason) {
+        if (points == 0) {
+            return;
+        }
+        pointsLedgerRepository.save(PointsLedgerEntry.builder()
+                .userId(userId)
+                .bookingId(bookingId)
+                .points(points)
+                .reason(reason)
+                .createdAt(LocalDateTime.now())
+                .build());
+        userRepository.addEcoPoints(userId, points);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PointsLedgerEntryDto> getHistory(Integer userId, int limit) {
+        if (limit <= 0 || limit > MAX_HISTORY) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_HISTORY);
+        }
+        return pointsLedgerRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, Limit.of(limit)).stream()
+                .map(PointsLedgerEntryDto::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public int rebuildBalances() {
+        int rows = pointsLedgerRepository.rebuildBalances();
+        log.info("Rebuilt EcoPoints balances for {} users from the ledger", rows);
+        return rows;
+    }
+}
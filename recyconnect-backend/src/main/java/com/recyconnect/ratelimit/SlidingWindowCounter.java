@@ -0,0 +1,110 @@
+package com.recyconnect.ratelimit;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+// In-memory event counts over a sliding window, one per key. Each key keeps only the current and previous
+// fixed window; the sliding count weighs the previous one by how much of it still overlaps, which is close
+// enough for throttling and costs two ints per key instead of a timestamp per event.
+public class SlidingWindowCounter<K> {
+
+    private static final class Window {
+        long startNanos;
+        int current;
+        int previous;
+    }
+
+    private final Map<K, Window> windows = new ConcurrentHashMap<>();
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+
+    public SlidingWindowCounter(Duration window) {
+        this(window, System::nanoTime);
+    }
+
+    public SlidingWindowCounter(Duration window, LongSupplier nanoClock) {
+        if (window.isZero() || window.isNegative()) {
+            throw new IllegalArgumentException("Window must be positive");
+        }
+        this.windowNanos = window.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    public void record(K key) {
+        long now = nanoClock.getAsLong();
+        windows.compute(key, (k, window) -> {
+            if (window == null) {
+                window = new Window();
+                window.startNanos = now;
+            }
+            roll(window, now);
+            window.current++;
+            return window;
+        });
+    }
+
+    // 0 while fewer than limit events fall inside the window, otherwise the nanoseconds until that is true again
+    public long waitNanos(K key, int limit) {
+        long now = nanoClock.getAsLong();
+        long[] wait = new long[1];
+        windows.computeIfPresent(key, (k, window) -> {
+            roll(window, now);
+            wait[0] = waitNanos(window, now, limit);
+            return window;
+        });
+        return wait[0];
+    }
+
+    public void reset(K key) {
+        windows.remove(key);
+    }
+
+    // Drops keys with nothing left inside the window; they behave exactly like a new key
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int[] evicted = new int[1];
+        for (K key : windows.keySet()) {
+            windows.computeIfPresent(key, (k, window) -> {
+                roll(window, now);
+                if (window.current == 0 && window.previous == 0) {
+                    evicted[0]++;
+                    return null;
+                }
+                return window;
+            });
+        }
+        return evicted[0];
+    }
+
+    public int size() {
+        return windows.size();
+    }
+
+    private void roll(Window window, long now) {
+        long elapsed = now - window.startNanos;
+        if (elapsed >= windowNanos) {
+            long passed = elapsed / windowNanos;
+            window.previous = passed == 1 ? window.current : 0;
+            window.current = 0;
+            window.startNanos += passed * windowNanos;
+        }
+    }
+
+    // The sliding count is previous * (1 - f) + current, f being how far into the current window we are
+    private long waitNanos(Window window, long now, int limit) {
+        double elapsed = (double) (now - window.startNanos) / windowNanos;
+        if (window.previous * (1 - elapsed) + window.current < limit) {
+            return 0;
+        }
+        if (window.current < limit) {
+            // The previous window's share drops below the headroom later in this window
+            double until = 1 - (double) (limit - window.current) / window.previous;
+            return Math.max(1, (long) Math.ceil((until - elapsed) * windowNanos));
+        }
+        // This window alone is over the limit: wait until its share of the next window is small enough
+        double until = 1 + 1 - (double) limit / window.current;
+        return Math.max(1, (long) Math.ceil((until - elapsed) * windowNanos));
+    }
+}
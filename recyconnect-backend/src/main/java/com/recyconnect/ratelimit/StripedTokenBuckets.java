@@ -0,0 +1,122 @@
+package com.recyconnect.ratelimit;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+// In-memory token buckets, one per key. Keys are spread over independently locked stripes, so callers
+// limiting different keys rarely contend. Capacity and refill rate are passed on each call, so limits can
+// differ per key (e.g. per-NGO capacity) and changes take effect immediately.
+public class StripedTokenBuckets<K> {
+
+    private static final class Bucket {
+        double tokens;
+        long updatedNanos;
+        double capacity;
+        double tokensPerNano;
+    }
+
+    private final Object[] locks;
+    private final Map<K, Bucket>[] stripes;
+    private final int mask;
+    private final LongSupplier nanoClock;
+
+    public StripedTokenBuckets(int stripes) {
+        this(stripes, System::nanoTime);
+    }
+
+    @SuppressWarnings("unchecked")
+    public StripedTokenBuckets(int stripes, LongSupplier nanoClock) {
+        if (stripes <= 0 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("Stripe count must be a power of two");
+        }
+        this.locks = new Object[stripes];
+        this.stripes = new Map[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new Object();
+            this.stripes[i] = new HashMap<>();
+        }
+        this.mask = stripes - 1;
+        this.nanoClock = nanoClock;
+    }
+
+    // Takes one token if available and returns 0; otherwise returns the nanoseconds until one will be
+    public long tryAcquire(K key, double capacity, double refillPerSecond) {
+        int stripe = stripe(key);
+        long now = nanoClock.getAsLong();
+        synchronized (locks[stripe]) {
+            Bucket bucket = stripes[stripe].get(key);
+            if (bucket == null) {
+                bucket = new Bucket();
+                bucket.tokens = capacity;
+                bucket.updatedNanos = now;
+                stripes[stripe].put(key, bucket);
+            }
+            bucket.capacity = capacity;
+            bucket.tokensPerNano = refillPerSecond / 1e9;
+            refill(bucket, now);
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            return bucket.tokensPerNano > 0 ? (long) Math.ceil((1 - bucket.tokens) / bucket.tokensPerNano) : Long.MAX_VALUE;
+        }
+    }
+
+    // Gives back a token taken by a request that was then refused for another reason
+    public void release(K key) {
+        int stripe = stripe(key);
+        synchronized (locks[stripe]) {
+            Bucket bucket = stripes[stripe].get(key);
+            if (bucket != null) {
+                bucket.tokens = Math.min(bucket.capacity, bucket.tokens + 1);
+            }
+        }
+    }
+
+    // Drops buckets that have refilled completely; they behave exactly like a new bucket
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int evicted = 0;
+        for (int stripe = 0; stripe < stripes.length; stripe++) {
+            synchronized (locks[stripe]) {
+                Iterator<Bucket> buckets = stripes[stripe].values().iterator();
+                while (buckets.hasNext()) {
+                    Bucket bucket = buckets.next();
+                    refill(bucket, now);
+                    if (bucket.tokens >= bucket.capacity) {
+                        buckets.remove();
+                        evicted++;
+                    }
+                }
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        int size = 0;
+        for (int stripe = 0; stripe < stripes.length; stripe++) {
+            synchronized (locks[stripe]) {
+                size += stripes[stripe].size();
+            }
+        }
+        return size;
+    }
+
+    private static void refill(Bucket bucket, long now) {
+        long elapsed = now - bucket.updatedNanos;
+        if (elapsed > 0) {
+            bucket.tokens = Math.min(bucket.capacity, bucket.tokens + elapsed * bucket.tokensPerNano);
+            bucket.updatedNanos = now;
+        }
+        // A lowered capacity applies straight away
+        bucket.tokens = Math.min(bucket.tokens, bucket.capacity);
+    }
+
+    private int stripe(K key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
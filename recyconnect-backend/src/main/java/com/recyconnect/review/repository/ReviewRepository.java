@@ -3,8 +3,11 @@ package com.recyconnect.review.repository;
 import com.recyconnect.review.model.Review;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
 
@@ -14,7 +17,7 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     // Check if a review for a specific booking already exists
     boolean existsByBookingId(Long bookingId);
 
-    // NEW: Calculate average rating directly in DB
-    @Query("SELECT AVG(r.rating) FROM Review r WHERE r.ngo.id = :ngoId")
-    Double getAverageRatingByNgoId(Long ngoId);
+    // Which of these bookings already have a review; one query for a whole booking list
+    @Query("SELECT r.booking.id FROM Review r WHERE r.booking.id IN :bookingIds")
+    Set<Long> findReviewedBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
 }
\ No newline at end of file
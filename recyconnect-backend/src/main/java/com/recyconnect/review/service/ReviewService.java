@@ -8,6 +8,7 @@ import com.recyconnect.review.dto.ReviewResponseDto;
 import com.recyconnect.review.dto.SubmitReviewRequestDto;
 import com.recyconnect.review.model.Review;
 import com.recyconnect.review.repository.ReviewRepository;
+import com.recyconnect.stats.service.NgoStatsService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.AccessDeniedException;
@@ -23,6 +24,7 @@ public class ReviewService {
 
     private final ReviewRepository reviewRepository;
     private final BookingRepository bookingRepository;
+    private final NgoStatsService ngoStatsService;
 
     @Transactional
     public ReviewResponseDto submitReview(SubmitReviewRequestDto request, User currentUser) {
@@ -51,6 +53,10 @@ public class ReviewService {
                 .build();
 
         Review savedReview = reviewRepository.save(newReview);
+
+        // Update the NGO's rating sum/count in the same transaction
+        ngoStatsService.recordRating(booking.getNgo().getId(), request.getRating());
+
         return ReviewResponseDto.fromEntity(savedReview);
     }
 
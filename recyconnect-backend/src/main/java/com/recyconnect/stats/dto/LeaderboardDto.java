@@ -9,4 +9,5 @@ public class LeaderboardDto {
     private Long rank;
     private String name;
     private Integer ecoPoints;
+    private Long completedPickups; // Only filled for the NGO leaderboard
 }
\ No newline at end of file
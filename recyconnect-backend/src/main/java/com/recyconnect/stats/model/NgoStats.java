@@ -0,0 +1,38 @@
+package com.recyconnect.stats.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Denormalized per-NGO counters, maintained in the same transaction as the booking/review that changes them.
+// NgoStatsService.rebuild() recomputes every row from the bookings and reviews tables.
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "ngo_stats")
+public class NgoStats {
+
+    @Id
+    private Long ngoId;
+
+    @Column(nullable = false)
+    private long completedPickups;
+
+    @Column(nullable = false)
+    private long ratingSum;
+
+    @Column(nullable = false)
+    private long ratingCount;
+
+    public static NgoStats empty(Long ngoId) {
+        return NgoStats.builder().ngoId(ngoId).build();
+    }
+
+    public Double getAverageRating() {
+        return ratingCount == 0 ? null : (double) ratingSum / ratingCount;
+    }
+}
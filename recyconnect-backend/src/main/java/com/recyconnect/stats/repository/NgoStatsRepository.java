@@ -0,0 +1,41 @@
+package com.recyconnect.stats.repository;
+
+import com.recyconnect.stats.model.NgoStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NgoStatsRepository extends JpaRepository<NgoStats, Long> {
+
+    // Atomic upserts: concurrent completions/reviews for one NGO never lose an increment
+    @Modifying
+    @Query(value = "INSERT INTO ngo_stats (ngo_id, completed_pickups, rating_sum, rating_count) VALUES (:ngoId, 1, 0, 0) " +
+            "ON CONFLICT (ngo_id) DO UPDATE SET completed_pickups = ngo_stats.completed_pickups + 1", nativeQuery = true)
+    void incrementCompletedPickups(@Param("ngoId") Long ngoId);
+
+    @Modifying
+    @Query(value = "INSERT INTO ngo_stats (ngo_id, completed_pickups, rating_sum, rating_count) VALUES (:ngoId, 0, :rating, 1) " +
+            "ON CONFLICT (ngo_id) DO UPDATE SET rating_sum = ngo_stats.rating_sum + :rating, " +
+            "rating_count = ngo_stats.rating_count + 1", nativeQuery = true)
+    void addRating(@Param("ngoId") Long ngoId, @Param("rating") int rating);
+
+    // Recomputes every NGO's counters from the source tables in one set-based statement. Rows are
+    // overwritten in place rather than deleted and re-inserted, so readers never see an NGO without stats.
+    @Modifying
+    @Query(value = "INSERT INTO ngo_stats (ngo_id, completed_pickups, rating_sum, rating_count) " +
+            "SELECT n.id, COALESCE(p.total, 0), COALESCE(r.total, 0), COALESCE(r.cnt, 0) FROM ngos n " +
+            "LEFT JOIN (SELECT ngo_id, COUNT(*) AS total FROM bookings WHERE status = 'COMPLETED' GROUP BY ngo_id) p ON p.ngo_id = n.id " +
+            "LEFT JOIN (SELECT ngo_id, SUM(rating) AS total, COUNT(*) AS cnt FROM reviews GROUP BY ngo_id) r ON r.ngo_id = n.id " +
+            "ON CONFLICT (ngo_id) DO UPDATE SET completed_pickups = EXCLUDED.completed_pickups, " +
+            "rating_sum = EXCLUDED.rating_sum, rating_count = EXCLUDED.rating_count",
+            nativeQuery = true)
+    int upsertFromSourceTables();
+
+    // Rows whose NGO no longer exists
+    @Modifying
+    @Query(value = "DELETE FROM ngo_stats s WHERE NOT EXISTS (SELECT 1 FROM ngos n WHERE n.id = s.ngo_id)", nativeQuery = true)
+    int deleteOrphanedRows();
+}
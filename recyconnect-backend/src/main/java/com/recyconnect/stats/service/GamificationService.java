@@ -3,18 +3,25 @@ package com.recyconnect.stats.service;
 import com.recyconnect.auth.model.Role;
 import com.recyconnect.auth.model.User;
 import com.recyconnect.auth.repository.UserRepository;
+import com.recyconnect.ngo.model.Ngo;
+import com.recyconnect.ngo.repository.NgoRepository;
 import com.recyconnect.stats.dto.LeaderboardDto;
+import com.recyconnect.stats.model.NgoStats;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class GamificationService {
 
     private final UserRepository userRepository;
+    private final NgoRepository ngoRepository;
+    private final NgoStatsService ngoStatsService;
 
     // Update the method signature
     public List<LeaderboardDto> getLeaderboard(Role role) {
@@ -23,17 +30,31 @@ public class GamificationService {
         // But for specific lists, we use the new method:
         List<User> topUsers = userRepository.findTop10ByRoleOrderByEcoPointsDesc(role);
 
+        // For NGOs, attach precomputed pickup counts (two batched lookups, no scans)
+        Map<Integer, NgoStats> statsByUserId = role == Role.ROLE_NGO ? loadNgoStats(topUsers) : Map.of();
+
         AtomicLong rank = new AtomicLong(1);
 
         return topUsers.stream()
-                .map(user -> new LeaderboardDto(
-                        rank.getAndIncrement(),
-                        user.getName(),
-                        user.getEcoPoints()
-                ))
+                .map(user -> {
+                    NgoStats stats = statsByUserId.get(user.getId());
+                    return new LeaderboardDto(
+                            rank.getAndIncrement(),
+                            user.getName(),
+                            user.getEcoPoints(),
+                            stats != null ? stats.getCompletedPickups() : null
+                    );
+                })
                 .toList();
     }
 
+    private Map<Integer, NgoStats> loadNgoStats(List<User> ngoUsers) {
+        List<Ngo> ngos = ngoRepository.findByUserIdIn(ngoUsers.stream().map(User::getId).toList());
+        Map<Long, NgoStats> stats = ngoStatsService.getStats(ngos.stream().map(Ngo::getId).toList());
+        return ngos.stream()
+                .collect(Collectors.toMap(ngo -> ngo.getUser().getId(), ngo -> stats.get(ngo.getId())));
+    }
+
     public Long getUserRank(Integer userId) {
         // Returns the rank or a default value if not found
         return userRepository.findRankByUserId(userId).orElse(0L);
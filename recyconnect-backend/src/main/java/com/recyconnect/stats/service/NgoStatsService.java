@@ -0,0 +1,59 @@
+package com.recyconnect.stats.service;
+
+import com.recyconnect.stats.model.NgoStats;
+import com.recyconnect.stats.repository.NgoStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NgoStatsService {
+
+    private final NgoStatsRepository ngoStatsRepository;
+
+    // Must run inside the caller's transaction so the counter commits (or rolls back) with the booking
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCompletedPickup(Long ngoId) {
+        ngoStatsRepository.incrementCompletedPickups(ngoId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRating(Long ngoId, int rating) {
+        ngoStatsRepository.addRating(ngoId, rating);
+    }
+
+    @Transactional(readOnly = true)
+    public NgoStats getStats(Long ngoId) {
+        return ngoStatsRepository.findById(ngoId).orElseGet(() -> NgoStats.empty(ngoId));
+    }
+
+    // One primary-key lookup for the whole batch; NGOs without a row get zeroed stats
+    @Transactional(readOnly = true)
+    public Map<Long, NgoStats> getStats(Collection<Long> ngoIds) {
+        if (ngoIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, NgoStats> found = ngoStatsRepository.findAllById(ngoIds).stream()
+                .collect(Collectors.toMap(NgoStats::getNgoId, Function.identity()));
+        return ngoIds.stream()
+                .distinct()
+                .collect(Collectors.toMap(Function.identity(), id -> found.getOrDefault(id, NgoStats.empty(id))));
+    }
+
+    @Transactional
+    public int rebuild() {
+        int rows = ngoStatsRepository.upsertFromSourceTables();
+        int orphans = ngoStatsRepository.deleteOrphanedRows();
+        log.info("Rebuilt ngo_stats for {} NGOs, removed {} orphaned rows", rows, orphans);
+        return rows;
+    }
+}
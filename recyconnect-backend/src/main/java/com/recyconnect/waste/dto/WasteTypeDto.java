@@ -0,0 +1,25 @@
+package com.recyconnect.waste.dto;
+
+import com.recyconnect.waste.model.WasteType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WasteTypeDto {
+    private String code;
+    private String displayName;
+    private int points;
+
+    public static WasteTypeDto fromEntity(WasteType type) {
+        return WasteTypeDto.builder()
+                .code(type.getCode())
+                .displayName(type.getDisplayName())
+                .points(type.getPoints())
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.recyconnect.waste.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One entry of the canonical waste-type catalog. NGOs store their accepted types both by
+// display name and as a bitmask built from each type's bit.
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "waste_types")
+public class WasteType {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Stable identifier, e.g. E_WASTE
+    @Column(nullable = false, unique = true)
+    private String code;
+
+    // The spelling shown to users and stored on NGOs and bookings, e.g. "E-Waste"
+    @Column(nullable = false, unique = true)
+    private String displayName;
+
+    // Position in Ngo.acceptedWasteMask (0..62). Never reassign a bit once NGOs use it.
+    @Column(nullable = false, unique = true)
+    private int bit;
+
+    // Eco-points awarded to the user for a completed pickup of this type
+    @Column(nullable = false)
+    private int points;
+
+    // Other accepted spellings, comma separated ("plastics,pet")
+    @Column(columnDefinition = "TEXT")
+    private String aliases;
+
+    public long mask() {
+        return 1L << bit;
+    }
+}
@@ -0,0 +1,10 @@
+package com.recyconnect.waste.repository;
+
+import com.recyconnect.waste.model.WasteType;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface WasteTypeRepository extends JpaRepository<WasteType, Long> {
+    List<WasteType> findAllByOrderByBitAsc();
+}
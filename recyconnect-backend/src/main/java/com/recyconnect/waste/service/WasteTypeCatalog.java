@@ -0,0 +1,104 @@
+package com.recyconnect.waste.service;
+
+import com.recyconnect.exception.BadRequestException;
+import com.recyconnect.ngo.model.Ngo;
+import com.recyconnect.waste.model.WasteType;
+import com.recyconnect.waste.repository.WasteTypeRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+// Read-mostly cache of the waste_types table. Lookups are case-insensitive and accept aliases,
+// so "plastic", "Plastics" and "PLASTIC" all resolve to the same catalog entry.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WasteTypeCatalog {
+
+    // Points for a booking whose type is missing from the catalog (e.g. rows written before it existed)
+    public static final int DEFAULT_POINTS = 10;
+
+    private final WasteTypeRepository wasteTypeRepository;
+
+    private record Snapshot(List<WasteType> types, Map<String, WasteType> byName) {}
+
+    private volatile Snapshot snapshot = new Snapshot(List.of(), Map.of());
+
+    // DataSeeder calls this again after seeding the table on first start
+    @PostConstruct
+    public void reload() {
+        List<WasteType> types = wasteTypeRepository.findAllByOrderByBitAsc();
+        Map<String, WasteType> byName = new HashMap<>();
+        for (WasteType type : types) {
+            byName.put(key(type.getCode()), type);
+            byName.put(key(type.getDisplayName()), type);
+            if (type.getAliases() != null) {
+                Arrays.stream(type.getAliases().split(","))
+                        .filter(alias -> !alias.isBlank())
+                        .forEach(alias -> byName.putIfAbsent(key(alias), type));
+            }
+        }
+        snapshot = new Snapshot(List.copyOf(types), Map.copyOf(byName));
+        log.info("Waste type catalog loaded with {} types", types.size());
+    }
+
+    public List<WasteType> all() {
+        return snapshot.types();
+    }
+
+    public Optional<WasteType> find(String name) {
+        return name == null ? Optional.empty() : Optional.ofNullable(snapshot.byName().get(key(name)));
+    }
+
+    public WasteType require(String name) {
+        if (name == null || name.isBlank()) {
+            throw new BadRequestException("Waste type is required");
+        }
+        return find(name).orElseThrow(() -> new BadRequestException("Unknown waste type: " + name));
+    }
+
+    // Filter value for "accepts all of these"; a comma-separated list such as "plastic,e-waste".
+    // Blank means no filter (mask 0).
+    public long parseFilter(String wasteTypes) {
+        if (wasteTypes == null || wasteTypes.isBlank()) {
+            return 0L;
+        }
+        long mask = 0L;
+        for (String name : wasteTypes.split(",")) {
+            if (!name.isBlank()) {
+                mask |= require(name.trim()).mask();
+            }
+        }
+        return mask;
+    }
+
+    public int pointsFor(String wasteType) {
+        return find(wasteType).map(WasteType::getPoints).orElse(DEFAULT_POINTS);
+    }
+
+    // Stores canonical names and the matching bitmask on the NGO; rejects unknown types
+    public void setAcceptedWasteTypes(Ngo ngo, Collection<String> names) {
+        Set<WasteType> types = new LinkedHashSet<>();
+        if (names != null) {
+            names.stream().filter(name -> name != null && !name.isBlank()).forEach(name -> types.add(require(name.trim())));
+        }
+        ngo.setAcceptedWasteTypes(new ArrayList<>(types.stream().map(WasteType::getDisplayName).toList()));
+        ngo.setAcceptedWasteMask(types.stream().mapToLong(WasteType::mask).reduce(0L, (a, b) -> a | b));
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,57 @@
+-- Applied on every start after Hibernate's ddl-auto=update; every statement must be idempotent.
+
+-- Broadcast bookings have no NGO until one claims them
+ALTER TABLE bookings ALTER COLUMN ngo_id DROP NOT NULL;
+
+-- Replaced by idx_bookings_ngo_date (ngo_id, booking_date, id), which NGO queue paging can walk in order
+DROP INDEX IF EXISTS idx_bookings_ngo_status_date;
+
+-- Hibernate only writes the status CHECK constraint when it creates the table, so older databases reject
+-- EXPIRED. Recreated only when it lacks EXPIRED; keep the list in step with BookingStatus.
+-- DO bodies are single-quoted because Spring's script splitter does not understand $$ quoting.
+DO '
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conrelid = ''bookings''::regclass AND conname = ''bookings_status_check''
+                     AND pg_get_constraintdef(oid) LIKE ''%EXPIRED%'') THEN
+        ALTER TABLE bookings DROP CONSTRAINT IF EXISTS bookings_status_check;
+        ALTER TABLE bookings ADD CONSTRAINT bookings_status_check
+            CHECK (status IN (''PENDING'', ''ACCEPTED'', ''COMPLETED'', ''REJECTED'', ''CANCELLED'', ''EXPIRED''));
+    END IF;
+END';
+
+-- Points earned before the ledger existed become one opening entry per user, so rebuilding balances from
+-- points_ledger keeps them. Users that already have entries are skipped, so this only ever runs once per user.
+INSERT INTO points_ledger (user_id, booking_id, points, reason, created_at)
+SELECT u.id, NULL, u.eco_points, 'OPENING_BALANCE', now() FROM users u
+WHERE u.eco_points <> 0 AND NOT EXISTS (SELECT 1 FROM points_ledger l WHERE l.user_id = u.id);
+
+-- Pickup OTPs moved to booking_otps (hashed). Plaintext codes are dropped, not migrated; NGOs can resend the OTP.
+-- Pickup OTP emails delivered (or abandoned) before outbox bodies were redacted still hold the plaintext code;
+-- they are scrubbed in the same step, so both happen once, while the old column is still there.
+DO '
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = ''bookings'' AND column_name = ''otp'') THEN
+        UPDATE outbox_messages SET body = ''[removed after delivery]''
+        WHERE status IN (''SENT'', ''FAILED'') AND subject LIKE ''%Pickup Confirmed:%'';
+        ALTER TABLE bookings DROP COLUMN otp;
+    END IF;
+END';
+ALTER TABLE bookings DROP COLUMN IF EXISTS otp_expiry_date;
+
+-- Password reset tokens are stored as SHA-256 hashes, one per user. Links issued before that (and the emails
+-- that carried them) are dropped once, while the plaintext column still exists; users just request a new one.
+-- The unique user_id index is what the upsert's ON CONFLICT relies on.
+DO '
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = ''password_reset_token''
+                 AND column_name = ''token'') THEN
+        DELETE FROM password_reset_token WHERE token_hash IS NULL;
+        UPDATE outbox_messages SET body = ''[removed after delivery]''
+        WHERE status IN (''SENT'', ''FAILED'') AND subject = ''RecyConnect - Reset Your Password'';
+        ALTER TABLE password_reset_token DROP COLUMN token;
+    END IF;
+END';
+CREATE UNIQUE INDEX IF NOT EXISTS ux_password_reset_token_user ON password_reset_token (user_id);
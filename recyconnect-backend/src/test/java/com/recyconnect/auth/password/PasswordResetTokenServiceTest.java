@@ -0,0 +1,93 @@
+package com.recyconnect.auth.password;
+
+import com.recyconnect.auth.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordResetTokenServiceTest {
+
+    // Stand-in for the password_reset_token table, keyed by user id like its unique index
+    private final Map<Integer, PasswordResetToken> rows = new HashMap<>();
+    private final Map<Integer, User> users = new HashMap<>();
+    private PasswordResetTokenService service;
+
+    @BeforeEach
+    void setUp() {
+        PasswordResetTokenRepository repository = mock(PasswordResetTokenRepository.class);
+        when(repository.upsert(anyInt(), anyString(), any())).thenAnswer(invocation -> {
+            Integer userId = invocation.getArgument(0);
+            PasswordResetToken row = rows.computeIfAbsent(userId, id -> {
+                PasswordResetToken created = new PasswordResetToken();
+                created.setId((long) id);
+                created.setUser(users.get(id));
+                return created;
+            });
+            row.setTokenHash(invocation.getArgument(1));
+            row.setExpiryDate(invocation.getArgument(2));
+            return 1;
+        });
+        when(repository.findByTokenHash(anyString())).thenAnswer(invocation -> rows.values().stream()
+                .filter(t -> t.getTokenHash().equals(invocation.getArgument(0))).findFirst());
+        when(repository.consume(anyLong(), anyString(), any())).thenAnswer(invocation -> {
+            Optional<PasswordResetToken> match = rows.values().stream()
+                    .filter(t -> t.getId().equals(invocation.getArgument(0))
+                            && t.getTokenHash().equals(invocation.getArgument(1))
+                            && t.getExpiryDate().isAfter(invocation.getArgument(2)))
+                    .findFirst();
+            match.ifPresent(t -> rows.remove(t.getUser().getId()));
+            return match.isPresent() ? 1 : 0;
+        });
+        service = new PasswordResetTokenService(repository);
+    }
+
+    @Test
+    void onlyTheHashIsStoredAndTheTokenWorksOnce() {
+        User user = user(7);
+
+        String token = service.issue(user);
+
+        assertThat(rows.get(7).getTokenHash()).isEqualTo(PasswordResetTokenService.hash(token)).doesNotContain(token);
+        assertThat(service.redeem(token)).isSameAs(user);
+        assertThatThrownBy(() -> service.redeem(token)).hasMessageContaining("Invalid");
+    }
+
+    @Test
+    void aNewRequestReplacesTheEarlierToken() {
+        User user = user(7);
+        String first = service.issue(user);
+        String second = service.issue(user);
+
+        assertThat(rows).hasSize(1);
+        assertThatThrownBy(() -> service.redeem(first)).hasMessageContaining("Invalid");
+        assertThat(service.redeem(second)).isSameAs(user);
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String token = service.issue(user(7));
+        rows.get(7).setExpiryDate(LocalDateTime.now().minusMinutes(1));
+
+        assertThatThrownBy(() -> service.redeem(token)).hasMessageContaining("expired");
+    }
+
+    private User user(int id) {
+        User user = new User();
+        user.setId(id);
+        users.put(id, user);
+        return user;
+    }
+}
@@ -0,0 +1,60 @@
+package com.recyconnect.auth.service;
+
+import com.recyconnect.auth.model.Role;
+import com.recyconnect.auth.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.security.Key;
+
+// Rough before/after for the request filter: the old path (extractUsername + isTokenValid +
+// extractExpiration, each decoding the secret, building a key and a parser, then parsing) against one
+// cached verify.
+// Not part of the unit suite; run with: mvn test -Pbenchmark -Dtest=JwtServiceBenchmarkTest
+@Tag("benchmark")
+class JwtServiceBenchmarkTest {
+
+    private static final int WARMUP = 2_000;
+    private static final int REQUESTS = 20_000;
+
+    @Test
+    void cachedVerificationAgainstRepeatedParsing() {
+        JwtService jwtService = JwtServiceTest.newService(86_400_000);
+        String token = jwtService.generateToken(User.builder().id(42).email("a@example.com").role(Role.ROLE_NGO).build());
+        for (int i = 0; i < WARMUP; i++) {
+            parseThreeTimesTheOldWay(token);
+            jwtService.verify(token);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            parseThreeTimesTheOldWay(token);
+        }
+        long parsedNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            jwtService.verify(token);
+        }
+        long cachedNanos = System.nanoTime() - start;
+
+        System.out.printf("JWT auth per request: %.1f us parsing three times, %.1f us cached%n",
+                parsedNanos / 1000.0 / REQUESTS, cachedNanos / 1000.0 / REQUESTS);
+    }
+
+    private static void parseThreeTimesTheOldWay(String token) {
+        oldExtractAllClaims(token).getSubject();
+        oldExtractAllClaims(token).getSubject();
+        oldExtractAllClaims(token).getExpiration();
+    }
+
+    // JwtService.extractAllClaims before the key and parser were built once
+    private static Claims oldExtractAllClaims(String token) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(JwtServiceTest.SECRET));
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    }
+}
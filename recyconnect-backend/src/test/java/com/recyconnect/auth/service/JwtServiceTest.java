@@ -0,0 +1,72 @@
+package com.recyconnect.auth.service;
+
+import com.recyconnect.auth.model.Role;
+import com.recyconnect.auth.model.User;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+
+    static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private JwtService jwtService;
+    private final User user = User.builder().id(42).email("a@example.com").role(Role.ROLE_NGO).build();
+
+    @BeforeEach
+    void setUp() {
+        jwtService = newService(86_400_000);
+    }
+
+    @Test
+    void verifiesSubjectAndExpiryInOneParse() {
+        String token = jwtService.generateToken(user);
+
+        JwtService.VerifiedToken verified = jwtService.verify(token);
+
+        assertThat(verified.subject()).isEqualTo("42");
+        assertThat(verified.expiresAt()).isAfter(Instant.now());
+        assertThat(jwtService.verify(token)).isSameAs(verified);
+        assertThat(jwtService.isTokenValid(token, user)).isTrue();
+    }
+
+    @Test
+    void rejectsTamperedAndForeignTokens() {
+        String token = jwtService.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        JwtService other = newService(86_400_000);
+        ReflectionTestUtils.setField(other, "jwtSecret", Base64.getEncoder().encodeToString(new byte[] {
+                1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29, 30, 31, 32}));
+        ReflectionTestUtils.invokeMethod(other, "init");
+
+        assertThatThrownBy(() -> jwtService.verify(tampered)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> other.verify(token)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void cachedTokenStopsWorkingAtItsExpiry() throws InterruptedException {
+        JwtService shortLived = newService(1_500);
+        String token = shortLived.generateToken(user);
+        assertThat(shortLived.verify(token).subject()).isEqualTo("42");
+
+        Thread.sleep(2_100);
+
+        assertThatThrownBy(() -> shortLived.verify(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    static JwtService newService(long expirationMillis) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(service, "jwtExpiration", expirationMillis);
+        ReflectionTestUtils.invokeMethod(service, "init");
+        return service;
+    }
+}
@@ -0,0 +1,71 @@
+package com.recyconnect.auth.service;
+
+import com.recyconnect.auth.event.UserRoleChangedEvent;
+import com.recyconnect.auth.model.Role;
+import com.recyconnect.auth.model.User;
+import com.recyconnect.auth.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PrincipalCacheTest {
+
+    private UserRepository userRepository;
+    private PrincipalCache principalCache;
+    private final User stored = User.builder().id(7).name("Asha").email("asha@example.com")
+            .password("hash").role(Role.ROLE_USER).ecoPoints(0).build();
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findById(7)).thenReturn(Optional.of(stored));
+        principalCache = new PrincipalCache(userRepository);
+        ReflectionTestUtils.invokeMethod(principalCache, "init");
+    }
+
+    @Test
+    void repeatRequestsDoNotHitTheUsersTable() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(principalCache.resolve("7").getId()).isEqualTo(7);
+        }
+
+        verify(userRepository, times(1)).findById(7);
+        assertThat(principalCache.resolve("7").getPassword()).isNull();
+    }
+
+    @Test
+    void roleChangeIsVisibleOnTheNextRequest() {
+        assertThat(principalCache.resolve("7").getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+
+        stored.setRole(Role.ROLE_NGO);
+        principalCache.onRoleChanged(new UserRoleChangedEvent(7));
+
+        assertThat(principalCache.resolve("7").getAuthorities()).extracting("authority").containsExactly("ROLE_NGO");
+        verify(userRepository, times(2)).findById(7);
+    }
+
+    @Test
+    void entriesExpireAfterTheTtl() {
+        ReflectionTestUtils.setField(principalCache, "ttlSeconds", 0L);
+
+        principalCache.resolve("7");
+        principalCache.resolve("7");
+
+        verify(userRepository, times(2)).findById(7);
+    }
+
+    @Test
+    void unknownUserIsRejected() {
+        assertThatThrownBy(() -> principalCache.resolve("8")).isInstanceOf(UsernameNotFoundException.class);
+    }
+}
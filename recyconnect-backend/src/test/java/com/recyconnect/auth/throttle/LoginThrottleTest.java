@@ -0,0 +1,55 @@
+package com.recyconnect.auth.throttle;
+
+import com.recyconnect.ratelimit.RateLimitExceededException;
+import com.recyconnect.ratelimit.SlidingWindowCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginThrottleTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final LoginThrottle throttle = new LoginThrottle(
+            new SlidingWindowCounter<>(Duration.ofMinutes(15), clock::get),
+            new SlidingWindowCounter<>(Duration.ofMinutes(15), clock::get));
+
+    @Test
+    void accountIsLockedAfterRepeatedFailuresFromAnyAddress() {
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure("Asha@Example.com", "10.0.0." + i);
+        }
+
+        assertThatThrownBy(() -> throttle.check("asha@example.com ", "10.0.0.99"))
+                .isInstanceOf(RateLimitExceededException.class)
+                .hasMessageContaining("this account");
+        assertThatCode(() -> throttle.check("other@example.com", "10.0.0.1")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void addressIsLockedWhenSprayingManyAccounts() {
+        ReflectionTestUtils.setField(throttle, "ipFailures", 3);
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("user" + i + "@example.com", "10.0.0.1");
+        }
+
+        assertThatThrownBy(() -> throttle.check("fresh@example.com", "10.0.0.1"))
+                .isInstanceOf(RateLimitExceededException.class);
+        assertThatCode(() -> throttle.check("fresh@example.com", "10.0.0.2")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void successfulLoginClearsTheAccountsFailures() {
+        for (int i = 0; i < 4; i++) {
+            throttle.recordFailure("asha@example.com", "10.0.0.1");
+        }
+        throttle.recordSuccess("asha@example.com");
+        throttle.recordFailure("asha@example.com", "10.0.0.1");
+
+        assertThatCode(() -> throttle.check("asha@example.com", "10.0.0.1")).doesNotThrowAnyException();
+    }
+}
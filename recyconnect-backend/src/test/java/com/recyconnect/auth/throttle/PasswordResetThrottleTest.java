@@ -0,0 +1,43 @@
+package com.recyconnect.auth.throttle;
+
+import com.recyconnect.ratelimit.RateLimitExceededException;
+import com.recyconnect.ratelimit.SlidingWindowCounter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordResetThrottleTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final PasswordResetThrottle throttle = new PasswordResetThrottle(
+            new SlidingWindowCounter<>(Duration.ofHours(1), clock::get),
+            new SlidingWindowCounter<>(Duration.ofHours(1), clock::get));
+
+    @Test
+    void capsRequestsPerEmailUntilTheWindowSlidesOn() {
+        for (int i = 0; i < 3; i++) {
+            throttle.acquire("Asha@Example.com", "10.0.0." + i);
+        }
+
+        assertThatThrownBy(() -> throttle.acquire("asha@example.com", "10.0.0.99"))
+                .isInstanceOf(RateLimitExceededException.class);
+        assertThatCode(() -> throttle.acquire("other@example.com", "10.0.0.99")).doesNotThrowAnyException();
+
+        clock.addAndGet(Duration.ofHours(2).toNanos());
+        assertThatCode(() -> throttle.acquire("asha@example.com", "10.0.0.99")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void capsRequestsPerAddressAcrossEmails() {
+        for (int i = 0; i < 20; i++) {
+            throttle.acquire("user" + i + "@example.com", "10.0.0.1");
+        }
+
+        assertThatThrownBy(() -> throttle.acquire("fresh@example.com", "10.0.0.1"))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+}
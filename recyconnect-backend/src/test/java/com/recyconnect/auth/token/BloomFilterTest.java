@@ -0,0 +1,33 @@
+package com.recyconnect.auth.token;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void neverMissesAnAddedKeyAndRarelyMatchesOthers() {
+        BloomFilter filter = new BloomFilter(10_000, 0.001);
+        String[] added = new String[10_000];
+        for (int i = 0; i < added.length; i++) {
+            added[i] = "jti:" + UUID.randomUUID();
+            filter.add(added[i]);
+        }
+
+        for (String key : added) {
+            assertThat(filter.mightContain(key)).isTrue();
+        }
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("jti:" + UUID.randomUUID())) {
+                falsePositives++;
+            }
+        }
+        // 0.1% expected; allow generous slack so the test isn't flaky
+        assertThat(falsePositives).isLessThan(probes / 200);
+    }
+}
@@ -0,0 +1,94 @@
+package com.recyconnect.auth.token;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceTest {
+
+    // Stand-in for the refresh_tokens table
+    private final List<RefreshToken> rows = new ArrayList<>();
+    private RefreshTokenService service;
+
+    @BeforeEach
+    void setUp() {
+        RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+        when(repository.save(any())).thenAnswer(invocation -> {
+            RefreshToken token = invocation.getArgument(0);
+            token.setId((long) rows.size() + 1);
+            rows.add(token);
+            return token;
+        });
+        when(repository.findByTokenHash(anyString())).thenAnswer(invocation -> rows.stream()
+                .filter(t -> t.getTokenHash().equals(invocation.getArgument(0))).findFirst());
+        when(repository.revoke(anyLong(), any())).thenAnswer(invocation -> revokeWhere(
+                t -> t.getId().equals(invocation.getArgument(0)), invocation.getArgument(1)));
+        when(repository.revokeFamily(anyString(), any())).thenAnswer(invocation -> revokeWhere(
+                t -> t.getFamilyId().equals(invocation.getArgument(0)), invocation.getArgument(1)));
+        when(repository.revokeAllForUser(anyInt(), any())).thenAnswer(invocation -> revokeWhere(
+                t -> t.getUserId().equals(invocation.getArgument(0)), invocation.getArgument(1)));
+        service = new RefreshTokenService(repository);
+    }
+
+    @Test
+    void rotationHandsOutANewTokenAndUsesUpTheOldOne() {
+        String first = service.issue(7);
+
+        RefreshTokenService.Rotation rotation = service.rotate(first);
+
+        assertThat(rotation.userId()).isEqualTo(7);
+        assertThat(rotation.refreshToken()).isNotEqualTo(first);
+        assertThat(rows).noneMatch(t -> t.getTokenHash().equals(first));
+        assertThat(service.rotate(rotation.refreshToken()).userId()).isEqualTo(7);
+    }
+
+    @Test
+    void replayingAUsedTokenRevokesTheWholeFamily() {
+        String stolen = service.issue(7);
+        String otherLogin = service.issue(7);
+        String legitimate = service.rotate(stolen).refreshToken();
+
+        assertThatThrownBy(() -> service.rotate(stolen)).isInstanceOf(InvalidRefreshTokenException.class);
+        assertThatThrownBy(() -> service.rotate(legitimate)).isInstanceOf(InvalidRefreshTokenException.class);
+        // A separate login of the same user is unaffected
+        assertThat(service.rotate(otherLogin).userId()).isEqualTo(7);
+    }
+
+    @Test
+    void revokingAllForAUserEndsEveryLogin() {
+        String phone = service.issue(7);
+        String laptop = service.issue(7);
+        String someoneElse = service.issue(8);
+
+        service.revokeAllForUser(7);
+
+        assertThatThrownBy(() -> service.rotate(phone)).isInstanceOf(InvalidRefreshTokenException.class);
+        assertThatThrownBy(() -> service.rotate(laptop)).isInstanceOf(InvalidRefreshTokenException.class);
+        assertThat(service.rotate(someoneElse).userId()).isEqualTo(8);
+        assertThatThrownBy(() -> service.rotate("not-a-token")).isInstanceOf(InvalidRefreshTokenException.class);
+    }
+
+    private int revokeWhere(Predicate<RefreshToken> match, LocalDateTime now) {
+        int revoked = 0;
+        for (RefreshToken token : rows) {
+            if (match.test(token) && token.getRevokedAt() == null) {
+                token.setRevokedAt(now);
+                revoked++;
+            }
+        }
+        return revoked;
+    }
+}
@@ -0,0 +1,108 @@
+package com.recyconnect.auth.token;
+
+import com.recyconnect.auth.model.Role;
+import com.recyconnect.auth.model.User;
+import com.recyconnect.auth.service.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationIndexTest {
+
+    // Stand-in for the revoked_tokens table
+    private final Map<String, RevokedToken> rows = new HashMap<>();
+    private RevokedTokenRepository repository;
+    private TokenRevocationIndex index;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RevokedTokenRepository.class);
+        when(repository.save(any())).thenAnswer(invocation -> {
+            RevokedToken row = invocation.getArgument(0);
+            rows.put(row.getRevocationKey(), row);
+            return row;
+        });
+        when(repository.existsById(anyString())).thenAnswer(invocation -> rows.containsKey(invocation.<String>getArgument(0)));
+        when(repository.findById(anyString())).thenAnswer(invocation -> Optional.ofNullable(rows.get(invocation.<String>getArgument(0))));
+        when(repository.findKeysRevokedSince(any(), any())).thenAnswer(invocation -> List.copyOf(rows.keySet()));
+        index = new TokenRevocationIndex(repository);
+        ReflectionTestUtils.setField(index, "accessTokenTtlMs", 900_000L);
+        ReflectionTestUtils.invokeMethod(index, "init");
+    }
+
+    @Test
+    void unrevokedTokensNeverTouchTheTable() {
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(index.isRevoked(token("user-" + i, "jti-" + i, Instant.now()))).isFalse();
+        }
+
+        verify(repository, never()).existsById(anyString());
+        verify(repository, never()).findById(anyString());
+    }
+
+    @Test
+    void loggedOutTokenIsRevokedButTheUsersOtherTokensAreNot() {
+        JwtService.VerifiedToken loggedOut = token("7", "a", Instant.now());
+        index.revokeToken(loggedOut);
+
+        assertThat(index.isRevoked(loggedOut)).isTrue();
+        assertThat(index.isRevoked(token("7", "b", Instant.now()))).isFalse();
+    }
+
+    @Test
+    void userRevocationCoversTokensIssuedBeforeIt() {
+        JwtService.VerifiedToken before = token("7", "a", Instant.now().minus(1, ChronoUnit.MINUTES));
+        index.revokeUser(7);
+
+        assertThat(index.isRevoked(before)).isTrue();
+        assertThat(index.isRevoked(token("7", "b", Instant.now().plus(1, ChronoUnit.SECONDS)))).isFalse();
+        assertThat(index.isRevoked(token("8", "c", before.issuedAt()))).isFalse();
+    }
+
+    @Test
+    void tokenIssuedRightAfterAUserRevocationIsAccepted() {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", Base64.getEncoder().encodeToString(new byte[32]));
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 900_000L);
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+        index.revokeUser(7);
+
+        // Usually the same second as the revocation, which iat alone can't tell apart
+        String signedInAgain = jwtService.generateToken(User.builder().id(7).role(Role.ROLE_USER).build());
+
+        assertThat(index.isRevoked(jwtService.verify(signedInAgain))).isFalse();
+    }
+
+    @Test
+    void revocationsFromOtherNodesArriveOnSync() {
+        JwtService.VerifiedToken token = token("7", "a", Instant.now());
+        // Written by another node: in the table, not yet in this node's filter
+        rows.put(TokenRevocationIndex.TOKEN_PREFIX + "a", RevokedToken.builder()
+                .revocationKey(TokenRevocationIndex.TOKEN_PREFIX + "a").build());
+        assertThat(index.isRevoked(token)).isFalse();
+
+        index.sync();
+
+        assertThat(index.isRevoked(token)).isTrue();
+    }
+
+    private static JwtService.VerifiedToken token(String subject, String tokenId, Instant issuedAt) {
+        return new JwtService.VerifiedToken(subject, tokenId, issuedAt, issuedAt.plus(15, ChronoUnit.MINUTES));
+    }
+}
@@ -0,0 +1,129 @@
+package com.recyconnect.booking.expiry;
+
+import com.recyconnect.auth.model.User;
+import com.recyconnect.booking.event.BookingChangedEvent;
+import com.recyconnect.booking.model.Booking;
+import com.recyconnect.booking.model.BookingStatus;
+import com.recyconnect.booking.repository.BookingRepository;
+import com.recyconnect.booking.state.BookingTransition;
+import com.recyconnect.ngo.model.Ngo;
+import com.recyconnect.notification.service.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingExpiryJobTest {
+
+    private static final int CHUNK = 3;
+
+    // Stand-in for the bookings table
+    private final List<Booking> bookings = new ArrayList<>();
+
+    private BookingRepository bookingRepository;
+    private NotificationService notificationService;
+    private ApplicationEventPublisher eventPublisher;
+    private BookingExpiryJob job;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        notificationService = mock(NotificationService.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+
+        when(bookingRepository.lockStaleBookingIds(anyString(), any(), any(), anyInt())).thenAnswer(invocation -> {
+            BookingStatus status = BookingStatus.valueOf(invocation.getArgument(0));
+            LocalDateTime cutoff = invocation.getArgument(1);
+            int limit = invocation.getArgument(3);
+            return bookings.stream()
+                    .filter(b -> b.getStatus() == status && b.getBookingDate().isBefore(cutoff))
+                    .limit(limit)
+                    .map(Booking::getId)
+                    .toList();
+        });
+        when(bookingRepository.transitionStatusIn(any(), any(), any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            BookingStatus from = invocation.getArgument(1);
+            BookingStatus to = invocation.getArgument(2);
+            int updated = 0;
+            for (Booking booking : bookings) {
+                if (ids.contains(booking.getId()) && booking.getStatus() == from) {
+                    booking.setStatus(to);
+                    updated++;
+                }
+            }
+            return updated;
+        });
+        when(bookingRepository.findWithPartiesByIdIn(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return bookings.stream().filter(b -> ids.contains(b.getId())).toList();
+        });
+
+        job = new BookingExpiryJob(new BookingExpiryService(bookingRepository, notificationService, eventPublisher));
+        ReflectionTestUtils.setField(job, "chunkSize", CHUNK);
+    }
+
+    @Test
+    void expiresStaleBookingsInChunksAndLeavesFreshOnesAlone() {
+        LocalDateTime old = LocalDateTime.now().minusDays(30);
+        LongStream.rangeClosed(1, 7).forEach(id -> bookings.add(booking(id, BookingStatus.PENDING, old, null)));
+        bookings.add(booking(8L, BookingStatus.PENDING, LocalDateTime.now().minusDays(1), null));
+        bookings.add(booking(9L, BookingStatus.COMPLETED, old, null));
+
+        job.expireStaleBookings();
+
+        assertThat(bookings).filteredOn(b -> b.getStatus() == BookingStatus.EXPIRED)
+                .extracting(Booking::getId).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+        assertThat(bookings.get(7).getStatus()).isEqualTo(BookingStatus.PENDING);
+        assertThat(bookings.get(8).getStatus()).isEqualTo(BookingStatus.COMPLETED);
+        // 7 rows in chunks of 3: 3 + 3 + 1, then the short chunk ends the loop
+        verify(bookingRepository, times(3)).transitionStatusIn(any(), eq(BookingStatus.PENDING), eq(BookingStatus.EXPIRED));
+        verify(eventPublisher, times(7)).publishEvent(any(BookingChangedEvent.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void notifiesBothPartiesOncePerChunk() {
+        LocalDateTime old = LocalDateTime.now().minusDays(30);
+        Ngo ngo = Ngo.builder().id(5L).user(user(50, "Green NGO")).build();
+        bookings.add(booking(1L, BookingStatus.ACCEPTED, old, ngo));
+        bookings.add(booking(2L, BookingStatus.PENDING, old, null));
+
+        job.expireStaleBookings();
+
+        ArgumentCaptor<List<NotificationService.Draft>> drafts = ArgumentCaptor.forClass(List.class);
+        verify(notificationService, times(2)).sendNotifications(drafts.capture());
+        assertThat(drafts.getAllValues().get(0)).extracting(d -> d.user().getId()).containsExactly(2);
+        assertThat(drafts.getAllValues().get(1)).extracting(d -> d.user().getId()).containsExactly(1, 50);
+    }
+
+    private static Booking booking(Long id, BookingStatus status, LocalDateTime bookingDate, Ngo ngo) {
+        return Booking.builder().id(id).status(status).bookingDate(bookingDate).wasteType("Plastic")
+                .user(user(id.intValue(), "User " + id)).ngo(ngo).build();
+    }
+
+    private static User user(Integer id, String name) {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        return user;
+    }
+}
@@ -0,0 +1,86 @@
+package com.recyconnect.booking.index;
+
+import com.recyconnect.booking.model.BookingStatus;
+import com.recyconnect.booking.repository.BookingRepository;
+import com.recyconnect.map.index.GeoGridIndex;
+import com.recyconnect.waste.model.WasteType;
+import com.recyconnect.waste.service.WasteTypeCatalog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OpenBookingIndexTest {
+
+    private static final long PLASTIC = 1L;
+    private static final long E_WASTE = 1L << 2;
+    private static final double NGO_LAT = 22.5726;
+    private static final double NGO_LNG = 88.3639;
+
+    private BookingRepository bookingRepository;
+    private OpenBookingIndex index;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        WasteTypeCatalog catalog = mock(WasteTypeCatalog.class);
+        when(catalog.find(anyString())).thenReturn(Optional.empty());
+        when(catalog.find("Plastic")).thenReturn(Optional.of(WasteType.builder().displayName("Plastic").bit(0).build()));
+        when(catalog.find("E-Waste")).thenReturn(Optional.of(WasteType.builder().displayName("E-Waste").bit(2).build()));
+
+        index = new OpenBookingIndex(bookingRepository, catalog);
+        ReflectionTestUtils.setField(index, "cellDegrees", 0.02);
+        index.init();
+    }
+
+    private void load(List<OpenBooking> bookings) {
+        when(bookingRepository.findOpenBookingsWithLocation(BookingStatus.PENDING)).thenReturn(bookings);
+        index.load();
+    }
+
+    @Test
+    void ngoSeesOwnAndReachableBroadcastBookingsItCanHandle() {
+        load(List.of(
+                new OpenBooking(1L, NGO_LAT + 0.01, NGO_LNG, "Plastic", 7L, null),    // addressed to us
+                new OpenBooking(2L, NGO_LAT + 0.02, NGO_LNG, "Plastic", 8L, null),    // addressed to another NGO
+                new OpenBooking(3L, NGO_LAT + 0.03, NGO_LNG, "Plastic", null, 10.0),  // broadcast, reaches us
+                new OpenBooking(4L, NGO_LAT + 0.04, NGO_LNG, "Plastic", null, 1.0),   // broadcast, too small a radius
+                new OpenBooking(5L, NGO_LAT + 0.05, NGO_LNG, "E-Waste", null, 10.0),  // type we don't accept
+                new OpenBooking(6L, NGO_LAT + 0.06, NGO_LNG, "Glass", null, 10.0)));  // not in the catalog
+
+        List<GeoGridIndex.Neighbor<OpenBooking>> hits = index.nearbyFor(7L, NGO_LAT, NGO_LNG, PLASTIC, 20, 10);
+
+        assertThat(hits).extracting(hit -> hit.item().id()).containsExactly(1L, 3L);
+        assertThat(index.size()).isEqualTo(5);
+        assertThat(index.nearbyFor(7L, NGO_LAT, NGO_LNG, PLASTIC | E_WASTE, 20, 10))
+                .extracting(hit -> hit.item().id()).containsExactly(1L, 3L, 5L);
+    }
+
+    @Test
+    void radiusQueryReturnsNearestMatchingBookingsOnly() {
+        Random random = new Random(42);
+        List<OpenBooking> bookings = new ArrayList<>();
+        for (long id = 1; id <= 2_000; id++) {
+            bookings.add(new OpenBooking(id, NGO_LAT - 0.6 + random.nextDouble() * 1.2, NGO_LNG - 0.6 + random.nextDouble() * 1.2,
+                    random.nextBoolean() ? "Plastic" : "E-Waste", null, 25.0));
+        }
+        load(bookings);
+
+        List<GeoGridIndex.Neighbor<OpenBooking>> hits = index.nearbyFor(7L, NGO_LAT, NGO_LNG, PLASTIC, 10, 5);
+
+        assertThat(hits).hasSize(5).allSatisfy(hit -> {
+            assertThat(hit.distanceKm()).isLessThanOrEqualTo(10);
+            assertThat(hit.item().wasteType()).isEqualTo("Plastic");
+        });
+        assertThat(hits).extracting(GeoGridIndex.Neighbor::distanceKm).isSorted();
+    }
+}
@@ -0,0 +1,119 @@
+package com.recyconnect.booking.matching;
+
+import com.recyconnect.booking.event.BookingChangedEvent;
+import com.recyconnect.booking.model.Booking;
+import com.recyconnect.booking.model.BookingStatus;
+import com.recyconnect.booking.repository.BookingRepository;
+import com.recyconnect.map.index.GeoGridIndex;
+import com.recyconnect.map.index.NgoLocation;
+import com.recyconnect.map.index.RecyclerSpatialIndex;
+import com.recyconnect.ngo.model.Ngo;
+import com.recyconnect.stats.model.NgoStats;
+import com.recyconnect.stats.service.NgoStatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class BookingMatcherTest {
+
+    private static final double LAT = 22.5726;
+    private static final double LNG = 88.3639;
+
+    private RecyclerSpatialIndex spatialIndex;
+    private BookingRepository bookingRepository;
+    private NgoLoadTracker loadTracker;
+    private BookingMatcher matcher;
+
+    @BeforeEach
+    void setUp() {
+        spatialIndex = mock(RecyclerSpatialIndex.class);
+        bookingRepository = mock(BookingRepository.class);
+        NgoStatsService ngoStatsService = mock(NgoStatsService.class);
+        when(ngoStatsService.getStats(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            // NGO 2 is well rated, the rest are unrated
+            return ids.stream().collect(Collectors.toMap(Function.identity(),
+                    id -> id == 2L ? new NgoStats(2L, 40, 49, 10) : NgoStats.empty(id)));
+        });
+        loadTracker = new NgoLoadTracker(bookingRepository);
+        matcher = new BookingMatcher(spatialIndex, loadTracker, ngoStatsService);
+    }
+
+    private static GeoGridIndex.Neighbor<NgoLocation> candidate(long id, double distanceKm) {
+        return new GeoGridIndex.Neighbor<>(new NgoLocation(id, "NGO " + id, "Kolkata", LAT, LNG, List.of("Plastic"), 1L), distanceKm);
+    }
+
+    private void open(long bookingId, long ngoId, BookingStatus status) {
+        Booking booking = Booking.builder().id(bookingId).status(status).ngo(Ngo.builder().id(ngoId).build()).build();
+        loadTracker.onBookingChanged(new BookingChangedEvent(booking));
+    }
+
+    private List<Long> rankedIds() {
+        return matcher.rank(LAT, LNG, 1L).stream().map(match -> match.ngo().id()).toList();
+    }
+
+    @Test
+    void prefersCloseIdleWellRatedNgos() {
+        when(spatialIndex.nearest(anyDouble(), anyDouble(), anyInt(), any(), any()))
+                .thenReturn(List.of(candidate(1L, 1.0), candidate(2L, 2.0), candidate(3L, 6.0)));
+
+        // Equal load: the well-rated NGO 2 beats the slightly closer, unrated NGO 1
+        assertThat(rankedIds()).containsExactly(2L, 1L, 3L);
+
+        // Busy NGOs lose to an idle one a bit further away
+        for (long booking = 1; booking <= 10; booking++) {
+            open(booking, 1L, BookingStatus.PENDING);
+            open(100 + booking, 2L, BookingStatus.ACCEPTED);
+        }
+        assertThat(rankedIds()).containsExactly(3L, 2L, 1L);
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void noCandidatesMeansNoMatch() {
+        when(spatialIndex.nearest(anyDouble(), anyDouble(), anyInt(), any(), any())).thenReturn(List.of());
+        assertThat(matcher.rank(LAT, LNG, 1L)).isEmpty();
+    }
+
+    @Test
+    void loadCountersFollowBookingLifecycle() {
+        open(1L, 7L, BookingStatus.PENDING);
+        open(1L, 7L, BookingStatus.PENDING); // replayed event
+        open(2L, 7L, BookingStatus.ACCEPTED);
+        assertThat(loadTracker.loadOf(7L)).isEqualTo(2);
+
+        open(1L, 7L, BookingStatus.ACCEPTED);
+        assertThat(loadTracker.loadOf(7L)).isEqualTo(2);
+
+        open(1L, 7L, BookingStatus.COMPLETED);
+        open(2L, 7L, BookingStatus.CANCELLED);
+        assertThat(loadTracker.loadOf(7L)).isZero();
+    }
+
+    @Test
+    void resyncKeepsChangesMadeWhileItWasReading() {
+        open(1L, 7L, BookingStatus.PENDING);
+        when(bookingRepository.findOpenAssignments(any())).thenAnswer(invocation -> {
+            // Committed too late for this snapshot, but its event lands mid-resync
+            open(2L, 7L, BookingStatus.PENDING);
+            return List.of(new OpenAssignment(1L, 7L));
+        });
+
+        loadTracker.resync();
+
+        assertThat(loadTracker.loadOf(7L)).isEqualTo(2);
+    }
+}
@@ -0,0 +1,149 @@
+package com.recyconnect.booking.otp;
+
+import com.recyconnect.booking.model.BookingOtp;
+import com.recyconnect.booking.repository.BookingOtpRepository;
+import com.recyconnect.exception.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingOtpServiceTest {
+
+    // In-memory booking_otps table; the repository mock applies the same conditions as the real queries
+    private final Map<Long, BookingOtp> table = new ConcurrentHashMap<>();
+    private BookingOtpService otpService;
+
+    @BeforeEach
+    void setUp() {
+        BookingOtpRepository repository = mock(BookingOtpRepository.class);
+        when(repository.save(any())).thenAnswer(invocation -> {
+            BookingOtp otp = invocation.getArgument(0);
+            table.put(otp.getBookingId(), copy(otp));
+            return otp;
+        });
+        when(repository.findById(anyLong())).thenAnswer(invocation ->
+                Optional.ofNullable(table.get((Long) invocation.getArgument(0))).map(BookingOtpServiceTest::copy));
+        when(repository.recordFailedAttempt(anyLong(), anyInt())).thenAnswer(invocation -> {
+            BookingOtp otp = table.get((Long) invocation.getArgument(0));
+            if (otp == null || otp.getFailedAttempts() >= (int) invocation.getArgument(1)) {
+                return 0;
+            }
+            otp.setFailedAttempts(otp.getFailedAttempts() + 1);
+            return 1;
+        });
+        when(repository.consume(anyLong(), anyString(), anyInt(), any())).thenAnswer(invocation -> {
+            BookingOtp otp = table.get((Long) invocation.getArgument(0));
+            LocalDateTime now = invocation.getArgument(3);
+            boolean live = otp != null && otp.getCodeHash().equals(invocation.getArgument(1))
+                    && otp.getFailedAttempts() < (int) invocation.getArgument(2) && otp.getExpiresAt().isAfter(now);
+            return live && table.remove(otp.getBookingId()) != null ? 1 : 0;
+        });
+        when(repository.deleteExpiredBatch(any(), anyInt())).thenAnswer(invocation -> {
+            LocalDateTime now = invocation.getArgument(0);
+            int batch = invocation.getArgument(1);
+            int deleted = 0;
+            for (BookingOtp otp : table.values()) {
+                if (deleted < batch && !otp.getExpiresAt().isAfter(now)) {
+                    table.remove(otp.getBookingId());
+                    deleted++;
+                }
+            }
+            return deleted;
+        });
+
+        otpService = new BookingOtpService(repository);
+        ReflectionTestUtils.setField(otpService, "secret", "test-secret");
+        ReflectionTestUtils.setField(otpService, "sweepBatchSize", 2);
+        otpService.init();
+    }
+
+    @Test
+    void storesOnlyAHashAndAcceptsTheCodeOnce() {
+        String code = otpService.issue(1L);
+
+        assertThat(code).matches("\\d{6}");
+        assertThat(table.get(1L).getCodeHash()).doesNotContain(code).hasSize(64);
+
+        otpService.verify(1L, code);
+
+        assertThat(table).doesNotContainKey(1L);
+        assertThatThrownBy(() -> otpService.verify(1L, code)).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void locksOutAfterTooManyWrongCodes() {
+        String code = otpService.issue(1L);
+        String wrong = code.equals("000000") ? "111111" : "000000";
+
+        for (int i = 0; i < BookingOtpService.MAX_FAILED_ATTEMPTS; i++) {
+            assertThatThrownBy(() -> otpService.verify(1L, wrong)).hasMessage("Invalid OTP.");
+        }
+
+        assertThat(table.get(1L).getFailedAttempts()).isEqualTo(BookingOtpService.MAX_FAILED_ATTEMPTS);
+        assertThatThrownBy(() -> otpService.verify(1L, code)).hasMessageContaining("Too many wrong attempts");
+    }
+
+    @Test
+    void rejectsExpiredCodes() {
+        String code = otpService.issue(1L);
+        table.get(1L).setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        ReflectionTestUtils.setField(otpService, "cacheSize", 0);
+        otpService.init(); // drop the cached copy so the expired row is read
+
+        assertThatThrownBy(() -> otpService.verify(1L, code)).hasMessageContaining("expired");
+    }
+
+    // Another node resent the OTP: this node's cached entry is stale and its old code must not work
+    @Test
+    void staleCachedCodeLosesToAResendElsewhere() {
+        String oldCode = otpService.issue(1L);
+        BookingOtpService otherNode = otherNodeSharingTheTable();
+        String newCode = otherNode.issue(1L);
+
+        if (!oldCode.equals(newCode)) {
+            assertThatThrownBy(() -> otpService.verify(1L, oldCode)).hasMessage("Invalid OTP.");
+        }
+        otpService.verify(1L, newCode);
+        assertThat(table).isEmpty();
+    }
+
+    @Test
+    void sweeperRemovesExpiredEntriesInBatches() {
+        for (long id = 1; id <= 5; id++) {
+            otpService.issue(id);
+            table.get(id).setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        }
+        otpService.issue(6L);
+
+        otpService.sweepExpired();
+
+        assertThat(table).containsOnlyKeys(6L);
+    }
+
+    private BookingOtpService otherNodeSharingTheTable() {
+        BookingOtpService other = new BookingOtpService(
+                (BookingOtpRepository) ReflectionTestUtils.getField(otpService, "bookingOtpRepository"));
+        ReflectionTestUtils.setField(other, "secret", "test-secret");
+        other.init();
+        return other;
+    }
+
+    private static BookingOtp copy(BookingOtp otp) {
+        return BookingOtp.builder().bookingId(otp.getBookingId()).codeHash(otp.getCodeHash()).salt(otp.getSalt())
+                .expiresAt(otp.getExpiresAt()).failedAttempts(otp.getFailedAttempts()).build();
+    }
+}
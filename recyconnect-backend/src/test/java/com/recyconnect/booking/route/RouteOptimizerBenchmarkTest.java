@@ -0,0 +1,33 @@
+package com.recyconnect.booking.route;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.recyconnect.booking.route.RouteOptimizerTest.START_LAT;
+import static com.recyconnect.booking.route.RouteOptimizerTest.START_LNG;
+import static com.recyconnect.booking.route.RouteOptimizerTest.randomStops;
+
+// Timings and route lengths on synthetic stop sets, against booking order and nearest neighbour.
+// Not part of the unit suite; run with: mvn test -Pbenchmark -Dtest=RouteOptimizerBenchmarkTest
+@Tag("benchmark")
+class RouteOptimizerBenchmarkTest {
+
+    @Test
+    void syntheticStopSets() {
+        long budgetNanos = TimeUnit.MILLISECONDS.toNanos(300);
+        for (int size : new int[]{25, 100, 300, 600}) {
+            List<RouteOptimizer.Stop> stops = randomStops(size, size);
+
+            long started = System.nanoTime();
+            RouteOptimizer.Route route = RouteOptimizer.optimize(START_LAT, START_LNG, stops, budgetNanos);
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+            System.out.printf("stops=%d time=%dms inputOrder=%.1fkm nearestNeighbour=%.1fkm twoOpt=%.1fkm converged=%s%n",
+                    size, elapsedMs, RouteOptimizer.lengthKm(START_LAT, START_LNG, stops),
+                    route.nearestNeighbourKm(), route.distanceKm(), route.converged());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.recyconnect.booking.route;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RouteOptimizerTest {
+
+    // Around central Kolkata
+    static final double START_LAT = 22.5726;
+    static final double START_LNG = 88.3639;
+
+    static List<RouteOptimizer.Stop> randomStops(int count, long seed) {
+        Random random = new Random(seed);
+        List<RouteOptimizer.Stop> stops = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            stops.add(new RouteOptimizer.Stop(id,
+                    START_LAT + (random.nextDouble() - 0.5) * 0.3,
+                    START_LNG + (random.nextDouble() - 0.5) * 0.3));
+        }
+        return stops;
+    }
+
+    @Test
+    void visitsPointsOnALineInOrder() {
+        List<RouteOptimizer.Stop> stops = List.of(
+                new RouteOptimizer.Stop(3L, START_LAT, START_LNG + 0.03),
+                new RouteOptimizer.Stop(1L, START_LAT, START_LNG + 0.01),
+                new RouteOptimizer.Stop(4L, START_LAT, START_LNG + 0.04),
+                new RouteOptimizer.Stop(2L, START_LAT, START_LNG + 0.02));
+
+        RouteOptimizer.Route route = RouteOptimizer.optimize(START_LAT, START_LNG, stops, TimeUnit.SECONDS.toNanos(1));
+
+        assertThat(route.stops()).extracting(RouteOptimizer.Stop::id).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(route.converged()).isTrue();
+    }
+
+    @Test
+    void emptyAndSingleStopRoutes() {
+        assertThat(RouteOptimizer.optimize(START_LAT, START_LNG, List.of(), 1_000_000).stops()).isEmpty();
+
+        RouteOptimizer.Stop only = new RouteOptimizer.Stop(7L, START_LAT + 0.01, START_LNG);
+        RouteOptimizer.Route route = RouteOptimizer.optimize(START_LAT, START_LNG, List.of(only), 1_000_000);
+        assertThat(route.stops()).containsExactly(only);
+        assertThat(route.distanceKm()).isEqualTo(RouteOptimizer.lengthKm(START_LAT, START_LNG, List.of(only)));
+    }
+
+    @Test
+    void syntheticRoutesAreValidAndNeverWorseThanNearestNeighbour() {
+        for (int size : new int[]{25, 100}) {
+            List<RouteOptimizer.Stop> stops = randomStops(size, size);
+
+            RouteOptimizer.Route route = RouteOptimizer.optimize(START_LAT, START_LNG, stops, TimeUnit.SECONDS.toNanos(5));
+
+            assertThat(route.stops()).hasSize(size).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(stops);
+            assertThat(route.distanceKm()).isLessThanOrEqualTo(route.nearestNeighbourKm() + 1e-6);
+            assertThat(route.distanceKm()).isLessThan(RouteOptimizer.lengthKm(START_LAT, START_LNG, stops));
+            assertThat(route.distanceKm()).isCloseTo(RouteOptimizer.lengthKm(START_LAT, START_LNG, route.stops()),
+                    within(1e-6));
+        }
+    }
+}
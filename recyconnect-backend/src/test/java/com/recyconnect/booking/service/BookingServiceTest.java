@@ -0,0 +1,149 @@
+package com.recyconnect.booking.service;
+
+import com.recyconnect.auth.model.Role;
+import com.recyconnect.auth.model.User;
+import com.recyconnect.auth.repository.UserRepository;
+import com.recyconnect.booking.dto.BookingResponseDto;
+import com.recyconnect.booking.matching.BookingMatcher;
+import com.recyconnect.booking.model.Booking;
+import com.recyconnect.booking.model.BookingStatus;
+import com.recyconnect.booking.pagination.BookingCursor;
+import com.recyconnect.booking.pagination.CursorPage;
+import com.recyconnect.booking.repository.BookingRepository;
+import com.recyconnect.booking.state.BookingStateMachine;
+import com.recyconnect.booking.throttle.BookingIntakeLimiter;
+import com.recyconnect.exception.BadRequestException;
+import com.recyconnect.map.index.RecyclerSpatialIndex;
+import com.recyconnect.ngo.model.Ngo;
+import com.recyconnect.ngo.repository.NgoRepository;
+import com.recyconnect.notification.service.NotificationService;
+import com.recyconnect.review.repository.ReviewRepository;
+import com.recyconnect.waste.service.WasteTypeCatalog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+// Listing a user's bookings must cost a constant number of queries and a bounded page, however long the history is
+@ExtendWith(MockitoExtension.class)
+class BookingServiceTest {
+
+    private static final int BOOKING_COUNT = 500;
+    private static final int PAGE_SIZE = 200;
+
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private NgoRepository ngoRepository;
+    @Mock
+    private ReviewRepository reviewRepository;
+    @Mock
+    private NotificationService notificationService;
+    @Mock
+    private WasteTypeCatalog wasteTypeCatalog;
+    @Mock
+    private RecyclerSpatialIndex spatialIndex;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private BookingMatcher bookingMatcher;
+    @Mock
+    private BookingStateMachine stateMachine;
+    @Mock
+    private BookingIntakeLimiter intakeLimiter;
+
+    private BookingService bookingService;
+
+    @BeforeEach
+    void setUp() {
+        bookingService = new BookingService(bookingRepository, userRepository, ngoRepository,
+                new BookingMapper(reviewRepository), notificationService,
+                wasteTypeCatalog, spatialIndex, eventPublisher, bookingMatcher, stateMachine, intakeLimiter);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("1", null, List.of()));
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private final User user = User.builder().id(1).name("Asha").role(Role.ROLE_USER).build();
+
+    private List<Booking> bookings(long fromId, long toId) {
+        Ngo ngo = Ngo.builder().id(9L).name("Green Kolkata").build();
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        // Newest first, the order the repository returns them in
+        return LongStream.iterate(toId, id -> id >= fromId, id -> id - 1)
+                .mapToObj(id -> Booking.builder().id(id).user(user).ngo(ngo).wasteType("Plastic")
+                        .status(BookingStatus.COMPLETED).bookingDate(base.plusHours(id)).pointsAwarded(50).build())
+                .toList();
+    }
+
+    @Test
+    void bookingHistoryPageResolvesReviewsInOneQuery() {
+        when(userRepository.findById(1)).thenReturn(Optional.of(user));
+        // size + 1 rows: the extra one tells the service another page exists
+        when(bookingRepository.findByUserIdOrderByBookingDateDescIdDesc(1, Limit.of(PAGE_SIZE + 1)))
+                .thenReturn(bookings(BOOKING_COUNT - PAGE_SIZE, BOOKING_COUNT));
+        when(reviewRepository.findReviewedBookingIds(anyCollection())).thenReturn(Set.of(500L, 498L));
+
+        CursorPage<BookingResponseDto> page = bookingService.getBookingsForCurrentUser(null, PAGE_SIZE);
+
+        assertThat(page.items()).hasSize(PAGE_SIZE);
+        assertThat(page.items()).filteredOn(BookingResponseDto::isReviewed)
+                .extracting(BookingResponseDto::getId).containsExactly(500L, 498L);
+        assertThat(page.items().get(0).getNgoName()).isEqualTo("Green Kolkata");
+        BookingCursor next = BookingCursor.decode(page.nextCursor());
+        assertThat(next.id()).isEqualTo(BOOKING_COUNT - PAGE_SIZE + 1);
+        verify(bookingRepository, times(1)).findByUserIdOrderByBookingDateDescIdDesc(1, Limit.of(PAGE_SIZE + 1));
+        verify(reviewRepository, times(1)).findReviewedBookingIds(anyCollection());
+        verify(reviewRepository, never()).existsByBookingId(anyLong());
+        verifyNoMoreInteractions(bookingRepository, reviewRepository);
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        BookingCursor after = new BookingCursor(LocalDateTime.of(2025, 1, 1, 5, 0), 5L);
+        when(userRepository.findById(1)).thenReturn(Optional.of(user));
+        when(bookingRepository.findUserPageBefore(1, after.bookingDate(), 5L, Limit.of(CursorPage.DEFAULT_SIZE + 1)))
+                .thenReturn(bookings(1, 4));
+        when(reviewRepository.findReviewedBookingIds(anyCollection())).thenReturn(Set.of());
+
+        CursorPage<BookingResponseDto> page = bookingService.getBookingsForCurrentUser(after.encode(), null);
+
+        assertThat(page.items()).extracting(BookingResponseDto::getId).containsExactly(4L, 3L, 2L, 1L);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void rejectsBadCursorsAndSizes() {
+        assertThatThrownBy(() -> bookingService.getBookingsForCurrentUser("not-a-cursor", null))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> bookingService.getBookingsForCurrentUser(null, CursorPage.MAX_SIZE + 1))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
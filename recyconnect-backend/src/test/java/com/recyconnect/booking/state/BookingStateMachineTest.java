@@ -0,0 +1,164 @@
+package com.recyconnect.booking.state;
+
+import com.recyconnect.booking.model.Booking;
+import com.recyconnect.booking.model.BookingStatus;
+import com.recyconnect.booking.repository.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingStateMachineTest {
+
+    private static final int THREADS = 32;
+    private static final int ROUNDS = 200;
+
+    // Stands in for the bookings row; transitionStatus behaves like UPDATE ... WHERE status = :from
+    private final AtomicReference<BookingStatus> row = new AtomicReference<>();
+    private BookingRepository bookingRepository;
+    private BookingStateMachine stateMachine;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        when(bookingRepository.transitionStatus(anyLong(), any(), any())).thenAnswer(invocation ->
+                row.compareAndSet(invocation.getArgument(1), invocation.getArgument(2)) ? 1 : 0);
+        stateMachine = new BookingStateMachine(bookingRepository);
+    }
+
+    @Test
+    void appliesTransitionAndUpdatesEntity() {
+        row.set(BookingStatus.PENDING);
+        Booking booking = load();
+
+        stateMachine.apply(booking, BookingTransition.ACCEPT);
+
+        assertThat(booking.getStatus()).isEqualTo(BookingStatus.ACCEPTED);
+        assertThat(row.get()).isEqualTo(BookingStatus.ACCEPTED);
+    }
+
+    @Test
+    void rejectsTransitionFromWrongStatusWithoutTouchingTheRow() {
+        row.set(BookingStatus.COMPLETED);
+        Booking booking = load();
+
+        assertThatThrownBy(() -> stateMachine.apply(booking, BookingTransition.CANCEL))
+                .isInstanceOf(BookingConflictException.class)
+                .hasMessage(BookingTransition.CANCEL.notAllowedMessage());
+        verify(bookingRepository, never()).transitionStatus(anyLong(), any(), any());
+    }
+
+    @Test
+    void staleReadLosesToTheUpdateThatCommittedFirst() {
+        row.set(BookingStatus.PENDING);
+        Booking userView = load();
+        Booking ngoView = load();
+
+        stateMachine.apply(ngoView, BookingTransition.ACCEPT);
+
+        assertThatThrownBy(() -> stateMachine.apply(userView, BookingTransition.CANCEL))
+                .isInstanceOf(BookingConflictException.class);
+        assertThat(userView.getStatus()).isEqualTo(BookingStatus.PENDING);
+        assertThat(row.get()).isEqualTo(BookingStatus.ACCEPTED);
+    }
+
+    // Many threads race accept / reject / cancel on one pending booking: exactly one may win each round
+    @Test
+    void concurrentDecisionsOnOneBookingHaveExactlyOneWinner() throws Exception {
+        BookingTransition[] decisions = {BookingTransition.ACCEPT, BookingTransition.REJECT, BookingTransition.CANCEL};
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                row.set(BookingStatus.PENDING);
+                AtomicInteger winners = new AtomicInteger();
+                AtomicReference<BookingStatus> winningStatus = new AtomicReference<>();
+                race(pool, i -> {
+                    Booking booking = load();
+                    return () -> {
+                        BookingTransition transition = decisions[i % decisions.length];
+                        stateMachine.apply(booking, transition);
+                        winners.incrementAndGet();
+                        winningStatus.set(transition.to());
+                    };
+                });
+                assertThat(winners.get()).isEqualTo(1);
+                assertThat(row.get()).isEqualTo(winningStatus.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // Two staff completing the same pickup must not award points twice
+    @Test
+    void concurrentCompletionsAwardPointsOnce() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                row.set(BookingStatus.ACCEPTED);
+                AtomicInteger pointsAwarded = new AtomicInteger();
+                race(pool, i -> {
+                    Booking booking = load();
+                    return () -> {
+                        stateMachine.apply(booking, BookingTransition.COMPLETE);
+                        pointsAwarded.addAndGet(10);
+                    };
+                });
+                assertThat(pointsAwarded.get()).isEqualTo(10);
+                assertThat(row.get()).isEqualTo(BookingStatus.COMPLETED);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private interface Attempt {
+        void run();
+    }
+
+    private interface AttemptFactory {
+        Attempt create(int thread);
+    }
+
+    // Every thread loads its own copy first, then all attempt the update at once; losers must see a conflict
+    private void race(ExecutorService pool, AttemptFactory factory) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Attempt attempt = factory.create(t);
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    attempt.run();
+                } catch (BookingConflictException expected) {
+                    // lost the race
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private Booking load() {
+        return Booking.builder().id(1L).status(row.get()).build();
+    }
+}
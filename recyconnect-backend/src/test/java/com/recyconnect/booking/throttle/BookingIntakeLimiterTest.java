@@ -0,0 +1,73 @@
+package com.recyconnect.booking.throttle;
+
+import com.recyconnect.ngo.model.Ngo;
+import com.recyconnect.ratelimit.RateLimitExceededException;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookingIntakeLimiterTest {
+
+    private final BookingIntakeLimiter limiter = new BookingIntakeLimiter();
+
+    @Test
+    void userBurstIsEnforcedAcrossNgos() {
+        ReflectionTestUtils.setField(limiter, "userBurst", 2);
+
+        limiter.acquire(1, ngo(10L, null));
+        limiter.acquire(1, null);
+
+        assertThatThrownBy(() -> limiter.acquire(1, ngo(11L, null)))
+                .isInstanceOf(RateLimitExceededException.class)
+                .satisfies(e -> assertThat(((RateLimitExceededException) e).getRetryAfterSeconds()).isPositive());
+        limiter.acquire(2, ngo(10L, null));
+        assertThat(limiter.metrics()).containsEntry("accepted", 3L).containsEntry("throttledByUser", 1L);
+    }
+
+    @Test
+    void fullNgoRefusesWithoutSpendingTheUsersAllowance() {
+        ReflectionTestUtils.setField(limiter, "userBurst", 2);
+        Ngo busy = ngo(10L, 1);
+
+        limiter.acquire(1, busy);
+        assertThatThrownBy(() -> limiter.acquire(2, busy)).hasMessageContaining("not taking more bookings");
+
+        // User 2's token was given back, so two bookings elsewhere still fit in the burst
+        limiter.acquire(2, ngo(11L, null));
+        limiter.acquire(2, ngo(12L, null));
+        assertThat(limiter.metrics()).containsEntry("throttledByNgo", 1L).containsEntry("accepted", 3L);
+    }
+
+    @Test
+    void autoAssignSkipsNgosThatAreFull() {
+        Ngo full = ngo(10L, 1);
+        Ngo open = ngo(11L, null);
+        limiter.acquire(1, full);
+
+        assertThat(limiter.acquireFirstAvailable(2, List.of(full, open))).isSameAs(open);
+
+        assertThatThrownBy(() -> limiter.acquireFirstAvailable(3, List.of(full)))
+                .isInstanceOf(RateLimitExceededException.class)
+                .hasMessageContaining("fully booked");
+        assertThat(limiter.metrics()).containsEntry("accepted", 2L).containsEntry("throttledByNgo", 1L);
+    }
+
+    @Test
+    void lostClaimGivesTheNgoItsSlotBack() {
+        Ngo ngo = ngo(10L, 1);
+
+        limiter.acquireForNgo(ngo);
+        assertThatThrownBy(() -> limiter.acquireForNgo(ngo)).hasMessageContaining("daily booking capacity");
+
+        limiter.releaseForNgo(ngo.getId());
+        limiter.acquireForNgo(ngo);
+    }
+
+    private static Ngo ngo(Long id, Integer dailyCapacity) {
+        return Ngo.builder().id(id).name("NGO " + id).dailyBookingCapacity(dailyCapacity).build();
+    }
+}
@@ -0,0 +1,146 @@
+package com.recyconnect.idempotency.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recyconnect.booking.dto.BookingResponseDto;
+import com.recyconnect.exception.BadRequestException;
+import com.recyconnect.idempotency.model.IdempotencyRecord;
+import com.recyconnect.idempotency.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdempotencyServiceTest {
+
+    // In-memory idempotency_keys table keyed by user + key
+    private final Map<String, IdempotencyRecord> table = new ConcurrentHashMap<>();
+    private final AtomicInteger bookingsCreated = new AtomicInteger();
+    private IdempotencyRecordRepository repository;
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(IdempotencyRecordRepository.class);
+        when(repository.claim(anyString(), anyString(), anyString(), anyString(), any(), any())).thenAnswer(invocation -> {
+            IdempotencyRecord record = IdempotencyRecord.builder()
+                    .userId(invocation.getArgument(0)).key(invocation.getArgument(1)).scope(invocation.getArgument(2))
+                    .requestHash(invocation.getArgument(3)).createdAt(invocation.getArgument(4))
+                    .expiresAt(invocation.getArgument(5)).build();
+            return table.putIfAbsent(record.getUserId() + "/" + record.getKey(), record) == null ? 1 : 0;
+        });
+        when(repository.findByUserIdAndKey(anyString(), anyString())).thenAnswer(invocation ->
+                Optional.ofNullable(table.get(invocation.getArgument(0) + "/" + invocation.getArgument(1))));
+        when(repository.saveResponse(anyString(), anyString(), anyString())).thenAnswer(invocation -> {
+            table.get(invocation.getArgument(0) + "/" + invocation.getArgument(1)).setResponseBody(invocation.getArgument(2));
+            return 1;
+        });
+
+        idempotencyService = new IdempotencyService(repository, new ObjectMapper().findAndRegisterModules());
+        idempotencyService.init();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("1", null, List.of()));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void withoutAKeyEveryCallRuns() {
+        create(null, "Plastic");
+        create(null, "Plastic");
+
+        assertThat(bookingsCreated).hasValue(2);
+        verify(repository, never()).claim(anyString(), anyString(), anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    void retryReplaysTheStoredResponseWithoutRunningAgain() {
+        IdempotentResponse<BookingResponseDto> first = create("key-1", "Plastic");
+        IdempotentResponse<BookingResponseDto> retry = create("key-1", "Plastic");
+
+        assertThat(bookingsCreated).hasValue(1);
+        assertThat(first.replayed()).isFalse();
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.body()).isEqualTo(first.body());
+        assertThat(retry.toResponseEntity().getHeaders().getFirst(IdempotentResponse.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void committedResultsAreReplayedFromMemory() {
+        create("key-1", "Plastic");
+        commit();
+
+        IdempotentResponse<BookingResponseDto> retry = create("key-1", "Plastic");
+
+        assertThat(retry.replayed()).isTrue();
+        verify(repository, never()).findByUserIdAndKey(anyString(), anyString());
+    }
+
+    @Test
+    void keyReusedForADifferentRequestIsRejected() {
+        create("key-1", "Plastic");
+
+        assertThatThrownBy(() -> create("key-1", "Glass"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("different request");
+        assertThat(bookingsCreated).hasValue(1);
+    }
+
+    @Test
+    void keysAreScopedPerUser() {
+        create("key-1", "Plastic");
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("2", null, List.of()));
+
+        assertThat(create("key-1", "Plastic").replayed()).isFalse();
+        assertThat(bookingsCreated).hasValue(2);
+    }
+
+    @Test
+    void keyStillClaimedByAnotherRequestIsAConflict() {
+        // Another request keeps winning the claim while this one finds nothing to replay
+        when(repository.claim(anyString(), anyString(), anyString(), anyString(), any(), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> create("key-1", "Plastic"))
+                .isInstanceOf(IdempotencyConflictException.class)
+                .hasMessageContaining("already being processed");
+        assertThat(bookingsCreated).hasValue(0);
+    }
+
+    private IdempotentResponse<BookingResponseDto> create(String key, String wasteType) {
+        return idempotencyService.execute(key, "POST /api/bookings", Map.of("wasteType", wasteType), BookingResponseDto.class,
+                () -> BookingResponseDto.builder()
+                        .id((long) bookingsCreated.incrementAndGet())
+                        .wasteType(wasteType)
+                        .status("PENDING")
+                        .bookingDate(LocalDateTime.of(2026, 10, 18, 9, 30))
+                        .build());
+    }
+
+    private void commit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+    }
+}
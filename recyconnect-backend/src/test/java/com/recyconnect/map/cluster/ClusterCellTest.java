@@ -0,0 +1,38 @@
+package com.recyconnect.map.cluster;
+
+import com.recyconnect.map.dto.ClusterDto;
+import com.recyconnect.map.index.NgoLocation;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ClusterCellTest {
+
+    private static final NgoLocation FIRST = new NgoLocation(4L, "A", "", 22.0, 88.0, List.of("Plastic", "Glass"), 0);
+    private static final NgoLocation SECOND = new NgoLocation(9L, "B", "", 23.0, 89.0, List.of("Plastic"), 0);
+
+    @Test
+    void aggregatesCountCentroidAndWasteTypes() {
+        ClusterDto dto = ClusterCell.EMPTY.plus(FIRST).plus(SECOND).toDto();
+
+        assertThat(dto.getCount()).isEqualTo(2);
+        assertThat(dto.getLatitude()).isCloseTo(22.5, within(1e-9));
+        assertThat(dto.getLongitude()).isCloseTo(88.5, within(1e-9));
+        assertThat(dto.getWasteTypes()).isEqualTo(Map.of("Plastic", 2, "Glass", 1));
+        assertThat(dto.getNgoId()).isNull();
+    }
+
+    @Test
+    void singleMemberReportsItsNgoAndLastMemberLeavingEmptiesTheCell() {
+        ClusterCell remaining = ClusterCell.EMPTY.plus(FIRST).plus(SECOND).minus(FIRST);
+
+        assertThat(remaining.toDto().getNgoId()).isEqualTo(9L);
+        assertThat(remaining.toDto().getLatitude()).isCloseTo(23.0, within(1e-9));
+        assertThat(remaining.wasteTypes()).isEqualTo(Map.of("Plastic", 1));
+        assertThat(remaining.minus(SECOND)).isNull();
+    }
+}
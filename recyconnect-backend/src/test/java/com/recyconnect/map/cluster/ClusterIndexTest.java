@@ -0,0 +1,106 @@
+package com.recyconnect.map.cluster;
+
+import com.recyconnect.map.dto.ClusterDto;
+import com.recyconnect.map.index.BoundingBox;
+import com.recyconnect.ngo.event.NgoChangedEvent;
+import com.recyconnect.ngo.model.Ngo;
+import com.recyconnect.ngo.model.NgoStatus;
+import com.recyconnect.ngo.repository.NgoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+
+class ClusterIndexTest {
+
+    private static final BoundingBox WORLD = new BoundingBox(-90, -180, 90, 180);
+
+    private ClusterIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ClusterIndex(mock(NgoRepository.class));
+    }
+
+    private static final BoundingBox KOLKATA = new BoundingBox(22.0, 88.0, 23.0, 89.0);
+    // Zoom 8 cells are ~0.35 degrees: NGOs 1 and 2 share one, NGO 3 has its own
+    private static final int ZOOM = 8;
+
+    @Test
+    void cellsTrackCountAndCentroidAsNgosAreAddedMovedAndRemoved() {
+        index.onNgoChanged(new NgoChangedEvent(ngo(1, 22.52, 88.32)));
+        index.onNgoChanged(new NgoChangedEvent(ngo(2, 22.54, 88.34)));
+        index.onNgoChanged(new NgoChangedEvent(ngo(3, 22.90, 88.90)));
+
+        assertThat(index.clusters(ZOOM, KOLKATA)).hasSize(2).anySatisfy(cluster -> {
+            assertThat(cluster.getCount()).isEqualTo(2);
+            assertThat(cluster.getLatitude()).isCloseTo(22.53, within(1e-9));
+            assertThat(cluster.getLongitude()).isCloseTo(88.33, within(1e-9));
+            assertThat(cluster.getNgoId()).isNull();
+        });
+
+        // NGO 2 moves next to NGO 3
+        index.onNgoChanged(new NgoChangedEvent(ngo(2, 22.92, 88.92)));
+        assertThat(index.clusters(ZOOM, KOLKATA)).hasSize(2)
+                .anySatisfy(cluster -> {
+                    assertThat(cluster.getCount()).isEqualTo(1);
+                    assertThat(cluster.getNgoId()).isEqualTo(1L);
+                    assertThat(cluster.getLatitude()).isCloseTo(22.52, within(1e-9));
+                })
+                .anySatisfy(cluster -> {
+                    assertThat(cluster.getCount()).isEqualTo(2);
+                    assertThat(cluster.getLatitude()).isCloseTo(22.91, within(1e-9));
+                });
+
+        // Deactivating the last member of a cell removes the cell
+        Ngo inactive = ngo(1, 22.52, 88.32);
+        inactive.setStatus(NgoStatus.DEACTIVATED_BY_ADMIN);
+        index.onNgoChanged(new NgoChangedEvent(inactive));
+        assertThat(index.clusters(ZOOM, KOLKATA)).singleElement().satisfies(cluster -> {
+            assertThat(cluster.getCount()).isEqualTo(2);
+            assertThat(cluster.getNgoId()).isNull();
+        });
+    }
+
+    @Test
+    void smallBoxOverManyCellsAndLargeBoxOverFewCellsAgree() {
+        // Many occupied cells and a small box: the box's own cells are looked up
+        for (long id = 1; id <= 400; id++) {
+            index.onNgoChanged(new NgoChangedEvent(ngo(id, 10 + (id % 20) * 0.5, 70 + (id / 20) * 0.5)));
+        }
+        BoundingBox small = new BoundingBox(12.9, 72.9, 13.6, 73.6);
+        assertThat(index.clusters(ZOOM, small)).extracting(ClusterDto::getNgoId)
+                .containsExactlyInAnyOrder(126L, 127L, 146L, 147L);
+
+        // Few occupied cells and a huge box: the occupied cells are scanned instead
+        ClusterIndex sparse = new ClusterIndex(mock(NgoRepository.class));
+        sparse.onNgoChanged(new NgoChangedEvent(ngo(1, 22.52, 88.32)));
+        sparse.onNgoChanged(new NgoChangedEvent(ngo(2, -33.9, 18.4)));
+        assertThat(sparse.clusters(ZOOM, new BoundingBox(0, 0, 60, 120))).extracting(ClusterDto::getNgoId)
+                .containsExactly(1L);
+    }
+
+    @Test
+    void fineZoomOverAHugeBoxIsCoarsenedToTheViewportBound() {
+        for (long id = 1; id <= 5_000; id++) {
+            index.onNgoChanged(new NgoChangedEvent(ngo(id, -60 + (id % 100) * 1.2, -170 + (id / 100) * 6.8)));
+        }
+
+        List<ClusterDto> clusters = index.clusters(ClusterIndex.MAX_ZOOM, WORLD);
+
+        assertThat(clusters).hasSizeLessThanOrEqualTo(ClusterIndex.MAX_VIEWPORT_CELLS);
+        assertThat(clusters.stream().mapToInt(ClusterDto::getCount).sum()).isEqualTo(5_000);
+        assertThat(ClusterIndex.levelFor(ClusterIndex.MAX_ZOOM, WORLD)).isLessThan(ClusterIndex.MAX_ZOOM);
+        // A city-sized box keeps the zoom it asked for
+        assertThat(ClusterIndex.levelFor(14, new BoundingBox(22.5, 88.3, 22.6, 88.4))).isEqualTo(14);
+    }
+
+    static Ngo ngo(long id, double lat, double lng) {
+        return Ngo.builder().id(id).name("NGO " + id).status(NgoStatus.ACTIVE)
+                .latitude(lat).longitude(lng).acceptedWasteTypes(List.of("Plastic")).build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.recyconnect.map.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeoGridIndexTest {
+
+    record Point(Long id, double latitude, double longitude) implements GeoGridIndex.Located {}
+
+    @Test
+    void nearestMatchesBruteForce() {
+        Random random = new Random(42);
+        GeoGridIndex<Point> index = new GeoGridIndex<>(0.05);
+        List<Point> points = new ArrayList<>();
+        for (long i = 0; i < 5000; i++) {
+            // Spread over a city-sized box around Kolkata
+            Point p = new Point(i, 22.4 + random.nextDouble() * 0.4, 88.2 + random.nextDouble() * 0.4);
+            points.add(p);
+            index.upsert(p);
+        }
+
+        for (int q = 0; q < 50; q++) {
+            double lat = 22.3 + random.nextDouble() * 0.6;
+            double lng = 88.1 + random.nextDouble() * 0.6;
+
+            List<Long> expected = points.stream()
+                    .sorted(Comparator.comparingDouble(p -> GeoUtils.haversineKm(lat, lng, p.latitude(), p.longitude())))
+                    .limit(10)
+                    .map(Point::id)
+                    .toList();
+            List<Long> actual = index.nearest(lat, lng, 10, null, p -> true).stream()
+                    .map(n -> n.item().id())
+                    .toList();
+
+            assertThat(actual).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void radiusAndBoxOnlyReturnPointsInside() {
+        GeoGridIndex<Point> index = new GeoGridIndex<>(0.05);
+        index.upsert(new Point(1L, 22.5726, 88.3639));   // Park Street
+        index.upsert(new Point(2L, 22.5958, 88.2636));   // Howrah, ~10 km away
+        index.upsert(new Point(3L, 28.6139, 77.2090));   // Delhi
+
+        assertThat(index.withinRadius(22.57, 88.36, 5, p -> true))
+                .extracting(n -> n.item().id())
+                .containsExactly(1L);
+        assertThat(index.withinRadius(22.57, 88.36, 15, p -> true))
+                .extracting(n -> n.item().id())
+                .containsExactly(1L, 2L);
+        assertThat(index.withinBox(new BoundingBox(22.0, 88.0, 23.0, 89.0), p -> true))
+                .extracting(Point::id)
+                .containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void upsertMovesPointAndRemoveDropsIt() {
+        GeoGridIndex<Point> index = new GeoGridIndex<>(0.05);
+        index.upsert(new Point(1L, 22.5726, 88.3639));
+        index.upsert(new Point(1L, 28.6139, 77.2090));
+
+        assertThat(index.withinRadius(22.57, 88.36, 50, p -> true)).isEmpty();
+        assertThat(index.nearest(28.6, 77.2, 5, null, p -> true)).hasSize(1);
+
+        index.remove(1L);
+        assertThat(index.size()).isZero();
+        assertThat(index.nearest(28.6, 77.2, 5, null, p -> true)).isEmpty();
+    }
+}
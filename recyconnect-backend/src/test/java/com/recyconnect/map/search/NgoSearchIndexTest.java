@@ -0,0 +1,64 @@
+package com.recyconnect.map.search;
+
+import com.recyconnect.ngo.event.NgoChangedEvent;
+import com.recyconnect.ngo.model.Ngo;
+import com.recyconnect.ngo.model.NgoStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NgoSearchIndexTest {
+
+    private NgoSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new NgoSearchIndex(null);
+        add(1L, "Green Kolkata Foundation", "Park Street, Kolkata, West Bengal", NgoStatus.ACTIVE);
+        add(2L, "Howrah Scrap Collectors", "GT Road, Howrah", NgoStatus.ACTIVE);
+        add(3L, "Delhi E-Waste Hub", "Connaught Place, New Delhi", NgoStatus.ACTIVE);
+    }
+
+    @Test
+    void findsNamesAndAddressesDespiteTypos() {
+        assertThat(ids(index.search("kolkatta", 10))).containsExactly(1L);
+        assertThat(ids(index.search("howra scrap", 10))).containsExactly(2L);
+        assertThat(ids(index.search("connaught", 10))).containsExactly(3L);
+        assertThat(index.search("zzzz", 10)).isEmpty();
+    }
+
+    @Test
+    void ranksBetterMatchesFirst() {
+        add(4L, "Park Recyclers", "Salt Lake, Kolkata", NgoStatus.ACTIVE);
+
+        List<NgoSearchIndex.Hit> hits = index.search("green kolkata", 10);
+
+        assertThat(ids(hits)).containsExactly(1L, 4L);
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+        // A limit keeps the best hits, not just any
+        assertThat(ids(index.search("green kolkata", 1))).containsExactly(1L);
+    }
+
+    @Test
+    void profileChangesAndDeactivationRefreshTheIndex() {
+        add(2L, "Howrah Green Point", "GT Road, Howrah", NgoStatus.ACTIVE);
+        assertThat(index.search("scrap", 10)).isEmpty();
+        assertThat(ids(index.search("green point", 10))).contains(2L);
+
+        add(1L, "Green Kolkata Foundation", "Park Street, Kolkata", NgoStatus.DEACTIVATED_BY_ADMIN);
+        assertThat(index.search("kolkata foundation", 10)).isEmpty();
+    }
+
+    private void add(Long id, String name, String address, NgoStatus status) {
+        Ngo ngo = Ngo.builder().id(id).name(name).address(address).status(status)
+                .acceptedWasteTypes(List.of("Plastic")).build();
+        index.onNgoChanged(new NgoChangedEvent(ngo));
+    }
+
+    private static List<Long> ids(List<NgoSearchIndex.Hit> hits) {
+        return hits.stream().map(NgoSearchIndex.Hit::ngoId).toList();
+    }
+}
@@ -0,0 +1,81 @@
+package com.recyconnect.map.search;
+
+import com.recyconnect.map.dto.SuggestionDto;
+import com.recyconnect.ngo.event.NgoChangedEvent;
+import com.recyconnect.ngo.model.Ngo;
+import com.recyconnect.ngo.model.NgoStatus;
+import com.recyconnect.ngo.repository.NgoRepository;
+import com.recyconnect.stats.model.NgoStats;
+import com.recyconnect.stats.service.NgoStatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NgoSuggestionIndexTest {
+
+    private NgoRepository ngoRepository;
+    private NgoSuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        ngoRepository = mock(NgoRepository.class);
+        NgoStatsService ngoStatsService = mock(NgoStatsService.class);
+        when(ngoStatsService.getStats(anyLong())).thenAnswer(invocation -> NgoStats.empty(invocation.getArgument(0)));
+        when(ngoStatsService.getStats(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().collect(Collectors.toMap(Function.identity(), NgoStats::empty));
+        });
+        index = new NgoSuggestionIndex(ngoRepository, ngoStatsService);
+    }
+
+    @Test
+    void rebuildKeepsChangesMadeWhileItWasReading() {
+        Ngo green = ngo(1L, "Green Kolkata Foundation", "Park Street, Kolkata", NgoStatus.ACTIVE);
+        Ngo scrap = ngo(2L, "Howrah Scrap Collectors", "GT Road, Howrah", NgoStatus.ACTIVE);
+        index.onNgoChanged(new NgoChangedEvent(scrap));
+        when(ngoRepository.findByStatus(any())).thenAnswer(invocation -> {
+            // Committed too late for this snapshot, but their events land mid-rebuild
+            index.onNgoChanged(new NgoChangedEvent(ngo(3L, "Delhi E-Waste Hub", "Connaught Place, New Delhi", NgoStatus.ACTIVE)));
+            index.onNgoChanged(new NgoChangedEvent(ngo(2L, "Howrah Scrap Collectors", "GT Road, Howrah",
+                    NgoStatus.DEACTIVATED_BY_ADMIN)));
+            return List.of(green, scrap);
+        });
+
+        index.rebuild();
+
+        assertThat(texts("green")).containsExactly("Green Kolkata Foundation");
+        assertThat(texts("delhi")).containsExactly("Delhi E-Waste Hub");
+        assertThat(texts("howrah")).isEmpty();
+    }
+
+    @Test
+    void changesAfterARebuildApplyToTheNewTrie() {
+        when(ngoRepository.findByStatus(any()))
+                .thenReturn(List.of(ngo(1L, "Green Kolkata Foundation", "Park Street, Kolkata", NgoStatus.ACTIVE)));
+        index.rebuild();
+
+        index.onNgoChanged(new NgoChangedEvent(ngo(1L, "Green Kolkata Trust", "Park Street, Kolkata", NgoStatus.ACTIVE)));
+
+        assertThat(texts("green")).containsExactly("Green Kolkata Trust");
+    }
+
+    private List<String> texts(String prefix) {
+        return index.suggest(prefix, NgoSuggestionIndex.MAX_SUGGESTIONS).stream().map(SuggestionDto::getText).toList();
+    }
+
+    private static Ngo ngo(Long id, String name, String address, NgoStatus status) {
+        return Ngo.builder().id(id).name(name).address(address).status(status)
+                .acceptedWasteTypes(List.of("Plastic")).build();
+    }
+}
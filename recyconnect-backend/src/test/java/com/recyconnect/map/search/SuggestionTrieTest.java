@@ -0,0 +1,48 @@
+package com.recyconnect.map.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SuggestionTrieTest {
+
+    private static SuggestionTrie.Suggestion ngo(long id, String name, long pickups) {
+        return new SuggestionTrie.Suggestion("NGO:" + id, name, "NGO", id, pickups);
+    }
+
+    @Test
+    void returnsHeaviestSuggestionsUnderPrefix() {
+        SuggestionTrie trie = new SuggestionTrie(3);
+        trie.put("green earth", ngo(1, "Green Earth", 5));
+        trie.put("green kolkata", ngo(2, "Green Kolkata", 40));
+        trie.put("greenway", ngo(3, "Greenway", 12));
+        trie.put("grow more", ngo(4, "Grow More", 7));
+
+        assertThat(trie.top("gre", 10)).extracting(SuggestionTrie.Suggestion::ngoId)
+                .containsExactly(2L, 3L, 1L);
+        assertThat(trie.top("gr", 2)).extracting(SuggestionTrie.Suggestion::ngoId)
+                .containsExactly(2L, 3L);
+        assertThat(trie.top("green k", 10)).extracting(SuggestionTrie.Suggestion::ngoId)
+                .containsExactly(2L);
+        assertThat(trie.top("blue", 10)).isEmpty();
+    }
+
+    @Test
+    void removeAndReweightUpdateCachedTopLists() {
+        SuggestionTrie trie = new SuggestionTrie(2);
+        trie.put("alpha", ngo(1, "Alpha", 10));
+        trie.put("alps", ngo(2, "Alps", 20));
+        trie.put("altar", ngo(3, "Altar", 5));
+
+        trie.remove("alps", "NGO:2");
+        assertThat(trie.top("al", 10)).extracting(SuggestionTrie.Suggestion::ngoId)
+                .containsExactly(1L, 3L);
+
+        trie.put("altar", ngo(3, "Altar", 50));
+        List<SuggestionTrie.Suggestion> top = trie.top("al", 10);
+        assertThat(top).extracting(SuggestionTrie.Suggestion::ngoId).containsExactly(3L, 1L);
+        assertThat(top.get(0).weight()).isEqualTo(50);
+    }
+}
@@ -0,0 +1,116 @@
+package com.recyconnect.map.service;
+
+import com.recyconnect.map.dto.RecyclerDto;
+import com.recyconnect.map.index.GeoGridIndex;
+import com.recyconnect.map.index.NgoLocation;
+import com.recyconnect.map.index.RecyclerSpatialIndex;
+import com.recyconnect.map.search.NgoSearchIndex;
+import com.recyconnect.ngo.model.Ngo;
+import com.recyconnect.ngo.model.NgoStatus;
+import com.recyconnect.ngo.repository.NgoRepository;
+import com.recyconnect.stats.model.NgoStats;
+import com.recyconnect.stats.service.NgoStatsService;
+import com.recyconnect.waste.service.WasteTypeCatalog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+// The map read path must issue a constant number of queries no matter how many NGOs it returns
+@ExtendWith(MockitoExtension.class)
+class MapServiceTest {
+
+    private static final int NGO_COUNT = 250;
+
+    @Mock
+    private NgoRepository ngoRepository;
+    @Mock
+    private RecyclerSpatialIndex spatialIndex;
+    @Mock
+    private NgoStatsService ngoStatsService;
+    @Mock
+    private NgoSearchIndex searchIndex;
+    @Mock
+    private WasteTypeCatalog wasteTypeCatalog;
+
+    @InjectMocks
+    private MapService mapService;
+
+    @BeforeEach
+    void stubStats() {
+        when(ngoStatsService.getStats(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().collect(Collectors.toMap(Function.identity(),
+                    id -> id == 1L ? new NgoStats(1L, 7, 9, 2) : NgoStats.empty(id)));
+        });
+    }
+
+    @Test
+    void activeRecyclersUseOneStatsLookup() {
+        List<Ngo> ngos = LongStream.rangeClosed(1, NGO_COUNT)
+                .mapToObj(id -> Ngo.builder().id(id).name("NGO " + id).address("Kolkata")
+                        .status(NgoStatus.ACTIVE).acceptedWasteTypes(List.of("Plastic")).acceptedWasteMask(1L).build())
+                .toList();
+        when(ngoRepository.findActiveNgosWithFilters("ACTIVE", 0L)).thenReturn(ngos);
+
+        List<RecyclerDto> result = mapService.getActiveRecyclers(null, null);
+
+        assertThat(result).hasSize(NGO_COUNT);
+        assertThat(result.get(0).getCompletedPickups()).isEqualTo(7);
+        assertThat(result.get(0).getAverageRating()).isEqualTo(4.5);
+        assertThat(result.get(1).getCompletedPickups()).isZero();
+        assertThat(result.get(1).getAverageRating()).isZero();
+        verify(ngoRepository, times(1)).findActiveNgosWithFilters("ACTIVE", 0L);
+        verify(ngoStatsService, times(1)).getStats(anyCollection());
+        verifyNoMoreInteractions(ngoRepository, ngoStatsService);
+    }
+
+    @Test
+    void nearbyRecyclersUseOneStatsLookup() {
+        List<GeoGridIndex.Neighbor<NgoLocation>> hits = LongStream.rangeClosed(1, NGO_COUNT)
+                .mapToObj(id -> new GeoGridIndex.Neighbor<>(
+                        new NgoLocation(id, "NGO " + id, "Kolkata", 22.57, 88.36, List.of("Plastic"), 1L), id * 0.1))
+                .toList();
+        when(spatialIndex.nearest(anyDouble(), anyDouble(), anyInt(), isNull(), any())).thenReturn(hits);
+
+        List<RecyclerDto> result = mapService.getNearbyRecyclers(null, null, 22.57, 88.36, null, 200);
+
+        assertThat(result).hasSize(NGO_COUNT);
+        assertThat(result.get(0).getDistanceKm()).isEqualTo(0.1);
+        verify(ngoStatsService, times(1)).getStats(anyCollection());
+        verifyNoMoreInteractions(ngoRepository, ngoStatsService);
+    }
+
+    @Test
+    void textSearchIsServedFromIndexesWithoutNgoQueries() {
+        when(searchIndex.search("kolkatta", MapService.MAX_SEARCH_HITS)).thenReturn(List.of(
+                new NgoSearchIndex.Hit(2L, 0.9), new NgoSearchIndex.Hit(1L, 0.6)));
+        when(spatialIndex.get(2L)).thenReturn(new NgoLocation(2L, "Kolkata Recyclers", "Salt Lake", 22.58, 88.41, List.of("Paper"), 2L));
+        when(spatialIndex.get(1L)).thenReturn(new NgoLocation(1L, "Green Kolkata", "Park Street", 22.57, 88.36, List.of("Plastic"), 1L));
+
+        List<RecyclerDto> result = mapService.getActiveRecyclers(null, "kolkatta");
+
+        assertThat(result).extracting(RecyclerDto::getId).containsExactly(2L, 1L);
+        verify(ngoStatsService, times(1)).getStats(anyCollection());
+        verifyNoMoreInteractions(ngoRepository, ngoStatsService);
+    }
+}
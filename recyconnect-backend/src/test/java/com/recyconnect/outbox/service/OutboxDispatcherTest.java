@@ -0,0 +1,183 @@
+package com.recyconnect.outbox.service;
+
+import com.recyconnect.outbox.model.OutboxChannel;
+import com.recyconnect.outbox.model.OutboxMessage;
+import com.recyconnect.outbox.model.OutboxStatus;
+import com.recyconnect.outbox.repository.OutboxMessageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxDispatcherTest {
+
+    private LocalSmtpServer smtp;
+    private OutboxMessageRepository repository;
+    private SimpMessagingTemplate messagingTemplate;
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        smtp = new LocalSmtpServer();
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtp.port());
+        mailSender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "2000");
+        mailSender.getJavaMailProperties().put("mail.smtp.timeout", "2000");
+
+        repository = mock(OutboxMessageRepository.class);
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        dispatcher = new OutboxDispatcher(repository, mailSender, messagingTemplate);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        smtp.close();
+    }
+
+    @Test
+    void sendsWholeBatchOverOneConnection() {
+        List<OutboxMessage> batch = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            batch.add(email((long) i, "user" + i + "@example.com"));
+        }
+        when(repository.lockDueBatch(any(), anyInt())).thenReturn(batch);
+
+        dispatcher.dispatch();
+
+        assertThat(smtp.connections()).isEqualTo(1);
+        assertThat(smtp.delivered()).hasSize(20);
+        assertThat(batch).allSatisfy(m -> {
+            assertThat(m.getStatus()).isEqualTo(OutboxStatus.SENT);
+            assertThat(m.getSentAt()).isNotNull();
+        });
+        verify(repository).saveAll(batch);
+    }
+
+    @Test
+    void retriesOnlyTheRejectedMessage() {
+        OutboxMessage good = email(1L, "a@example.com");
+        OutboxMessage bounced = email(2L, "bounce@example.com");
+        OutboxMessage alsoGood = email(3L, "c@example.com");
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.deliver(List.of(good, bounced, alsoGood));
+
+        assertThat(smtp.delivered()).containsExactly("a@example.com", "c@example.com");
+        assertThat(good.getStatus()).isEqualTo(OutboxStatus.SENT);
+        assertThat(alsoGood.getStatus()).isEqualTo(OutboxStatus.SENT);
+        assertThat(bounced.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(bounced.getAttempts()).isEqualTo(1);
+        assertThat(bounced.getLastError()).isNotBlank();
+        assertThat(bounced.getNextAttemptAt()).isAfterOrEqualTo(before.plus(OutboxDispatcher.BASE_BACKOFF));
+    }
+
+    @Test
+    void serverOutageReschedulesTheBatchAndRecovers() {
+        OutboxMessage first = email(1L, "a@example.com");
+        OutboxMessage second = email(2L, "b@example.com");
+
+        smtp.setDown(true);
+        dispatcher.deliver(List.of(first, second));
+        assertThat(first.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(second.getAttempts()).isEqualTo(1);
+
+        smtp.setDown(false);
+        dispatcher.deliver(List.of(first, second));
+        assertThat(first.getStatus()).isEqualTo(OutboxStatus.SENT);
+        assertThat(second.getStatus()).isEqualTo(OutboxStatus.SENT);
+        assertThat(smtp.delivered()).containsExactly("a@example.com", "b@example.com");
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        OutboxMessage bounced = email(1L, "bounce@example.com");
+        bounced.setAttempts(OutboxDispatcher.MAX_ATTEMPTS - 1);
+
+        dispatcher.deliver(List.of(bounced));
+
+        assertThat(bounced.getStatus()).isEqualTo(OutboxStatus.FAILED);
+    }
+
+    @Test
+    void sensitiveBodiesAreBlankedOnceSentOrGivenUpOn() {
+        OutboxMessage sent = email(1L, "a@example.com");
+        sent.setSensitive(true);
+        OutboxMessage retried = email(2L, "bounce@example.com");
+        retried.setSensitive(true);
+        OutboxMessage abandoned = email(3L, "bounce@example.com");
+        abandoned.setSensitive(true);
+        abandoned.setAttempts(OutboxDispatcher.MAX_ATTEMPTS - 1);
+        OutboxMessage ordinary = email(4L, "c@example.com");
+
+        dispatcher.deliver(List.of(sent, retried, abandoned, ordinary));
+
+        assertThat(sent.getBody()).isEqualTo(OutboxDispatcher.REDACTED_BODY);
+        assertThat(abandoned.getBody()).isEqualTo(OutboxDispatcher.REDACTED_BODY);
+        // Still needed for the next attempt
+        assertThat(retried.getBody()).isEqualTo("Body 2");
+        assertThat(ordinary.getBody()).isEqualTo("Body 4");
+    }
+
+    @Test
+    void pushesWebSocketPayloadsAndRetriesFailures() {
+        OutboxMessage ok = websocket(1L, "/queue/notifications/1");
+        OutboxMessage broken = websocket(2L, "/queue/notifications/2");
+        doThrow(new MessageDeliveryException("broker down"))
+                .when(messagingTemplate).convertAndSend(eq("/queue/notifications/2"), any(Object.class));
+
+        dispatcher.deliver(List.of(ok, broken));
+
+        verify(messagingTemplate).convertAndSend("/queue/notifications/1", (Object) ok.getBody());
+        assertThat(ok.getStatus()).isEqualTo(OutboxStatus.SENT);
+        assertThat(broken.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(broken.getAttempts()).isEqualTo(1);
+        assertThat(smtp.connections()).isZero();
+    }
+
+    @Test
+    void backoffDoublesUpToCap() {
+        assertThat(OutboxDispatcher.backoff(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(OutboxDispatcher.backoff(2)).isEqualTo(Duration.ofMinutes(1));
+        assertThat(OutboxDispatcher.backoff(4)).isEqualTo(Duration.ofMinutes(4));
+        assertThat(OutboxDispatcher.backoff(50)).isEqualTo(OutboxDispatcher.MAX_BACKOFF);
+    }
+
+    private static OutboxMessage email(Long id, String to) {
+        return message(id, OutboxChannel.EMAIL, to, "Subject " + id, "Body " + id);
+    }
+
+    private static OutboxMessage websocket(Long id, String destination) {
+        return message(id, OutboxChannel.WEBSOCKET, destination, null, "{\"id\":" + id + "}");
+    }
+
+    private static OutboxMessage message(Long id, OutboxChannel channel, String recipient, String subject, String body) {
+        LocalDateTime now = LocalDateTime.now();
+        return OutboxMessage.builder()
+                .id(id)
+                .channel(channel)
+                .recipient(recipient)
+                .subject(subject)
+                .body(body)
+                .status(OutboxStatus.PENDING)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.recyconnect.points.rules;
+
+import com.recyconnect.points.model.PointsRule;
+import com.recyconnect.waste.model.WasteType;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompiledPointsRulesTest {
+
+    // 2026-10-17 is a Saturday
+    private static final LocalDateTime SATURDAY = LocalDateTime.of(2026, 10, 17, 10, 0);
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2026, 10, 19, 10, 0);
+
+    private static final List<WasteType> TYPES = List.of(
+            WasteType.builder().code("PLASTIC").displayName("Plastic").bit(0).points(10).build(),
+            WasteType.builder().code("E_WASTE").displayName("E-Waste").bit(1).points(50).build());
+
+    @Test
+    void basePointsComeFromTheCatalog() {
+        CompiledPointsRules rules = CompiledPointsRules.compile(TYPES, List.of(), 10);
+
+        assertThat(rules.calculate("Plastic", 1L, null, MONDAY)).isEqualTo(10);
+        assertThat(rules.calculate("E-Waste", 1L, null, MONDAY)).isEqualTo(50);
+        assertThat(rules.calculate("Unknown", 1L, null, MONDAY)).isEqualTo(10);
+    }
+
+    @Test
+    void combinesMultipliersAndBonusesOfMatchingRules() {
+        CompiledPointsRules rules = CompiledPointsRules.compile(TYPES, List.of(
+                rule().daysOfWeek("SATURDAY,SUNDAY").multiplier(2).build(),
+                rule().wasteTypeCode("E_WASTE").bonusPoints(5).build(),
+                rule().ngoId(7L).bonusPoints(3).build(),
+                rule().minQuantityKg(20.0).multiplier(1.5).build()), 10);
+
+        assertThat(rules.calculate("Plastic", 1L, null, MONDAY)).isEqualTo(10);
+        assertThat(rules.calculate("Plastic", 1L, null, SATURDAY)).isEqualTo(20);
+        assertThat(rules.calculate("E-Waste", 1L, null, MONDAY)).isEqualTo(55);
+        assertThat(rules.calculate("Plastic", 7L, null, MONDAY)).isEqualTo(13);
+        // Quantity rules never match a booking without a quantity
+        assertThat(rules.calculate("Plastic", 1L, 25.0, MONDAY)).isEqualTo(15);
+        assertThat(rules.calculate("Plastic", 1L, 5.0, MONDAY)).isEqualTo(10);
+        // Everything at once: 50 * 2 * 1.5 + 5 + 3
+        assertThat(rules.calculate("E-Waste", 7L, 30.0, SATURDAY)).isEqualTo(158);
+    }
+
+    @Test
+    void campaignWindowIsHalfOpen() {
+        CompiledPointsRules rules = CompiledPointsRules.compile(TYPES, List.of(
+                rule().startsAt(SATURDAY).endsAt(MONDAY).multiplier(3).build()), 10);
+
+        assertThat(rules.calculate("Plastic", 1L, null, SATURDAY.minusSeconds(1))).isEqualTo(10);
+        assertThat(rules.calculate("Plastic", 1L, null, SATURDAY)).isEqualTo(30);
+        assertThat(rules.calculate("Plastic", 1L, null, MONDAY)).isEqualTo(10);
+    }
+
+    @Test
+    void scoringDoesNotAllocate() {
+        CompiledPointsRules rules = CompiledPointsRules.compile(TYPES, List.of(
+                rule().daysOfWeek("SATURDAY").multiplier(2).build(),
+                rule().ngoId(7L).bonusPoints(3).build()), 10);
+        Double quantity = 12.0;
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        long checksum = 0;
+        for (int i = 0; i < 10_000; i++) {
+            checksum += rules.calculate("Plastic", 7L, quantity, SATURDAY);
+        }
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < 100_000; i++) {
+            checksum += rules.calculate("Plastic", 7L, quantity, SATURDAY);
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        assertThat(checksum).isEqualTo(110_000L * 23);
+        // Allow for measurement noise, far below one object per call
+        assertThat(allocated).isLessThan(64 * 1024);
+    }
+
+    private static PointsRule.PointsRuleBuilder rule() {
+        return PointsRule.builder().name("test").multiplier(1).active(true);
+    }
+}
@@ -0,0 +1,124 @@
+package com.recyconnect.points.service;
+
+import com.recyconnect.auth.model.Role;
+import com.recyconnect.auth.model.User;
+import com.recyconnect.auth.repository.UserRepository;
+import com.recyconnect.points.model.PointsReason;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Many completions at once against a real PostgreSQL: every award runs in its own transaction, all of them
+// crediting one busy NGO account, and afterwards each balance must equal the sum of its ledger entries.
+// Needs a throwaway database: TEST_DATABASE_URL (plus TEST_DATABASE_USERNAME / TEST_DATABASE_PASSWORD).
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "TEST_DATABASE_URL", matches = ".+")
+class PointsServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int COMPLETIONS_PER_THREAD = 50;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("TEST_DATABASE_URL"));
+        registry.add("spring.datasource.username", () -> System.getenv().getOrDefault("TEST_DATABASE_USERNAME", "postgres"));
+        registry.add("spring.datasource.password", () -> System.getenv().getOrDefault("TEST_DATABASE_PASSWORD", ""));
+        registry.add("app.jwt-secret", () -> Base64.getEncoder().encodeToString(new byte[32]));
+    }
+
+    @Autowired
+    private PointsService pointsService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Integer> userIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        userIds.forEach(id -> {
+            jdbcTemplate.update("DELETE FROM points_ledger WHERE user_id = ?", id);
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", id);
+        });
+    }
+
+    @Test
+    void concurrentCompletionsLoseNoPoints() throws Exception {
+        Integer ngoUser = createUser();
+        List<Integer> citizens = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            citizens.add(createUser());
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Integer citizen : citizens) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < COMPLETIONS_PER_THREAD; i++) {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        pointsService.award(citizen, null, 10, PointsReason.PICKUP_COMPLETED);
+                        pointsService.award(ngoUser, null, 5, PointsReason.NGO_COMMISSION);
+                    });
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+
+        assertThat(balance(ngoUser)).isEqualTo(5L * THREADS * COMPLETIONS_PER_THREAD);
+        for (Integer citizen : citizens) {
+            assertThat(balance(citizen)).isEqualTo(10L * COMPLETIONS_PER_THREAD);
+        }
+        // The ledger alone reproduces every balance
+        for (Integer id : userIds) {
+            Map<String, Object> row = jdbcTemplate.queryForMap(
+                    "SELECT u.eco_points AS balance, COALESCE(SUM(l.points), 0) AS ledger FROM users u " +
+                            "LEFT JOIN points_ledger l ON l.user_id = u.id WHERE u.id = ? GROUP BY u.eco_points", id);
+            assertThat(((Number) row.get("balance")).longValue()).isEqualTo(((Number) row.get("ledger")).longValue());
+        }
+    }
+
+    private Integer createUser() {
+        User user = userRepository.save(User.builder()
+                .name("Points test")
+                .email("points-" + UUID.randomUUID() + "@example.com")
+                .password("x")
+                .role(Role.ROLE_USER)
+                .ecoPoints(0)
+                .build());
+        userIds.add(user.getId());
+        return user.getId();
+    }
+
+    private long balance(Integer userId) {
+        return jdbcTemplate.queryForObject("SELECT eco_points FROM users WHERE id = ?", Long.class, userId);
+    }
+}
@@ -0,0 +1,77 @@
+package com.recyconnect.points.service;
+
+import com.recyconnect.auth.repository.UserRepository;
+import com.recyconnect.exception.BadRequestException;
+import com.recyconnect.points.model.PointsLedgerEntry;
+import com.recyconnect.points.model.PointsReason;
+import com.recyconnect.points.repository.PointsLedgerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class PointsServiceTest {
+
+    private static final int NGO_USER = 1;
+
+    // Stand-ins for the two tables
+    private final Queue<PointsLedgerEntry> ledger = new ConcurrentLinkedQueue<>();
+    private final Map<Integer, Long> balances = new ConcurrentHashMap<>();
+
+    private PointsLedgerRepository pointsLedgerRepository;
+    private UserRepository userRepository;
+    private PointsService pointsService;
+
+    @BeforeEach
+    void setUp() {
+        pointsLedgerRepository = mock(PointsLedgerRepository.class);
+        userRepository = mock(UserRepository.class);
+        when(pointsLedgerRepository.save(any())).thenAnswer(invocation -> {
+            ledger.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(userRepository.addEcoPoints(anyInt(), anyInt())).thenAnswer(invocation -> {
+            balances.merge(invocation.getArgument(0), (long) (int) invocation.getArgument(1), Long::sum);
+            return 1;
+        });
+        pointsService = new PointsService(pointsLedgerRepository, userRepository);
+    }
+
+    // Unit check of what award writes; PointsServiceConcurrencyTest proves it against PostgreSQL under load
+    @Test
+    void awardAppendsToTheLedgerAndCreditsTheBalance() {
+        pointsService.award(7, 1L, 10, PointsReason.PICKUP_COMPLETED);
+        pointsService.award(NGO_USER, 1L, 5, PointsReason.NGO_COMMISSION);
+        pointsService.award(7, 2L, -3, PointsReason.PICKUP_COMPLETED);
+
+        assertThat(balances).isEqualTo(Map.of(7, 7L, NGO_USER, 5L));
+        Map<Integer, Long> rebuilt = ledger.stream()
+                .collect(Collectors.groupingBy(PointsLedgerEntry::getUserId, Collectors.summingLong(PointsLedgerEntry::getPoints)));
+        assertThat(rebuilt).isEqualTo(balances);
+    }
+
+    @Test
+    void zeroPointAwardsWriteNothing() {
+        pointsService.award(7, 1L, 0, PointsReason.NGO_COMMISSION);
+
+        verifyNoInteractions(pointsLedgerRepository, userRepository);
+    }
+
+    @Test
+    void historyLimitIsBounded() {
+        assertThatThrownBy(() -> pointsService.getHistory(7, PointsService.MAX_HISTORY + 1))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,58 @@
+package com.recyconnect.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingWindowCounterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SlidingWindowCounter<String> counter = new SlidingWindowCounter<>(Duration.ofMinutes(1), clock::get);
+
+    @Test
+    void limitsWithinTheWindowAndSaysHowLongToWait() {
+        for (int i = 0; i < 5; i++) {
+            counter.record("a");
+        }
+
+        assertThat(counter.waitNanos("a", 6)).isZero();
+        long wait = counter.waitNanos("a", 5);
+        assertThat(wait).isEqualTo(TimeUnit.MINUTES.toNanos(1));
+        // Other keys are unaffected
+        assertThat(counter.waitNanos("b", 1)).isZero();
+
+        clock.addAndGet(wait);
+        clock.addAndGet(counter.waitNanos("a", 5));
+        assertThat(counter.waitNanos("a", 5)).isZero();
+    }
+
+    @Test
+    void previousWindowFadesOutGradually() {
+        for (int i = 0; i < 5; i++) {
+            counter.record("a");
+        }
+        // Halfway through the next window half of the previous five still count
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(90));
+
+        assertThat(counter.waitNanos("a", 3)).isZero();
+        assertThat(counter.waitNanos("a", 2)).isEqualTo(TimeUnit.SECONDS.toNanos(6));
+    }
+
+    @Test
+    void resetAndIdleEviction() {
+        counter.record("a");
+        counter.record("b");
+        counter.reset("a");
+        assertThat(counter.waitNanos("a", 1)).isZero();
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(90));
+        assertThat(counter.evictIdle()).isZero();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        assertThat(counter.evictIdle()).isEqualTo(1);
+        assertThat(counter.size()).isZero();
+    }
+}
@@ -0,0 +1,85 @@
+package com.recyconnect.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedTokenBucketsTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final StripedTokenBuckets<String> buckets = new StripedTokenBuckets<>(8, clock::get);
+
+    @Test
+    void allowsABurstThenRefillsAtTheGivenRate() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(buckets.tryAcquire("a", 3, 1)).isZero();
+        }
+        long wait = buckets.tryAcquire("a", 3, 1);
+        assertThat(wait).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(buckets.tryAcquire("a", 3, 1)).isZero();
+        assertThat(buckets.tryAcquire("a", 3, 1)).isPositive();
+        // Other keys are unaffected
+        assertThat(buckets.tryAcquire("b", 3, 1)).isZero();
+    }
+
+    @Test
+    void releaseReturnsATokenAndIdleBucketsAreEvicted() {
+        buckets.tryAcquire("a", 1, 1);
+        assertThat(buckets.tryAcquire("a", 1, 1)).isPositive();
+        buckets.release("a");
+        assertThat(buckets.tryAcquire("a", 1, 1)).isZero();
+
+        assertThat(buckets.evictIdle()).isZero();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(buckets.evictIdle()).isEqualTo(1);
+        assertThat(buckets.size()).isZero();
+    }
+
+    // Many threads hammering a few keys: each key hands out exactly its capacity, never more
+    @Test
+    void concurrentCallersNeverOverdrawABucket() throws Exception {
+        StripedTokenBuckets<Integer> shared = new StripedTokenBuckets<>(16, () -> 0L);
+        int keys = 4;
+        int capacity = 1000;
+        AtomicInteger[] granted = new AtomicInteger[keys];
+        for (int k = 0; k < keys; k++) {
+            granted[k] = new AtomicInteger();
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 16; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 2000; i++) {
+                    int key = i % keys;
+                    if (shared.tryAcquire(key, capacity, 0) == 0) {
+                        granted[key].incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        for (AtomicInteger count : granted) {
+            assertThat(count.get()).isEqualTo(capacity);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.recyconnect.stats.service;
+
+import com.recyconnect.auth.model.Role;
+import com.recyconnect.auth.model.User;
+import com.recyconnect.auth.repository.UserRepository;
+import com.recyconnect.ngo.model.Ngo;
+import com.recyconnect.ngo.model.NgoStatus;
+import com.recyconnect.ngo.repository.NgoRepository;
+import com.recyconnect.stats.model.NgoStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The counters are native upserts, so they are checked against a real PostgreSQL.
+// Needs a throwaway database: TEST_DATABASE_URL (plus TEST_DATABASE_USERNAME / TEST_DATABASE_PASSWORD).
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "TEST_DATABASE_URL", matches = ".+")
+class NgoStatsServiceTest {
+
+    // No NGO has a negative id, so this row is always an orphan
+    private static final long ORPHAN_NGO_ID = -42L;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("TEST_DATABASE_URL"));
+        registry.add("spring.datasource.username", () -> System.getenv().getOrDefault("TEST_DATABASE_USERNAME", "postgres"));
+        registry.add("spring.datasource.password", () -> System.getenv().getOrDefault("TEST_DATABASE_PASSWORD", ""));
+        registry.add("app.jwt-secret", () -> Base64.getEncoder().encodeToString(new byte[32]));
+    }
+
+    @Autowired
+    private NgoStatsService ngoStatsService;
+    @Autowired
+    private NgoRepository ngoRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Ngo> ngos = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM ngo_stats WHERE ngo_id = ?", ORPHAN_NGO_ID);
+        ngos.forEach(ngo -> {
+            jdbcTemplate.update("DELETE FROM ngo_stats WHERE ngo_id = ?", ngo.getId());
+            jdbcTemplate.update("DELETE FROM ngos WHERE id = ?", ngo.getId());
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", ngo.getUser().getId());
+        });
+    }
+
+    @Test
+    void countersStartARowAndThenAddToIt() {
+        Long ngoId = createNgo();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            ngoStatsService.recordCompletedPickup(ngoId);
+            ngoStatsService.recordRating(ngoId, 4);
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            ngoStatsService.recordCompletedPickup(ngoId);
+            ngoStatsService.recordRating(ngoId, 5);
+        });
+
+        NgoStats stats = ngoStatsService.getStats(ngoId);
+        assertThat(stats.getCompletedPickups()).isEqualTo(2);
+        assertThat(stats.getRatingSum()).isEqualTo(9);
+        assertThat(stats.getRatingCount()).isEqualTo(2);
+    }
+
+    @Test
+    void rebuildOverwritesDriftedRowsAndDropsOrphans() {
+        Long ngoId = createNgo();
+        // Counters that no longer match the source tables: this NGO has no bookings or reviews
+        jdbcTemplate.update("INSERT INTO ngo_stats (ngo_id, completed_pickups, rating_sum, rating_count) VALUES (?, 7, 30, 6)", ngoId);
+        jdbcTemplate.update("INSERT INTO ngo_stats (ngo_id, completed_pickups, rating_sum, rating_count) VALUES (?, 1, 5, 1)",
+                ORPHAN_NGO_ID);
+
+        int rows = ngoStatsService.rebuild();
+
+        assertThat(rows).isGreaterThanOrEqualTo(1);
+        assertThat(ngoStatsService.getStats(ngoId)).isEqualTo(NgoStats.empty(ngoId));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ngo_stats WHERE ngo_id = ?", Long.class, ngoId))
+                .isEqualTo(1L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ngo_stats WHERE ngo_id = ?", Long.class, ORPHAN_NGO_ID))
+                .isZero();
+    }
+
+    private Long createNgo() {
+        User owner = userRepository.save(User.builder()
+                .name("Stats test")
+                .email("ngo-stats-" + UUID.randomUUID() + "@example.com")
+                .password("x")
+                .role(Role.ROLE_NGO)
+                .ecoPoints(0)
+                .build());
+        Ngo ngo = ngoRepository.save(Ngo.builder()
+                .name("Stats test NGO")
+                .user(owner)
+                .address("1 Test Street")
+                .contactNumber("0000000000")
+                .status(NgoStatus.ACTIVE)
+                .acceptedWasteTypes(new ArrayList<>())
+                .build());
+        ngos.add(ngo);
+        return ngo.getId();
+    }
+}
@@ -0,0 +1,59 @@
+package com.recyconnect.waste.service;
+
+import com.recyconnect.exception.BadRequestException;
+import com.recyconnect.ngo.model.Ngo;
+import com.recyconnect.waste.model.WasteType;
+import com.recyconnect.waste.repository.WasteTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WasteTypeCatalogTest {
+
+    private WasteTypeCatalog catalog;
+
+    @BeforeEach
+    void loadCatalog() {
+        WasteTypeRepository repository = mock(WasteTypeRepository.class);
+        when(repository.findAllByOrderByBitAsc()).thenReturn(List.of(
+                WasteType.builder().code("PLASTIC").displayName("Plastic").bit(0).points(50).aliases("plastics").build(),
+                WasteType.builder().code("PAPER").displayName("Paper").bit(1).points(25).build(),
+                WasteType.builder().code("E_WASTE").displayName("E-Waste").bit(2).points(100).aliases("ewaste").build()));
+        catalog = new WasteTypeCatalog(repository);
+        catalog.reload();
+    }
+
+    @Test
+    void lookupsIgnoreCaseAndAcceptAliases() {
+        assertThat(catalog.require("plastic").getCode()).isEqualTo("PLASTIC");
+        assertThat(catalog.require(" PLASTICS ").getCode()).isEqualTo("PLASTIC");
+        assertThat(catalog.require("e_waste").getDisplayName()).isEqualTo("E-Waste");
+        assertThat(catalog.pointsFor("EWASTE")).isEqualTo(100);
+        assertThat(catalog.pointsFor("glass")).isEqualTo(WasteTypeCatalog.DEFAULT_POINTS);
+        assertThat(catalog.pointsFor(null)).isEqualTo(WasteTypeCatalog.DEFAULT_POINTS);
+    }
+
+    @Test
+    void filterCombinesTypesIntoOneMask() {
+        assertThat(catalog.parseFilter(null)).isZero();
+        assertThat(catalog.parseFilter("plastic,e-waste")).isEqualTo(0b101L);
+        assertThatThrownBy(() -> catalog.parseFilter("plastic,glass"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("glass");
+    }
+
+    @Test
+    void ngoTypesAreCanonicalizedAlongsideTheMask() {
+        Ngo ngo = new Ngo();
+        catalog.setAcceptedWasteTypes(ngo, List.of("paper", "Plastics", "PLASTIC"));
+
+        assertThat(ngo.getAcceptedWasteTypes()).containsExactly("Paper", "Plastic");
+        assertThat(ngo.getAcceptedWasteMask()).isEqualTo(0b011L);
+    }
+}